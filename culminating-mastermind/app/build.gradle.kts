@@ -33,16 +33,43 @@ java {
     }
 }
 
+// Incubator modules of VectorBatchScorer, which only the tests run; without them, BatchScorer scores without SIMD.
+val incubatorModules = listOf("--add-modules", "jdk.incubator.vector")
+
 application {
     // Define the main class for the application.
     mainClass = "mastermind.Mastermind"
 }
 
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(incubatorModules)
+}
+
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
+    jvmArgs(incubatorModules)
+}
+
+tasks.register<JavaExec>("generateOpeningBook") {
+    description = "Generates the opening book of the Donald Knuth algorithm."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "mastermind.core.solvers.OpeningBook"
+}
+
+tasks.register<JavaExec>("generateOptimalStrategy") {
+    description = "Searches the strategy with the minimum expected number of guesses and writes it as an opening book."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "mastermind.core.solvers.OptimalStrategySearch"
+}
+
+tasks.register<JavaExec>("evaluateStrategies") {
+    description = "Plays every solver against every secret code and writes CSV and JSON reports."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "mastermind.core.solvers.StrategyEvaluator"
 }
 
 tasks.named<Javadoc>("javadoc") {
   title = "Mastermind API Docs"
+  (options as StandardJavadocDocletOptions).addStringOption("-add-modules", "jdk.incubator.vector")
 }
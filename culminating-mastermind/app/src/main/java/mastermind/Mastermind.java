@@ -15,12 +15,17 @@ import java.awt.*;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.time.Duration;
 
 /**
  * Main class of the Mastermind game.
  * <p>
  * This class initializes the logger and the main window of the game, and stores
- * the game's constants (configuration).
+ * the game's constants (configuration). The board of these constants is
+ * {@link mastermind.core.GameConfig#DEFAULT}, which the GUI plays; games on
+ * other boards, configured at runtime through {@link mastermind.core.GameConfig},
+ * are played by the solvers derived from
+ * {@link mastermind.core.solvers.BoardAlgorithm}.
  */
 public class Mastermind {
     /**
@@ -40,12 +45,35 @@ public class Mastermind {
      */
     public final static int TOTAL_COLORS = 6;
 
+    /**
+     * Time the code breaker may spend searching for each of its guesses.
+     * <p>
+     * Once it has elapsed, the best guess found so far is played, so the GUI
+     * stays responsive on boards whose exact search is slow.
+     */
+    public final static Duration GUESS_BUDGET = Duration.ofSeconds(2);
+
     /**
      * File containing predefined codes for the code maker.
      */
     public final static File CODEMAKER_PREDEFINED_CODES = new File(
         "src/main/resources/codemaker-predefined-codes.txt");
 
+    /**
+     * File containing the precomputed decision tree of the Donald Knuth
+     * algorithm, see {@link mastermind.core.solvers.OpeningBook}.
+     */
+    public final static File KNUTH_OPENING_BOOK = new File(
+        "src/main/resources/knuth-opening-book.bin");
+
+    /**
+     * File containing the decision tree of the strategy with the minimum
+     * expected number of guesses, see
+     * {@link mastermind.core.solvers.OptimalStrategySearch}.
+     */
+    public final static File OPTIMAL_STRATEGY = new File(
+        "src/main/resources/optimal-strategy.bin");
+
     /**
      * Dimension of the canvas (screen) where the game is drawn.
      */
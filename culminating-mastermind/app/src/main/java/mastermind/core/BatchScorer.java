@@ -0,0 +1,128 @@
+package mastermind.core;
+
+import mastermind.Mastermind;
+
+/**
+ * Scores one guess against many candidate codes at once, computing every
+ * response from the colors of the codes.
+ * <p>
+ * The solvers do not score through this class: on the default board, a
+ * lookup in {@link ResponseTable} is several times faster than scoring a
+ * batch, even in SIMD lanes. It is meant for callers that must not depend on
+ * the table.
+ * <p>
+ * When the {@code jdk.incubator.vector} module is available, the candidates
+ * are scored several at a time in SIMD lanes; otherwise, and for the tail of
+ * the batch, every candidate is scored by {@link Response#score(int, int)}.
+ * Both paths produce identical response indices. The build only adds the
+ * module to the tests, so the application takes the scalar path.
+ */
+public class BatchScorer {
+    /**
+     * The color index of every code at every position, where element
+     * {@code [position][code]} is the color index of the code with index
+     * {@code code} at {@code position}.
+     * <p>
+     * The vector path gathers the colors of a batch of candidates from these
+     * planes.
+     */
+    static final int[][] COLOR_PLANES = buildColorPlanes();
+
+    /**
+     * Whether the {@code jdk.incubator.vector} module is present at runtime.
+     */
+    private static final boolean VECTOR_AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BatchScorer() {
+        throw new IllegalStateException("This class should not be instantiated");
+    }
+
+    /**
+     * Builds the color planes of all codes.
+     *
+     * @return the color planes, see {@link #COLOR_PLANES}
+     */
+    private static int[][] buildColorPlanes() {
+        final int[][] planes = new int[Mastermind.CODE_LENGTH][Code.TOTAL_CODES];
+
+        // Unpack every position of every code.
+        for (int position = 0; position < Mastermind.CODE_LENGTH; ++position) {
+            for (int code = 0; code < Code.TOTAL_CODES; ++code) {
+                planes[position][code] = Code.colorIndexAt(code, position);
+            }
+        }
+
+        return planes;
+    }
+
+    /**
+     * Whether {@link #score(int, int[], int, int[])} uses the vector path.
+     *
+     * @return true if the {@code jdk.incubator.vector} module is available
+     */
+    public static boolean isVectorized() {
+        return VECTOR_AVAILABLE;
+    }
+
+    /**
+     * Scores a guess against a batch of candidates, using SIMD lanes if
+     * available.
+     *
+     * @param guess      the index of the guess, see {@link Code#getIndex()}
+     * @param candidates the indices of the candidate codes
+     * @param count      the number of leading candidates to score
+     * @param responses  the array to fill, where element {@code i} becomes the
+     *                   response index of the guess against {@code candidates[i]}
+     * @throws ArrayIndexOutOfBoundsException if either array is shorter than {@code count}
+     */
+    public static void score(final int guess,
+                             final int[] candidates,
+                             final int count,
+                             final int[] responses) {
+        if (VECTOR_AVAILABLE) {
+            VectorBatchScorer.score(guess, candidates, count, responses);
+        } else {
+            scoreScalar(guess, candidates, 0, count, responses);
+        }
+    }
+
+    /**
+     * Scores a guess against a batch of candidates, one candidate at a time.
+     *
+     * @param guess      the index of the guess, see {@link Code#getIndex()}
+     * @param candidates the indices of the candidate codes
+     * @param count      the number of leading candidates to score
+     * @param responses  the array to fill, where element {@code i} becomes the
+     *                   response index of the guess against {@code candidates[i]}
+     * @throws ArrayIndexOutOfBoundsException if either array is shorter than {@code count}
+     */
+    public static void scoreScalar(final int guess,
+                                   final int[] candidates,
+                                   final int count,
+                                   final int[] responses) {
+        scoreScalar(guess, candidates, 0, count, responses);
+    }
+
+    /**
+     * Scores a guess against a range of candidates, one candidate at a time.
+     *
+     * @param guess      the index of the guess
+     * @param candidates the indices of the candidate codes
+     * @param from       the first candidate to score, inclusive
+     * @param to         the last candidate to score, exclusive
+     * @param responses  the array to fill
+     */
+    static void scoreScalar(final int guess,
+                            final int[] candidates,
+                            final int from,
+                            final int to,
+                            final int[] responses) {
+        for (int i = from; i < to; ++i) {
+            responses[i] = Response.score(guess, candidates[i]);
+        }
+    }
+}
@@ -8,32 +8,63 @@ package mastermind.core;
 
 import mastermind.Mastermind;
 
+import java.util.AbstractList;
 import java.util.HashMap;
 import java.util.List;
 
 /**
  * Represents a code sequence in the Mastermind game.
+ * <p>
+ * A code is packed into a single integer, its index, which is the code
+ * sequence read as a base-{@link Mastermind#TOTAL_COLORS} number, with the
+ * first position being the most significant digit. For example, with 6
+ * colors, the code {@code [Green, Green, Red, Red]} ({@code 0011}) has index
+ * {@code 0 * 216 + 0 * 36 + 1 * 6 + 1 = 7}.
+ * <p>
+ * Instances are canonical flyweights: there is exactly one instance per
+ * index, and all of them are handed out by {@link CodeFactory}.
  */
 public class Code {
     /**
-     * The code sequence represented as a list of {@code Color} objects.
+     * Total number of distinct codes, i.e.,
+     * {@link Mastermind#TOTAL_COLORS}<sup>{@link Mastermind#CODE_LENGTH}</sup>.
      */
-    private final List<Color> code;
+    public static final int TOTAL_CODES = computeTotalCodes();
 
     /**
-     * Initializes a new {@code Code} object with the specified code sequence.
+     * The place value of each position in the code sequence.
+     * <p>
+     * The first position is the most significant digit.
+     */
+    private static final int[] PLACE_VALUES = computePlaceValues();
+
+    /**
+     * The code sequence packed into a base-{@link Mastermind#TOTAL_COLORS}
+     * integer.
+     */
+    private final int index;
+
+    /**
+     * Lazily created list view of the code sequence.
+     */
+    private List<Color> colors = null;
+
+    /**
+     * Initializes a new {@code Code} object with the specified index.
+     * <p>
+     * Only {@link CodeFactory} creates codes, as it keeps one canonical
+     * instance per index.
      *
-     * @param code a list of {@code Color} objects representing the code sequence.
+     * @param index the code sequence packed into a base-{@link Mastermind#TOTAL_COLORS} integer.
      */
-    public Code(final List<Color> code) {
-        // Ensure that the code length is equal to the constant defined in the Mastermind class.
-        if (code.size() != Mastermind.CODE_LENGTH) {
+    Code(final int index) {
+        // Ensure that the index refers to an existing code.
+        if (index < 0 || index >= TOTAL_CODES) {
             throw new IllegalArgumentException(
-                "Code length must be equal to " + Mastermind.CODE_LENGTH); //
-            // Throws an exception if the code length is not equal to the constant defined in the Mastermind class.
+                "Code index must be in range [0, " + TOTAL_CODES + ")");
         }
 
-        this.code = code; // Assigns the code sequence to the code field.
+        this.index = index; // Assigns the packed code sequence to the index field.
     }
 
     /**
@@ -70,6 +101,12 @@ public class Code {
          */
         Purple;
 
+        /**
+         * Cached copy of {@link #values()}, to avoid cloning the array on
+         * every lookup.
+         */
+        private static final Color[] VALUES = values();
+
         /**
          * Retrieves the {@code Color} constant at the specified index.
          *
@@ -78,10 +115,64 @@ public class Code {
          * @throws ArrayIndexOutOfBoundsException if the specified index is out of range.
          */
         public static Color fromIndex(final int index) {
-            return Color.values()[index]; // Returns the Color constant at the specified index.
+            return VALUES[index]; // Returns the Color constant at the specified index.
         }
     }
 
+    /**
+     * Computes the total number of distinct codes.
+     *
+     * @return {@link Mastermind#TOTAL_COLORS} to the power of {@link Mastermind#CODE_LENGTH}.
+     */
+    private static int computeTotalCodes() {
+        int total = 1;
+
+        // Multiply the number of colors once for every position.
+        for (int i = 0; i < Mastermind.CODE_LENGTH; ++i) {
+            total *= Mastermind.TOTAL_COLORS;
+        }
+
+        return total;
+    }
+
+    /**
+     * Computes the place value of each position in the code sequence.
+     *
+     * @return an array where element {@code i} is the place value of position {@code i}.
+     */
+    private static int[] computePlaceValues() {
+        final int[] placeValues = new int[Mastermind.CODE_LENGTH];
+        int placeValue = 1;
+
+        // The last position is the least significant digit.
+        for (int i = Mastermind.CODE_LENGTH - 1; i >= 0; --i) {
+            placeValues[i] = placeValue;
+            placeValue *= Mastermind.TOTAL_COLORS;
+        }
+
+        return placeValues;
+    }
+
+    /**
+     * Retrieves the color index at the specified position of a packed code.
+     *
+     * @param index    the packed code sequence.
+     * @param position the zero-based position in the code sequence.
+     * @return the color index at the specified position.
+     */
+    public static int colorIndexAt(final int index, final int position) {
+        return index / PLACE_VALUES[position] % Mastermind.TOTAL_COLORS;
+    }
+
+    /**
+     * Retrieves the packed representation of this code sequence.
+     *
+     * @return the code sequence as a base-{@link Mastermind#TOTAL_COLORS} integer.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Retrieves the {@code Color} at the specified position in the code sequence.
      *
@@ -90,17 +181,35 @@ public class Code {
      * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size of the code).
      */
     public Color getColor(final int index) {
-        return code.get(index);
+        return Color.fromIndex(colorIndexAt(this.index, index));
     }
 
     /**
      * Retrieves the list of {@code Color} objects contained in this code sequence.
+     * <p>
+     * The list is an unmodifiable view backed by the packed index, and is
+     * created on first use.
      *
      * @return an {@link List} of {@code Color} objects representing the current
      * code sequence.
      */
     public List<Color> getColors() {
-        return code;
+        // Create the view on first use; racing threads create equivalent views.
+        if (colors == null) {
+            colors = new AbstractList<>() {
+                @Override
+                public Color get(final int index) {
+                    return getColor(index);
+                }
+
+                @Override
+                public int size() {
+                    return Mastermind.CODE_LENGTH;
+                }
+            };
+        }
+
+        return colors;
     }
 
     /**
@@ -127,15 +236,50 @@ public class Code {
         }
 
         // Update the count of each color in the code sequence.
-        for (final Color color : code) {
+        for (final Color color : getColors()) {
             occurrences.put(color, occurrences.get(color) + 1);
         }
 
         return occurrences; // Returns the HashMap containing the occurrence count of each color.
     }
 
+    /**
+     * Compares this code to the specified object for equality.
+     * <p>
+     * Two codes are equal if they represent the same code sequence, i.e., they
+     * have the same index.
+     *
+     * @param obj the object to compare with this code
+     * @return true if the specified object is an equal code, false otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        // check if the two objects are the same instance
+        if (this == obj) {
+            return true;
+        }
+
+        // check if the object is null or if the class differs from this class
+        if (obj == null || obj.getClass() != this.getClass()) {
+            return false;
+        }
+
+        // compare the packed code sequences
+        return this.index == ((Code) obj).index;
+    }
+
+    /**
+     * Returns the hash code value for this code, which is its index.
+     *
+     * @return the hash code value for this code
+     */
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
     @Override
     public String toString() {
-        return code.toString();
+        return getColors().toString();
     } // Returns the code sequence as a string.
 }
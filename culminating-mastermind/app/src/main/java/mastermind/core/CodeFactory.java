@@ -17,8 +17,22 @@ import java.util.Scanner;
 
 /**
  * Factory class for creating {@link Code} objects.
+ * <p>
+ * Every code is pre-built once into a table indexed by
+ * {@link Code#getIndex()}, and all factory methods hand out these canonical
+ * instances.
  */
 public class CodeFactory {
+    /**
+     * Table of all codes, where element {@code i} is the code with index {@code i}.
+     */
+    private static final Code[] CODES = buildCodes();
+
+    /**
+     * Unmodifiable list view of {@link #CODES}, in ascending order of index.
+     */
+    private static final List<Code> ALL_CODES = List.of(CODES);
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -27,21 +41,85 @@ public class CodeFactory {
         throw new IllegalStateException("Factory class should not be instantiated.");
     }
 
+    /**
+     * Builds the table of all codes.
+     *
+     * @return An array where element {@code i} is the code with index {@code i}.
+     */
+    private static Code[] buildCodes() {
+        final Code[] codes = new Code[Code.TOTAL_CODES];
+
+        // Create exactly one instance per index.
+        for (int i = 0; i < Code.TOTAL_CODES; ++i) {
+            codes[i] = new Code(i);
+        }
+
+        return codes;
+    }
+
+    /**
+     * Retrieves the canonical {@link Code} object with the specified index.
+     *
+     * @param index The packed code sequence, see {@link Code#getIndex()}.
+     * @return The canonical {@link Code} object.
+     * @throws ArrayIndexOutOfBoundsException If the index is out of range.
+     */
+    public static Code fromIndex(final int index) {
+        return CODES[index];
+    }
+
+    /**
+     * Retrieves all codes in ascending order of index.
+     *
+     * @return An unmodifiable list of all canonical {@link Code} objects.
+     */
+    public static List<Code> getAll() {
+        return ALL_CODES;
+    }
+
     /**
      * Creates a {@link Code} object from a list of color indices.
      *
      * @param indices List of color indices.
      * @return A {@link Code} object.
+     * @throws IllegalArgumentException If the code length or a color index is invalid.
      */
     public static Code fromColorIndices(final List<Integer> indices) {
-        // Convert the list of color indices to a list of color objects.
-        // Stores in List colors
-        final List<Code.Color> colors = indices
+        // Ensure that the code length is equal to the constant defined in the Mastermind class.
+        if (indices.size() != Mastermind.CODE_LENGTH) {
+            throw new IllegalArgumentException(
+                "Code length must be equal to " + Mastermind.CODE_LENGTH);
+        }
+
+        int index = 0;
+
+        // Pack the color indices into a base-TOTAL_COLORS integer, most significant digit first.
+        for (final int colorIndex : indices) {
+            if (colorIndex < 0 || colorIndex >= Mastermind.TOTAL_COLORS) {
+                throw new IllegalArgumentException("Invalid color index: " + colorIndex);
+            }
+
+            index = index * Mastermind.TOTAL_COLORS + colorIndex;
+        }
+
+        return CODES[index]; // Return the canonical Code object with the packed index.
+    }
+
+    /**
+     * Creates a {@link Code} object from a list of colors.
+     *
+     * @param colors List of colors.
+     * @return A {@link Code} object.
+     * @throws IllegalArgumentException If the code length is invalid.
+     */
+    public static Code fromColors(final List<Code.Color> colors) {
+        // Convert the list of colors to a list of color indices.
+        final List<Integer> indices = colors
             .stream()
-            .map(Code.Color::fromIndex)
+            .map(Code.Color::ordinal)
             .toList();
 
-        return new Code(colors); // Return a new Code object with the list of colors.
+        return fromColorIndices(indices);
     }
 
     /**
@@ -52,18 +130,9 @@ public class CodeFactory {
     public static Code getRandom() {
         // Create a random object.
         final Random random = new Random();
-        // Create a list of integers to store the color indices.
-        final ArrayList<Integer> codeBuilder = new ArrayList<>(Mastermind.CODE_LENGTH);
-
-
-        // Generate a random color index and add it to the list of color indices.
-        for (int i = 0; i < Mastermind.CODE_LENGTH; ++i) {
-            final int randColor = random.nextInt(Mastermind.TOTAL_COLORS); //
-            // Generate a random color index, store in randColor
-            codeBuilder.add(randColor);
-        }
 
-        return fromColorIndices(codeBuilder); // Return a new Code object with the list of color indices.
+        // Every index is equally likely, which is equivalent to picking every color independently.
+        return CODES[random.nextInt(Code.TOTAL_CODES)];
     }
 
     /**
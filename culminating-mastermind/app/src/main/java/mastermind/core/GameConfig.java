@@ -0,0 +1,199 @@
+package mastermind.core;
+
+import mastermind.Mastermind;
+
+/**
+ * The dimensions of a Mastermind board, chosen at runtime.
+ * <p>
+ * Codes of a board are held as arrays of color indices, or packed into their index, the code read as a
+ * base-{@link #totalColors()} number with the first position being the most significant digit, as in
+ * {@link Code}. Boards of up to {@link #MAX_CODE_LENGTH} positions and {@link #MAX_COLORS} colors are supported,
+ * whose indices need up to 40 bits: {@link #packing()} tells whether they fit into an {@code int} or need a
+ * {@code long}, and {@link mastermind.core.solvers.CodeSet} stores them accordingly.
+ * <p>
+ * {@link Code}, {@link Response}, the tables of {@link CodeFactory} and {@link ResponseTable}, the solvers built on
+ * them and the GUI only support {@link #DEFAULT}, the board of {@link Mastermind}. Any configuration is played by
+ * the solvers derived from {@link mastermind.core.solvers.BoardAlgorithm}, which work on color arrays and lose
+ * after {@link #maxGuesses()} guesses.
+ *
+ * @param codeLength  The number of positions of a code, from 1 to {@link #MAX_CODE_LENGTH}.
+ * @param totalColors The number of colors, from 1 to {@link #MAX_COLORS}.
+ * @param maxGuesses  The number of guesses after which the code breaker loses, at least 1.
+ */
+public record GameConfig(int codeLength, int totalColors, int maxGuesses) {
+    /**
+     * Largest number of positions of a code.
+     */
+    public static final int MAX_CODE_LENGTH = 10;
+
+    /**
+     * Largest number of colors.
+     */
+    public static final int MAX_COLORS = 16;
+
+    /**
+     * The board of {@link Mastermind}, which the precomputed tables are built for.
+     */
+    public static final GameConfig DEFAULT =
+        new GameConfig(Mastermind.CODE_LENGTH, Mastermind.TOTAL_COLORS, Mastermind.MAX_GUESSES);
+
+    /**
+     * How the index of a code is stored.
+     */
+    public enum Packing {
+        /**
+         * Every index fits into an {@code int}.
+         */
+        INT,
+
+        /**
+         * Some indices need a {@code long}.
+         */
+        LONG
+    }
+
+    /**
+     * Validates the dimensions of the board.
+     *
+     * @throws IllegalArgumentException If a dimension is out of range.
+     */
+    public GameConfig {
+        if (codeLength < 1 || codeLength > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Code length must be from 1 to " + MAX_CODE_LENGTH + ": "
+                + codeLength);
+        }
+
+        if (totalColors < 1 || totalColors > MAX_COLORS) {
+            throw new IllegalArgumentException("Total colors must be from 1 to " + MAX_COLORS + ": "
+                + totalColors);
+        }
+
+        if (maxGuesses < 1) {
+            throw new IllegalArgumentException("Max guesses must be at least 1: " + maxGuesses);
+        }
+    }
+
+    /**
+     * Computes the number of distinct codes, i.e., {@code totalColors ^ codeLength}.
+     *
+     * @return The number of codes, at most 2<sup>40</sup>.
+     */
+    public long totalCodes() {
+        long total = 1;
+        for (int position = 0; position < codeLength; ++position) {
+            total *= totalColors;
+        }
+
+        return total;
+    }
+
+    /**
+     * Determines how the index of a code is stored.
+     *
+     * @return {@link Packing#INT} if every index fits into an {@code int}, and {@link Packing#LONG} otherwise.
+     */
+    public Packing packing() {
+        return totalCodes() - 1 <= Integer.MAX_VALUE ? Packing.INT : Packing.LONG;
+    }
+
+    /**
+     * Packs a code into its index.
+     *
+     * @param colors The color indices of the code.
+     * @return The index of the code.
+     * @throws IllegalArgumentException If the code does not fit the board.
+     */
+    public long pack(final int[] colors) {
+        requireCode(colors);
+
+        long index = 0;
+        for (final int color : colors) {
+            index = index * totalColors + color;
+        }
+
+        return index;
+    }
+
+    /**
+     * Unpacks the index of a code.
+     *
+     * @param index The index of the code.
+     * @return The color indices of the code.
+     * @throws IllegalArgumentException If the index is out of range.
+     */
+    public int[] unpack(long index) {
+        if (index < 0 || index >= totalCodes()) {
+            throw new IllegalArgumentException("Invalid code index: " + index);
+        }
+
+        final int[] colors = new int[codeLength];
+        for (int position = codeLength - 1; position >= 0; --position) {
+            colors[position] = (int) (index % totalColors);
+            index /= totalColors;
+        }
+
+        return colors;
+    }
+
+    /**
+     * Counts the positions where two codes of the board have the same color.
+     *
+     * @param a The color indices of the first code.
+     * @param b The color indices of the second code.
+     * @return The number of black pegs.
+     */
+    public int blackPegs(final int[] a, final int[] b) {
+        int black = 0;
+        for (int position = 0; position < codeLength; ++position) {
+            if (a[position] == b[position]) {
+                ++black;
+            }
+        }
+
+        return black;
+    }
+
+    /**
+     * Counts the colors two codes of the board have in common, in any position, i.e., the black and white pegs.
+     *
+     * @param a The color indices of the first code.
+     * @param b The color indices of the second code.
+     * @return The number of black and white pegs.
+     */
+    public int commonColors(final int[] a, final int[] b) {
+        final int[] occurrences = new int[totalColors];
+        for (int position = 0; position < codeLength; ++position) {
+            ++occurrences[a[position]];
+        }
+
+        int common = 0;
+        for (int position = 0; position < codeLength; ++position) {
+            if (occurrences[b[position]]-- > 0) {
+                ++common;
+            }
+        }
+
+        return common;
+    }
+
+    /**
+     * Checks that a code fits the board.
+     *
+     * @param colors The color indices of the code.
+     * @return The color indices of the code.
+     * @throws IllegalArgumentException If the code length or a color index is invalid.
+     */
+    public int[] requireCode(final int[] colors) {
+        if (colors.length != codeLength) {
+            throw new IllegalArgumentException("Code length must be equal to " + codeLength);
+        }
+
+        for (final int color : colors) {
+            if (color < 0 || color >= totalColors) {
+                throw new IllegalArgumentException("Invalid color index: " + color);
+            }
+        }
+
+        return colors;
+    }
+}
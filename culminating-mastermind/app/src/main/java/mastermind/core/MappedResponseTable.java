@@ -0,0 +1,432 @@
+package mastermind.core;
+
+import mastermind.utils.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A precomputed table of the response of every pair of codes of a board of any size, held off the heap in a
+ * memory-mapped file.
+ * <p>
+ * Like {@link ResponseTable}, element {@code [guess][secret]} is one byte, but the bytes live in a file mapped
+ * read-only into memory instead of in a {@code byte[]}: a board of 5 positions and 8 colors needs 1 GiB, which
+ * would not fit the heap. Reading a response is a single load from the mapping, so it allocates nothing, and the
+ * pages are held by the operating system's page cache, so several JVMs opening the same file share one copy.
+ * <p>
+ * The file is generated once per board, in parallel, under a name holding the {@link #FORMAT_VERSION} and the
+ * dimensions of the board, and starts with a header that is checked when it is opened again. It is written to a
+ * temporary file first and then moved into place, so a reader never sees a partial table. A mapping is limited
+ * to 2 GiB, so the rows are mapped in chunks of up to {@link #CHUNK_SIZE} bytes.
+ * <p>
+ * A response is stored as {@code black * (codeLength + 1) + white}, see {@link #blackPegsOf(byte)} and
+ * {@link #whitePegsOf(byte)}, since the indices of {@link Response} are only defined for the default board.
+ * <p>
+ * The in-heap {@link ResponseTable} only holds the default board, so the solvers of other boards read their
+ * responses from this table when given one, see {@link mastermind.core.solvers.MonteCarloAlgorithm}.
+ */
+public class MappedResponseTable {
+    /**
+     * Version of the file format, part of the file name so that files of older versions are never read.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * Largest number of codes of a board, so that the file takes at most 16 GiB.
+     */
+    public static final int MAX_CODES = 1 << 17;
+
+    /**
+     * Largest number of bytes mapped at once.
+     */
+    public static final long CHUNK_SIZE = 1L << 30;
+
+    /**
+     * The directory the tables are generated in by {@link #open(GameConfig)}.
+     */
+    public static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "mastermind");
+
+    /**
+     * The first bytes of a file, "MMRT".
+     */
+    private static final int MAGIC = 0x4D4D5254;
+
+    /**
+     * Bytes before the first row of the table.
+     */
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * Number of rows below which generating them is not split further.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    /**
+     * The dimensions of the board.
+     */
+    private final GameConfig config;
+
+    /**
+     * The file holding the table.
+     */
+    private final Path file;
+
+    /**
+     * The number of codes of the board, i.e., the length of a row.
+     */
+    private final int totalCodes;
+
+    /**
+     * The base-2 logarithm of the number of rows per chunk.
+     */
+    private final int chunkShift;
+
+    /**
+     * The mapped rows, {@code 1 << chunkShift} rows per chunk.
+     */
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Constructs a table over mapped chunks.
+     *
+     * @param config     The dimensions of the board.
+     * @param file       The file holding the table.
+     * @param chunkShift The base-2 logarithm of the number of rows per chunk.
+     * @param chunks     The mapped rows.
+     */
+    private MappedResponseTable(final GameConfig config,
+                                final Path file,
+                                final int chunkShift,
+                                final MappedByteBuffer[] chunks) {
+        this.config = config;
+        this.file = file;
+        this.totalCodes = (int) config.totalCodes();
+        this.chunkShift = chunkShift;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Opens the table of a board in {@link #DEFAULT_DIRECTORY}, generating it first if necessary.
+     *
+     * @param config The dimensions of the board.
+     * @return The table.
+     * @throws IOException              If the file cannot be read or generated.
+     * @throws IllegalArgumentException If the board has more than {@link #MAX_CODES} codes.
+     */
+    public static MappedResponseTable open(final GameConfig config) throws IOException {
+        return open(config, DEFAULT_DIRECTORY);
+    }
+
+    /**
+     * Opens the table of a board in a directory, generating it first if the file is missing or does not hold a
+     * table of this version and board.
+     *
+     * @param config    The dimensions of the board.
+     * @param directory The directory of the file, created if necessary.
+     * @return The table.
+     * @throws IOException              If the file cannot be read or generated.
+     * @throws IllegalArgumentException If the board has more than {@link #MAX_CODES} codes.
+     */
+    public static MappedResponseTable open(final GameConfig config, final Path directory) throws IOException {
+        if (config.totalCodes() > MAX_CODES) {
+            throw new IllegalArgumentException("Too many codes for a response table: " + config.totalCodes()
+                + ", at most " + MAX_CODES);
+        }
+
+        Files.createDirectories(directory);
+        final Path file = directory.resolve(fileName(config));
+
+        if (!isValid(config, file)) {
+            generate(config, file);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedResponseTable(config, file, chunkShift(config), map(config, channel,
+                FileChannel.MapMode.READ_ONLY));
+        }
+    }
+
+    /**
+     * Retrieves the response of a guess against a secret code.
+     *
+     * @param guess  The index of the guess, see {@link GameConfig#pack(int[])}.
+     * @param secret The index of the secret code.
+     * @return The response, see {@link #blackPegsOf(byte)} and {@link #whitePegsOf(byte)}.
+     */
+    public byte get(final int guess, final int secret) {
+        return chunks[guess >>> chunkShift].get((guess & ((1 << chunkShift) - 1)) * totalCodes + secret);
+    }
+
+    /**
+     * Retrieves the number of black pegs of a response of this table.
+     *
+     * @param response The response.
+     * @return The number of black pegs.
+     */
+    public int blackPegsOf(final byte response) {
+        return response / (config.codeLength() + 1);
+    }
+
+    /**
+     * Retrieves the number of white pegs of a response of this table.
+     *
+     * @param response The response.
+     * @return The number of white pegs.
+     */
+    public int whitePegsOf(final byte response) {
+        return response % (config.codeLength() + 1);
+    }
+
+    /**
+     * Retrieves the dimensions of the board of this table.
+     *
+     * @return The dimensions of the board.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Retrieves the file holding this table.
+     *
+     * @return The path of the file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the memory mapped by this table, which is held by the page cache rather than the heap.
+     *
+     * @return The size of the table in bytes.
+     */
+    public long getMemorySize() {
+        return (long) totalCodes * totalCodes;
+    }
+
+    /**
+     * Names the file of the table of a board.
+     *
+     * @param config The dimensions of the board.
+     * @return The file name, e.g., {@code responses-v1-5x8.bin}.
+     */
+    private static String fileName(final GameConfig config) {
+        return "responses-v" + FORMAT_VERSION + "-" + config.codeLength() + "x" + config.totalColors() + ".bin";
+    }
+
+    /**
+     * Computes the base-2 logarithm of the number of rows per chunk, so that a chunk takes at most
+     * {@link #CHUNK_SIZE} bytes.
+     *
+     * @param config The dimensions of the board.
+     * @return The logarithm of the rows per chunk.
+     */
+    private static int chunkShift(final GameConfig config) {
+        return Long.numberOfTrailingZeros(Long.highestOneBit(CHUNK_SIZE / config.totalCodes()));
+    }
+
+    /**
+     * Checks that a file holds a complete table of this version and board.
+     *
+     * @param config The dimensions of the board.
+     * @param file   The file.
+     * @return true if the file can be mapped as is, and false if it must be generated.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    private static boolean isValid(final GameConfig config, final Path file) throws IOException {
+        final long totalCodes = config.totalCodes();
+        if (!Files.isRegularFile(file) || Files.size(file) != HEADER_SIZE + totalCodes * totalCodes) {
+            return false;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+        }
+        header.flip();
+
+        return header.remaining() == HEADER_SIZE
+            && header.getInt() == MAGIC
+            && header.getInt() == FORMAT_VERSION
+            && header.getInt() == config.codeLength()
+            && header.getInt() == config.totalColors()
+            && header.getLong() == totalCodes;
+    }
+
+    /**
+     * Generates the table of a board into a temporary file, and moves it into place once complete.
+     *
+     * @param config The dimensions of the board.
+     * @param file   The file of the table.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void generate(final GameConfig config, final Path file) throws IOException {
+        final long start = System.nanoTime();
+        final Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(config.codeLength())
+                    .putInt(config.totalColors())
+                    .putLong(config.totalCodes());
+                header.clear();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+
+                final MappedResponseTable table = new MappedResponseTable(config, temporary, chunkShift(config),
+                    map(config, channel, FileChannel.MapMode.READ_WRITE));
+                ForkJoinPool.commonPool().invoke(table.new RowsTask(table.colorCounts(), 0, table.totalCodes));
+
+                for (final MappedByteBuffer chunk : table.chunks) {
+                    chunk.force();
+                }
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        Log.info("Generated response table " + file + " in "
+            + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms");
+    }
+
+    /**
+     * Maps the rows of a table file in chunks.
+     *
+     * @param config  The dimensions of the board.
+     * @param channel The channel of the file.
+     * @param mode    Whether the rows are read or written.
+     * @return The mapped chunks.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private static MappedByteBuffer[] map(final GameConfig config,
+                                          final FileChannel channel,
+                                          final FileChannel.MapMode mode) throws IOException {
+        final long totalCodes = config.totalCodes();
+        final long rowsPerChunk = 1L << chunkShift(config);
+        final MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((totalCodes + rowsPerChunk - 1) / rowsPerChunk)];
+
+        for (int chunk = 0; chunk < chunks.length; ++chunk) {
+            final long firstRow = chunk * rowsPerChunk;
+            final long rows = Math.min(rowsPerChunk, totalCodes - firstRow);
+            chunks[chunk] = channel.map(mode, HEADER_SIZE + firstRow * totalCodes, rows * totalCodes);
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Counts the occurrences of every color in every code of the board, for scoring.
+     *
+     * @return The color counts of each code, indexed by {@code code * totalColors + color}.
+     */
+    private byte[] colorCounts() {
+        final int totalColors = config.totalColors();
+        final byte[] counts = new byte[totalCodes * totalColors];
+
+        for (int code = 0; code < totalCodes; ++code) {
+            for (final int color : config.unpack(code)) {
+                ++counts[code * totalColors + color];
+            }
+        }
+
+        return counts;
+    }
+
+    /**
+     * Scores a range of guesses against every secret code and writes their rows, splitting the range in halves
+     * until it is small enough.
+     */
+    private class RowsTask extends RecursiveAction {
+        /**
+         * The color counts of every code, see {@link #colorCounts()}.
+         */
+        private final byte[] counts;
+
+        /**
+         * The first guess of the range, inclusive.
+         */
+        private final int from;
+
+        /**
+         * The last guess of the range, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Constructs a task over a range of guesses.
+         *
+         * @param counts The color counts of every code.
+         * @param from   The first guess, inclusive.
+         * @param to     The last guess, exclusive.
+         */
+        private RowsTask(final byte[] counts, final int from, final int to) {
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Writes the rows of the range.
+         */
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new RowsTask(counts, from, middle), new RowsTask(counts, middle, to));
+                return;
+            }
+
+            final int codeLength = config.codeLength();
+            final int totalColors = config.totalColors();
+            final byte[] row = new byte[totalCodes];
+
+            for (int guess = from; guess < to; ++guess) {
+                final int[] colors = config.unpack(guess);
+
+                for (int secret = 0; secret < totalCodes; ++secret) {
+                    // Compare the digits of the secret code from the last position.
+                    int black = 0;
+                    int remaining = secret;
+                    for (int position = codeLength - 1; position >= 0; --position) {
+                        if (colors[position] == remaining % totalColors) {
+                            ++black;
+                        }
+                        remaining /= totalColors;
+                    }
+
+                    int common = 0;
+                    for (int color = 0; color < totalColors; ++color) {
+                        common += Math.min(counts[guess * totalColors + color], counts[secret * totalColors + color]);
+                    }
+
+                    row[secret] = (byte) (black * (codeLength + 1) + common - black);
+                }
+
+                chunks[guess >>> chunkShift].put((guess & ((1 << chunkShift) - 1)) * totalCodes, row);
+            }
+        }
+    }
+}
@@ -9,19 +9,108 @@ package mastermind.core;
 import mastermind.Mastermind;
 import mastermind.utils.Tuple2;
 
-import java.util.HashMap;
-
 /**
  * Represents the response to a guess in the Mastermind game.
+ * <p>
+ * A response is packed into a single response index, where every valid
+ * combination of black pegs {@code b} and white pegs {@code w}
+ * ({@code b + w <= }{@link Mastermind#CODE_LENGTH}) is numbered in ascending
+ * order of {@code b}, then {@code w}. With 4 positions, {@code (0, 0)} is
+ * index 0, {@code (1, 0)} is index 5, and {@code (4, 0)} is index 14, for a
+ * total of {@link #TOTAL_RESPONSES} = 15 responses.
+ * <p>
+ * {@link #score(int, int)} computes the response index of two packed codes
+ * without allocating, and the {@code Response} object API is built on top of
+ * it.
  */
 public class Response {
     /**
-     * A Tuple2 object containing the counts of correct and misplaced elements.
-     * <p>
-     * First element: count of correct matches.
-     * Second element: count of misplaced elements.
+     * Total number of distinct responses, i.e., the number of
+     * {@code (black, white)} pairs whose sum does not exceed
+     * {@link Mastermind#CODE_LENGTH}.
+     */
+    public static final int TOTAL_RESPONSES =
+        (Mastermind.CODE_LENGTH + 1) * (Mastermind.CODE_LENGTH + 2) / 2;
+
+    /**
+     * Number of bits used to store the count of one color in a packed color
+     * histogram.
+     */
+    private static final int HISTOGRAM_BITS = 4;
+
+    /**
+     * Mask to extract the count of one color from a packed color histogram.
+     */
+    private static final long HISTOGRAM_MASK = (1L << HISTOGRAM_BITS) - 1;
+
+    /**
+     * The number of black pegs of each response index.
+     */
+    private static final int[] BLACK_PEGS = new int[TOTAL_RESPONSES];
+
+    /**
+     * The number of white pegs of each response index.
+     */
+    private static final int[] WHITE_PEGS = new int[TOTAL_RESPONSES];
+
+    /**
+     * The response index of each {@code (black, white)} pair, where element
+     * {@code [black][white]} is -1 if {@code black + white} exceeds
+     * {@link Mastermind#CODE_LENGTH}.
      */
-    private final Tuple2<Integer, Integer> response;
+    private static final int[][] INDICES =
+        new int[Mastermind.CODE_LENGTH + 1][Mastermind.CODE_LENGTH + 1];
+
+    static {
+        // The packed color histograms in score() must fit into a long.
+        if (Mastermind.TOTAL_COLORS * HISTOGRAM_BITS > Long.SIZE
+            || Mastermind.CODE_LENGTH > HISTOGRAM_MASK) {
+            throw new IllegalStateException("Board is too large for packed color histograms");
+        }
+
+        int index = 0;
+
+        // Number every valid (black, white) pair in ascending order.
+        for (int black = 0; black <= Mastermind.CODE_LENGTH; ++black) {
+            for (int white = 0; white <= Mastermind.CODE_LENGTH; ++white) {
+                if (black + white > Mastermind.CODE_LENGTH) {
+                    INDICES[black][white] = -1;
+                    continue;
+                }
+
+                BLACK_PEGS[index] = black;
+                WHITE_PEGS[index] = white;
+                INDICES[black][white] = index++;
+            }
+        }
+    }
+
+    /**
+     * Canonical instances of every response, where element {@code i} is the
+     * response with index {@code i}.
+     */
+    private static final Response[] RESPONSES = new Response[TOTAL_RESPONSES];
+
+    static {
+        // Create one shared instance per response index.
+        for (int i = 0; i < TOTAL_RESPONSES; ++i) {
+            RESPONSES[i] = new Response(i);
+        }
+    }
+
+    /**
+     * The response index, see {@link Response}.
+     */
+    private final int index;
+
+    /**
+     * Constructs a Response object with the given response index.
+     *
+     * @param index the response index, see {@link Response}
+     */
+    private Response(final int index) {
+        this.index = index;
+    }
 
     /**
      * Constructs a Response object using the given Tuple2 containing the counts
@@ -30,11 +119,12 @@ public class Response {
      * @param response a Tuple2 object where:
      *                 - The first element represents the count of correct matches.
      *                 - The second element represents the count of misplaced elements.
+     * @throws IllegalArgumentException if the counts are negative or exceed the code length in total.
      */
     public Response(final Tuple2<Integer, Integer> response) {
         // constructor to response, constructs a response object containing
         // correct and misplaced elements (black and white pegs)
-        this.response = response;
+        this.index = indexOf(response.first(), response.second());
     }
 
     /**
@@ -45,52 +135,122 @@ public class Response {
      * The constructor evaluates the following:
      * - Matches where both the position and color are correct.
      * - Matches where the color is correct but the position is incorrect.
-     * The results are stored as a Tuple2 consisting of the count of correct matches and the count of misplaced elements.
+     * The counts are computed by {@link #score(int, int)}.
      *
      * @param code  the code to be matched, represented as a sequence of colors
      * @param guess the guessed code, represented as a sequence of colors
      */
     public Response(final Code code, final Code guess) {
-        // constructor to response, constructs a response object containing
-        // correct and misplaced elements (black and white pegs)
-        int correctCount = 0;
-        int misplacementCount = 0;
+        this.index = score(code.getIndex(), guess.getIndex());
+    }
 
-        // create a hashmap to store the occurrences of each color in the code
-        HashMap<Code.Color, Integer> codeColorOccurrences = code.getOccurrences();
+    /**
+     * Computes the response index of two packed codes.
+     *
+     * <p>
+     * The response is symmetric, so the order of the arguments does not
+     * matter. The color histograms of both codes are packed into two
+     * {@code long} locals, 4 bits per color, so this
+     * method never allocates:
+     * <br>
+     * 1. Every position with equal colors counts as a black peg.
+     * <br>
+     * 2. The remaining positions are added to the color histogram of their
+     * respective code.
+     * <br>
+     * 3. Every color contributes the smaller of its two counts as white pegs.
+     *
+     * @param codeA the index of the first code, see {@link Code#getIndex()}
+     * @param codeB the index of the second code, see {@link Code#getIndex()}
+     * @return the response index, see {@link Response}
+     */
+    public static byte score(int codeA, int codeB) {
+        int black = 0;
+        long histogramA = 0;
+        long histogramB = 0;
 
-        // count correct placements
+        // count correct placements, and histogram the colors of the other positions
         for (int i = 0; i < Mastermind.CODE_LENGTH; ++i) {
-            // get the code color at index i
-            final Code.Color codeColor = code.getColor(i);
-            // get the guess color at index i
-            final Code.Color guessColor = guess.getColor(i);
-
-            // if the code color at index i is equal to the guess color at index i
-            // increment the correct count and decrement the occurrence of the guess color
-            if (codeColor == guessColor) {
-                ++correctCount;
-                codeColorOccurrences.put(guessColor, codeColorOccurrences.get(guessColor) - 1);
+            final int colorA = codeA % Mastermind.TOTAL_COLORS;
+            final int colorB = codeB % Mastermind.TOTAL_COLORS;
+            codeA /= Mastermind.TOTAL_COLORS;
+            codeB /= Mastermind.TOTAL_COLORS;
+
+            if (colorA == colorB) {
+                ++black;
+            } else {
+                histogramA += 1L << (colorA * HISTOGRAM_BITS);
+                histogramB += 1L << (colorB * HISTOGRAM_BITS);
             }
         }
 
-        // count misplacements
-        for (int i = 0; i < Mastermind.CODE_LENGTH; ++i) {
-            // get the code color at index i
-            final Code.Color codeColor = code.getColor(i);
-            // get the guess color at index i
-            final Code.Color guessColor = guess.getColor(i);
-
-            // if the code color at index i is not equal to the guess color at index i
-            // and the occurrence of the guess color is greater than 0
-            if (codeColor != guessColor && codeColorOccurrences.get(guessColor) > 0) {
-                ++misplacementCount;
-                codeColorOccurrences.put(guessColor, codeColorOccurrences.get(guessColor) - 1);
-            }
+        int white = 0;
+
+        // count misplacements, the common colors of the unmatched positions
+        for (int color = 0; color < Mastermind.TOTAL_COLORS; ++color) {
+            white += (int) Math.min(histogramA & HISTOGRAM_MASK, histogramB & HISTOGRAM_MASK);
+            histogramA >>>= HISTOGRAM_BITS;
+            histogramB >>>= HISTOGRAM_BITS;
         }
 
-        // set the response to a tuple containing the correct and misplaced counts
-        response = new Tuple2<>(correctCount, misplacementCount);
+        return (byte) INDICES[black][white];
+    }
+
+    /**
+     * Retrieves the shared Response object of a response index.
+     *
+     * @param index the response index, see {@link Response}
+     * @return the Response object with the given response index
+     * @throws ArrayIndexOutOfBoundsException if the response index is out of range
+     */
+    public static Response fromIndex(final int index) {
+        return RESPONSES[index];
+    }
+
+    /**
+     * Retrieves the response index of the given counts of key pegs.
+     *
+     * @param black the number of black key pegs
+     * @param white the number of white key pegs
+     * @return the response index, see {@link Response}
+     * @throws IllegalArgumentException if the counts are negative or exceed the code length in total.
+     */
+    public static int indexOf(final int black, final int white) {
+        if (black < 0 || white < 0 || black + white > Mastermind.CODE_LENGTH) {
+            throw new IllegalArgumentException(
+                "Invalid response: black " + black + ", white " + white);
+        }
+
+        return INDICES[black][white];
+    }
+
+    /**
+     * Retrieves the number of black key pegs of a response index.
+     *
+     * @param index the response index, see {@link Response}
+     * @return the number of black key pegs
+     */
+    public static int blackPegsOf(final int index) {
+        return BLACK_PEGS[index];
+    }
+
+    /**
+     * Retrieves the number of white key pegs of a response index.
+     *
+     * @param index the response index, see {@link Response}
+     * @return the number of white key pegs
+     */
+    public static int whitePegsOf(final int index) {
+        return WHITE_PEGS[index];
+    }
+
+    /**
+     * Returns the response index of this response.
+     *
+     * @return the response index, see {@link Response}
+     */
+    public int getIndex() {
+        return this.index;
     }
 
     /**
@@ -102,7 +262,7 @@ public class Response {
      * - The second integer represents the count of misplaced key pegs.
      */
     public Tuple2<Integer, Integer> getResponse() {
-        return this.response;
+        return new Tuple2<>(BLACK_PEGS[this.index], WHITE_PEGS[this.index]);
     }
 
     /**
@@ -112,7 +272,7 @@ public class Response {
      * The method first checks if the two objects reference the same memory location; if so, they are considered equal.
      * Next, it checks if the specified object is null or if its class differs from this Response object's class;
      * if either condition is true, they are not considered equal.
-     * Finally, it compares the "response" field of the two Response objects for equality.
+     * Finally, it compares the response indices of the two Response objects for equality.
      *
      * @param obj the object to compare with this Response instance
      * @return true if the specified object is equal to this Response instance, false otherwise
@@ -133,25 +293,24 @@ public class Response {
         // cast the object to a Response object
         final Response otherResponse = (Response) obj;
 
-        // compare the response field of the two Response objects and returns
+        // compare the response indices of the two Response objects and returns
         // the boolean result
-        return this.response.equals(otherResponse.response);
+        return this.index == otherResponse.index;
     }
 
     /**
      * Returns the hash code value for this Response object.
      *
      * <p>
-     * The hash code is computed based on the underlying `response` field,
-     * which is a Tuple2 containing the counts of correct and misplaced matches.
-     * This ensures that the hash code is consistent with the definition of
+     * The hash code is the response index, which uniquely identifies the
+     * counts of correct and misplaced matches. This ensures that the hash code is consistent with the definition of
      * equality provided in the `equals` method.
      *
      * @return the hash code value for this Response object
      */
     @Override
     public int hashCode() {
-        return this.response.hashCode();
+        return this.index;
     }
 
     /**
@@ -160,7 +319,7 @@ public class Response {
      * <p>
      * The returned string includes the count of correctly placed elements (correct count)
      * and the count of misplaced elements (misplacement count), both extracted from the
-     * `response` field, formatted in the following structure:
+     * response index, formatted in the following structure:
      *
      * <p>
      * "correct count: [value] misplacement count: [value]"
@@ -169,6 +328,6 @@ public class Response {
      */
     @Override
     public String toString() {
-        return "Black: " + this.response.first() + ", White: " + this.response.second();
+        return "Black: " + BLACK_PEGS[this.index] + ", White: " + WHITE_PEGS[this.index];
     }
 }
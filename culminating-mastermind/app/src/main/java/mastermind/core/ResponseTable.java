@@ -0,0 +1,105 @@
+package mastermind.core;
+
+import mastermind.utils.Log;
+
+import java.time.Duration;
+
+/**
+ * A process-wide, precomputed table of the response of every pair of codes.
+ * <p>
+ * Element {@code [guess][secret]} is the response index, see
+ * {@link Response}, of scoring {@code guess} against {@code secret}, stored
+ * as one byte in a flat array of
+ * {@link Code#TOTAL_CODES}<sup>2</sup> elements (about 1.6 MB for the
+ * default board). Looking up a response is thus a single array load.
+ * <p>
+ * The table is built on first use and is immutable afterward. It is held by
+ * a lazily initialized holder class, so the JVM guarantees it is built
+ * exactly once, even if several threads use it concurrently.
+ * <p>
+ * Larger boards, whose table would not fit the heap, use
+ * {@link MappedResponseTable} instead.
+ */
+public class ResponseTable {
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ResponseTable() {
+        throw new IllegalStateException("This class should not be instantiated");
+    }
+
+    /**
+     * Holder of the table, initialized by the JVM on first access.
+     */
+    private static class Holder {
+        /**
+         * The table of response indices, row-major by guess.
+         */
+        private static final byte[] TABLE = new byte[Code.TOTAL_CODES * Code.TOTAL_CODES];
+
+        /**
+         * The time it took to build {@link #TABLE}.
+         */
+        private static final Duration BUILD_TIME;
+
+        static {
+            final long start = System.nanoTime();
+
+            // The response is symmetric, so only score each unordered pair once.
+            for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+                for (int secret = guess; secret < Code.TOTAL_CODES; ++secret) {
+                    final byte response = Response.score(guess, secret);
+                    TABLE[guess * Code.TOTAL_CODES + secret] = response;
+                    TABLE[secret * Code.TOTAL_CODES + guess] = response;
+                }
+            }
+
+            BUILD_TIME = Duration.ofNanos(System.nanoTime() - start);
+
+            Log.debug("Built response table of " + TABLE.length + " bytes in "
+                + BUILD_TIME.toMillis() + " ms");
+        }
+    }
+
+    /**
+     * Retrieves the response index of a guess against a secret code.
+     *
+     * @param guess  the index of the guess, see {@link Code#getIndex()}
+     * @param secret the index of the secret code, see {@link Code#getIndex()}
+     * @return the response index, see {@link Response}
+     */
+    public static byte get(final int guess, final int secret) {
+        return Holder.TABLE[guess * Code.TOTAL_CODES + secret];
+    }
+
+    /**
+     * Retrieves the response index of a guess against a secret code.
+     *
+     * @param guess  the guess
+     * @param secret the secret code
+     * @return the response index, see {@link Response}
+     */
+    public static byte get(final Code guess, final Code secret) {
+        return get(guess.getIndex(), secret.getIndex());
+    }
+
+    /**
+     * Retrieves the time it took to build the table, building it if
+     * necessary.
+     *
+     * @return the build time of the table
+     */
+    public static Duration getBuildTime() {
+        return Holder.BUILD_TIME;
+    }
+
+    /**
+     * Retrieves the memory used by the table's elements, building it if
+     * necessary.
+     *
+     * @return the size of the table in bytes
+     */
+    public static long getMemorySize() {
+        return Holder.TABLE.length;
+    }
+}
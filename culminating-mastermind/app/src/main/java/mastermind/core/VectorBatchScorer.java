@@ -0,0 +1,98 @@
+package mastermind.core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import mastermind.Mastermind;
+
+/**
+ * The SIMD path of {@link BatchScorer}, built on {@code jdk.incubator.vector}.
+ * <p>
+ * This class is only loaded when the module is available, so that the rest
+ * of the program runs without it.
+ */
+class VectorBatchScorer {
+    /**
+     * The preferred (widest) species of {@code int} lanes on this platform.
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private VectorBatchScorer() {
+        throw new IllegalStateException("This class should not be instantiated");
+    }
+
+    /**
+     * Scores a guess against a batch of candidates, one vector of candidates
+     * at a time.
+     * <p>
+     * For every lane, black pegs are the number of positions whose colors
+     * compare equal, and the total number of common colors is the sum, over
+     * every color of the guess, of the smaller of its two counts. White pegs
+     * are the total minus the black pegs, and the pair is packed into a
+     * response index with the same arithmetic as {@link Response#indexOf}.
+     *
+     * @param guess      the index of the guess
+     * @param candidates the indices of the candidate codes
+     * @param count      the number of leading candidates to score
+     * @param responses  the array to fill
+     */
+    static void score(final int guess,
+                      final int[] candidates,
+                      final int count,
+                      final int[] responses) {
+        // Unpack the guess once, along with its color histogram.
+        final int[] guessColors = new int[Mastermind.CODE_LENGTH];
+        final int[] guessCounts = new int[Mastermind.TOTAL_COLORS];
+        for (int position = 0; position < Mastermind.CODE_LENGTH; ++position) {
+            guessColors[position] = Code.colorIndexAt(guess, position);
+            ++guessCounts[guessColors[position]];
+        }
+
+        final IntVector[] candidateColors = new IntVector[Mastermind.CODE_LENGTH];
+        final IntVector zero = IntVector.zero(SPECIES);
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            IntVector black = zero;
+
+            // Gather the colors of the candidates, and compare them lane-wise to the guess.
+            for (int position = 0; position < Mastermind.CODE_LENGTH; ++position) {
+                candidateColors[position] = IntVector.fromArray(
+                    SPECIES, BatchScorer.COLOR_PLANES[position], 0, candidates, i);
+                black = black.add(1, candidateColors[position].eq(guessColors[position]));
+            }
+
+            IntVector common = zero;
+
+            // Colors absent from the guess have no common occurrences.
+            for (int color = 0; color < Mastermind.TOTAL_COLORS; ++color) {
+                if (guessCounts[color] == 0) {
+                    continue;
+                }
+
+                IntVector colorCount = zero;
+                for (int position = 0; position < Mastermind.CODE_LENGTH; ++position) {
+                    colorCount = colorCount.add(1, candidateColors[position].eq(color));
+                }
+
+                common = common.add(colorCount.min(guessCounts[color]));
+            }
+
+            final IntVector white = common.sub(black);
+
+            // index = black * (2 * CODE_LENGTH + 3 - black) / 2 + white
+            black
+                .mul(black.neg().add(2 * Mastermind.CODE_LENGTH + 3))
+                .lanewise(VectorOperators.ASHR, 1)
+                .add(white)
+                .intoArray(responses, i);
+        }
+
+        // Score the remaining candidates that do not fill a whole vector.
+        BatchScorer.scoreScalar(guess, candidates, i, count, responses);
+    }
+}
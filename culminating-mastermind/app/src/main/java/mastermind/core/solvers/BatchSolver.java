@@ -0,0 +1,246 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.utils.Tuple2;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Plays many games in parallel, one fresh solver per game.
+ * <p>
+ * Every game is played to the end by a solver from the factory, against the exact responses to its guesses.
+ * The number of guesses, the time taken, the bytes allocated and any exception or error thrown are recorded per game,
+ * so a solver that fails one game does not stop the batch.
+ * <p>
+ * The games run on platform threads, virtual threads or a {@link ForkJoinPool}, see {@link Execution}.
+ */
+public class BatchSolver {
+    /**
+     * The threads the games of a batch run on.
+     */
+    public enum Execution {
+        /**
+         * A fixed pool of platform threads, one per unit of parallelism.
+         */
+        PLATFORM_THREADS,
+
+        /**
+         * A new virtual thread per game, for solvers that block.
+         */
+        VIRTUAL_THREADS,
+
+        /**
+         * A {@link ForkJoinPool} that splits the games in halves, for solvers that only compute.
+         */
+        FORK_JOIN
+    }
+
+    /**
+     * Number of games below which a range is played sequentially in {@link Execution#FORK_JOIN} mode.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 16;
+
+    /**
+     * Creates a new solver for every game.
+     */
+    private final Supplier<? extends MastermindAlgorithm> factory;
+
+    /**
+     * The threads the games run on.
+     */
+    private final Execution execution;
+
+    /**
+     * The number of games played at once, ignored by {@link Execution#VIRTUAL_THREADS}.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructs a batch solver that plays on a fork/join pool with one thread per core.
+     *
+     * @param factory Creates a new solver for every game.
+     */
+    public BatchSolver(final Supplier<? extends MastermindAlgorithm> factory) {
+        this(factory, Execution.FORK_JOIN, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a batch solver.
+     *
+     * @param factory     Creates a new solver for every game.
+     * @param execution   The threads the games run on.
+     * @param parallelism The number of games played at once, at least 1, ignored by
+     *                    {@link Execution#VIRTUAL_THREADS}.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public BatchSolver(final Supplier<? extends MastermindAlgorithm> factory,
+                       final Execution execution,
+                       final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+
+        this.factory = factory;
+        this.execution = execution;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays a game against every secret code, in parallel.
+     *
+     * @param secretCodes The secret codes of the games.
+     * @return The result of every game, in the order of the secret codes.
+     */
+    public List<GameResult> solve(final Stream<Code> secretCodes) {
+        final Code[] codes = secretCodes.toArray(Code[]::new);
+        final GameResult[] results = new GameResult[codes.length];
+
+        switch (execution) {
+            case PLATFORM_THREADS -> run(Executors.newFixedThreadPool(parallelism), codes, results);
+            case VIRTUAL_THREADS -> run(Executors.newVirtualThreadPerTaskExecutor(), codes, results);
+            case FORK_JOIN -> {
+                try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+                    pool.invoke(new GamesTask(codes, results, 0, codes.length));
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Plays one game against a secret code with a new solver, recording any exception or error thrown, e.g., a
+     * {@link StackOverflowError} of a solver, so that every game of a batch has a result.
+     *
+     * @param secretCode The secret code of the game.
+     * @return The result of the game.
+     */
+    public GameResult play(final Code secretCode) {
+        final long startBytes = allocatedBytes();
+        final long start = System.nanoTime();
+        MastermindAlgorithm solver = null;
+
+        try {
+            solver = factory.get();
+            Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+            // respond to every guess until the game is won or lost
+            while (result.first() == Status.Continue) {
+                result = solver.guess(new Response(secretCode, result.second()));
+            }
+
+            final long nanos = System.nanoTime() - start;
+            return new GameResult(secretCode, result.first(), solver.getAttempts(), nanos,
+                allocatedSince(startBytes), null);
+        } catch (final Throwable e) {
+            final long nanos = System.nanoTime() - start;
+            final int guesses = solver == null ? 0 : solver.getAttempts();
+            return new GameResult(secretCode, null, guesses, nanos, allocatedSince(startBytes), e);
+        }
+    }
+
+    /**
+     * Retrieves the bytes allocated by the current thread so far.
+     *
+     * @return The allocated bytes, or -1 if the JVM does not measure them.
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+
+        return -1;
+    }
+
+    /**
+     * Computes the bytes allocated by the current thread since an earlier measurement.
+     *
+     * @param startBytes The earlier result of {@link #allocatedBytes()}.
+     * @return The allocated bytes, or -1 if the JVM does not measure them.
+     */
+    private static long allocatedSince(final long startBytes) {
+        final long endBytes = allocatedBytes();
+        return startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes;
+    }
+
+    /**
+     * Plays every game as a task of an executor, and waits for all of them.
+     *
+     * @param executor The executor, which is shut down once every game has been played.
+     * @param codes    The secret codes of the games.
+     * @param results  The array to store the result of every game in.
+     */
+    private void run(final ExecutorService executor, final Code[] codes, final GameResult[] results) {
+        // closing the executor waits for every submitted game
+        try (executor) {
+            for (int i = 0; i < codes.length; ++i) {
+                final int game = i;
+                executor.execute(() -> results[game] = play(codes[game]));
+            }
+        }
+    }
+
+    /**
+     * Plays a range of games, splitting it in halves while it is large.
+     */
+    private class GamesTask extends RecursiveAction {
+        /**
+         * The secret codes of the games.
+         */
+        private final Code[] codes;
+
+        /**
+         * The result of every game, written by the task.
+         */
+        private final GameResult[] results;
+
+        /**
+         * The first game of the range, inclusive.
+         */
+        private final int from;
+
+        /**
+         * The last game of the range, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Constructs a task playing a range of games.
+         *
+         * @param codes   the secret codes of the games
+         * @param results the result of every game, written by the task
+         * @param from    the first game of the range, inclusive
+         * @param to      the last game of the range, exclusive
+         */
+        GamesTask(final Code[] codes, final GameResult[] results, final int from, final int to) {
+            this.codes = codes;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; ++i) {
+                    results[i] = play(codes[i]);
+                }
+
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new GamesTask(codes, results, from, middle), new GamesTask(codes, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.GameConfig;
+import mastermind.core.Response;
+import mastermind.utils.Tuple2;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The base class of the algorithmic solvers that play any {@link GameConfig}.
+ * <p>
+ * {@link Code} and the tables built on it only exist for {@link GameConfig#DEFAULT}, so these solvers work on
+ * arrays of color indices instead. A game on any board is played through {@link #firstGuess()} and
+ * {@link #nextGuess(int, int)}, which keep the same attempt accounting as {@link #guess()} and
+ * {@link #guess(Response)}: the game is won once a guess is answered with only black pegs, and lost after
+ * {@link GameConfig#maxGuesses()} guesses.
+ * <p>
+ * On the default board, {@link #guess()} and {@link #guess(Response)} play the same game on {@link Code}s, so
+ * the solvers can be used by the GUI like any other {@link MastermindAlgorithm}.
+ * <p>
+ * A checkpoint is saved before every response, so responses can be undone, see {@link #undo(int)}. Solvers
+ * whose {@link #findNextGuess} keeps state across moves save it through {@link #saveState()}.
+ */
+public abstract class BoardAlgorithm extends MastermindAlgorithm {
+    /**
+     * The dimensions of the board.
+     */
+    protected final GameConfig config;
+
+    /**
+     * The colors of the previous guess made by the algorithm.
+     */
+    private int[] previousGuess = null;
+
+    /**
+     * Constructs a solver for a board.
+     *
+     * @param config The dimensions of the board, including the number of guesses after which the solver loses.
+     */
+    protected BoardAlgorithm(final GameConfig config) {
+        super(config.maxGuesses());
+        this.config = config;
+    }
+
+    /**
+     * Retrieves the dimensions of the board.
+     *
+     * @return The board configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Determines the initial guess on the board.
+     *
+     * @return The colors of the initial guess.
+     * @throws IllegalCallerException If this method is invoked for subsequent guesses.
+     */
+    public int[] firstGuess() {
+        if (!isInitialGuess()) { // if not initial guess: should not be called: throws exception
+            throw new IllegalCallerException("firstGuess() is meant for the first guess.");
+        }
+
+        hasExceededMaxGuesses(); // checks if max guesses exceeded
+
+        previousGuess = config.requireCode(findFirstGuess());
+        return previousGuess.clone();
+    }
+
+    /**
+     * Produces the next guess on the board.
+     *
+     * @param black The black pegs of the response to the previous guess.
+     * @param white The white pegs of the response to the previous guess.
+     * @return A {@code Tuple2<Status, int[]>} object with the current game status and the colors of the next
+     * guess, or of the previous guess if the game is over.
+     * @throws IllegalCallerException   If this method is invoked for the initial guess.
+     * @throws IllegalArgumentException If the response does not fit the board.
+     * @throws InvalidHintsException    If no code is consistent with the responses.
+     */
+    public Tuple2<Status, int[]> nextGuess(final int black, final int white) {
+        return nextGuess(black, white, null);
+    }
+
+    /**
+     * Produces the next guess on the board within a time budget, see {@link #guess(Response, Duration)}.
+     *
+     * @param black  The black pegs of the response to the previous guess.
+     * @param white  The white pegs of the response to the previous guess.
+     * @param budget The time to search for the guess, or null for the default of the solver.
+     * @return A {@code Tuple2<Status, int[]>} object with the current game status and the colors of the next
+     * guess, or of the previous guess if the game is over.
+     * @throws IllegalCallerException   If this method is invoked for the initial guess.
+     * @throws IllegalArgumentException If the response does not fit the board.
+     * @throws InvalidHintsException    If no code is consistent with the responses.
+     */
+    public Tuple2<Status, int[]> nextGuess(final int black, final int white, final Duration budget) {
+        if (isInitialGuess()) { // if initial guess: should not be called: invalid
+            throw new IllegalCallerException("nextGuess(int, int) is meant for subsequent guesses.");
+        }
+
+        if (black < 0 || white < 0 || black + white > config.codeLength()) {
+            throw new IllegalArgumentException("Invalid response: black " + black + ", white " + white);
+        }
+
+        // save the state before the response, so that the response can be undone
+        final int[] savedGuess = previousGuess;
+        final Runnable restoreState = saveState();
+        saveCheckpoint(() -> {
+            previousGuess = savedGuess;
+            restoreState.run();
+        });
+
+        // check if the player has won or lost and return accordingly
+        if (black >= config.codeLength()) {
+            return new Tuple2<>(Status.Win, previousGuess.clone());
+        } else if (hasExceededMaxGuesses()) {
+            return new Tuple2<>(Status.Lose, previousGuess.clone());
+        }
+
+        previousGuess = config.requireCode(findNextGuess(previousGuess, black, white, budget));
+        return new Tuple2<>(Status.Continue, previousGuess.clone());
+    }
+
+    /**
+     * Determines the initial guess for the Mastermind game, on the default board.
+     *
+     * @return The initial guess to be made by the algorithm.
+     * @throws IllegalCallerException If this method is invoked for subsequent guesses.
+     * @throws IllegalStateException  If the board is not the default board.
+     */
+    @Override
+    public Code guess() {
+        requireDefaultBoard();
+        return toCode(firstGuess());
+    }
+
+    /**
+     * Produces the next guess for the Mastermind game, on the default board.
+     *
+     * @param response The feedback received for the previous guess.
+     * @return A {@code Tuple2<Status, Code>} object with the current game status and the next guess to be made.
+     * @throws IllegalCallerException If this method is invoked for the initial guess.
+     * @throws IllegalStateException  If the board is not the default board.
+     * @throws InvalidHintsException  If no code is consistent with the hints.
+     */
+    @Override
+    public Tuple2<Status, Code> guess(final Response response) {
+        return guess(response, null);
+    }
+
+    /**
+     * Produces the next guess for the Mastermind game within a time budget, on the default board.
+     *
+     * @param response The feedback received for the previous guess.
+     * @param budget   The time to search for the guess, or null for the default of the solver.
+     * @return A {@code Tuple2<Status, Code>} object with the current game status and the next guess to be made.
+     * @throws IllegalCallerException If this method is invoked for the initial guess.
+     * @throws IllegalStateException  If the board is not the default board.
+     * @throws InvalidHintsException  If no code is consistent with the hints.
+     */
+    @Override
+    public Tuple2<Status, Code> guess(final Response response, final Duration budget) {
+        requireDefaultBoard();
+
+        final Tuple2<Integer, Integer> pegs = response.getResponse();
+        final Tuple2<Status, int[]> result = nextGuess(pegs.first(), pegs.second(), budget);
+
+        return new Tuple2<>(result.first(), toCode(result.second()));
+    }
+
+    /**
+     * Determines the colors of the initial guess, by default pairs of the first colors, e.g., 0011.
+     * <p>
+     * Without any history, every guess of the same pattern of repeated colors is equivalent, and pairs split
+     * the code space well on every board.
+     *
+     * @return The colors of the initial guess, which must fit the board.
+     */
+    protected int[] findFirstGuess() {
+        final int[] colors = new int[config.codeLength()];
+        for (int position = 0; position < colors.length; ++position) {
+            colors[position] = Math.min(position / 2, config.totalColors() - 1);
+        }
+
+        return colors;
+    }
+
+    /**
+     * Determines the colors of the next guess, after a response that neither wins nor loses the game.
+     *
+     * @param previousGuess The colors of the previous guess, which must not be modified.
+     * @param black         The black pegs of the response to the previous guess.
+     * @param white         The white pegs of the response to the previous guess.
+     * @param budget        The time to search for the guess, or null for the default of the solver. Solvers
+     *                      that do not search may ignore it.
+     * @return The colors of the next guess, which must fit the board.
+     * @throws InvalidHintsException If no code is consistent with the responses.
+     */
+    protected abstract int[] findNextGuess(final int[] previousGuess,
+                                           final int black,
+                                           final int white,
+                                           final Duration budget);
+
+    /**
+     * Saves the state that {@link #findNextGuess} keeps across moves, before a response, so that the response can
+     * be undone. The previous guess and the number of attempts are restored by this class.
+     * <p>
+     * By default, the solver keeps no such state.
+     *
+     * @return Restores the saved state.
+     */
+    protected Runnable saveState() {
+        return () -> {
+        };
+    }
+
+    /**
+     * Checks that the board is the default board, the only one {@link Code} can represent.
+     *
+     * @throws IllegalStateException If the board is not the default board.
+     */
+    private void requireDefaultBoard() {
+        if (config.codeLength() != GameConfig.DEFAULT.codeLength()
+            || config.totalColors() != GameConfig.DEFAULT.totalColors()) {
+            throw new IllegalStateException("Codes of " + config + " must be played as colors, "
+                + "see firstGuess() and nextGuess(int, int)");
+        }
+    }
+
+    /**
+     * Converts a guess to a code of the default board.
+     *
+     * @param colors The colors of the guess.
+     * @return The guess as a code.
+     */
+    private static Code toCode(final int[] colors) {
+        return CodeFactory.fromColorIndices(Arrays.stream(colors).boxed().toList());
+    }
+}
@@ -0,0 +1,398 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of candidate secret codes, backed by a bitset over code indices.
+ * <p>
+ * Bit {@code i} is set if the code with index {@code i}, see
+ * {@link Code#getIndex()}, is a candidate. For every guess and response,
+ * the set of codes consistent with them is precomputed as a mask, so
+ * filtering the set by a response is a single word-wise AND.
+ * <p>
+ * Snapshots are copy-on-write: {@link #snapshot()} shares the underlying
+ * words, and whichever set is modified first copies them. This makes
+ * snapshots cheap enough to take on every move and to share across games.
+ */
+public class CandidateSet implements Iterable<Code> {
+    /**
+     * Number of {@code long} words needed to hold one bit per code.
+     */
+    static final int WORDS = (Code.TOTAL_CODES + Long.SIZE - 1) / Long.SIZE;
+
+    /**
+     * The bitset of candidate code indices.
+     */
+    private long[] words;
+
+    /**
+     * Whether {@link #words} may be referenced by another set, in which case
+     * it must be copied before being modified.
+     */
+    private boolean shared;
+
+    /**
+     * Holder of the consistency masks, initialized by the JVM on first access.
+     */
+    private static class Masks {
+        /**
+         * The consistency masks, where the {@link #WORDS} words starting at
+         * {@code (guess * TOTAL_RESPONSES + response) * WORDS} are the bitset
+         * of codes that produce {@code response} when scored against
+         * {@code guess}.
+         */
+        private static final long[] MASKS = buildMasks();
+
+        /**
+         * Builds the consistency masks from the {@link ResponseTable}.
+         *
+         * @return the consistency masks, see {@link #MASKS}
+         */
+        private static long[] buildMasks() {
+            final long[] masks = new long[Code.TOTAL_CODES * Response.TOTAL_RESPONSES * WORDS];
+
+            // Every code belongs to exactly one response class of every guess.
+            for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+                for (int code = 0; code < Code.TOTAL_CODES; ++code) {
+                    final int response = ResponseTable.get(guess, code);
+                    final int base = (guess * Response.TOTAL_RESPONSES + response) * WORDS;
+                    masks[base + (code >>> 6)] |= 1L << code;
+                }
+            }
+
+            return masks;
+        }
+    }
+
+    /**
+     * Holder of the universe of codes, initialized by the JVM on first access.
+     */
+    private static class Universe {
+        /**
+         * The bitset of every code. It is only ever shared, never modified.
+         */
+        private static final long[] WORDS_OF_ALL = buildAll();
+
+        /**
+         * Builds the bitset of every code.
+         *
+         * @return the bitset with one bit set per code index
+         */
+        private static long[] buildAll() {
+            final long[] words = new long[WORDS];
+            Arrays.fill(words, -1L);
+
+            // Clear the bits past the last code.
+            final int remainder = Code.TOTAL_CODES % Long.SIZE;
+            if (remainder != 0) {
+                words[WORDS - 1] = (1L << remainder) - 1;
+            }
+
+            return words;
+        }
+    }
+
+    /**
+     * Constructs a candidate set with the given words.
+     *
+     * @param words  the bitset of candidate code indices
+     * @param shared whether the words may be referenced by another set
+     */
+    private CandidateSet(final long[] words, final boolean shared) {
+        this.words = words;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a set containing every code.
+     * <p>
+     * The set is a copy-on-write view of the universe of codes, which is
+     * shared by the whole process, so creating it allocates no bitset until
+     * it is first modified. This makes constructing a solver nearly free.
+     *
+     * @return a new set of all codes
+     */
+    public static CandidateSet all() {
+        return new CandidateSet(Universe.WORDS_OF_ALL, true);
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @return a new empty set
+     */
+    public static CandidateSet empty() {
+        return new CandidateSet(new long[WORDS], false);
+    }
+
+    /**
+     * Takes a copy-on-write snapshot of this set.
+     * <p>
+     * The snapshot and this set are independent: modifying either one does
+     * not affect the other.
+     *
+     * @return a snapshot of this set
+     */
+    public CandidateSet snapshot() {
+        shared = true;
+        return new CandidateSet(words, true);
+    }
+
+    /**
+     * Copies {@link #words} if they are shared, so they can be modified.
+     */
+    private void ensureExclusive() {
+        if (shared) {
+            words = words.clone();
+            shared = false;
+        }
+    }
+
+    /**
+     * Removes every code that would not produce the given response when
+     * scored against the given guess.
+     *
+     * @param guess    the index of the guess, see {@link Code#getIndex()}
+     * @param response the response index, see {@link Response}
+     */
+    public void retainConsistent(final int guess, final int response) {
+        ensureExclusive();
+
+        final long[] masks = Masks.MASKS;
+        final int base = (guess * Response.TOTAL_RESPONSES + response) * WORDS;
+
+        for (int i = 0; i < WORDS; ++i) {
+            words[i] &= masks[base + i];
+        }
+    }
+
+    /**
+     * Adds a code to this set.
+     *
+     * @param code the index of the code, see {@link Code#getIndex()}
+     */
+    public void add(final int code) {
+        ensureExclusive();
+        words[code >>> 6] |= 1L << code;
+    }
+
+    /**
+     * Removes a code from this set.
+     *
+     * @param code the index of the code, see {@link Code#getIndex()}
+     */
+    public void remove(final int code) {
+        ensureExclusive();
+        words[code >>> 6] &= ~(1L << code);
+    }
+
+    /**
+     * Whether this set contains a code.
+     *
+     * @param code the index of the code, see {@link Code#getIndex()}
+     * @return true if the code is a candidate, false otherwise
+     */
+    public boolean contains(final int code) {
+        return (words[code >>> 6] & (1L << code)) != 0;
+    }
+
+    /**
+     * Counts the codes in this set.
+     *
+     * @return the number of candidates
+     */
+    public int size() {
+        int size = 0;
+
+        for (final long word : words) {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+
+    /**
+     * Estimates the memory taken by this set: its object, and its bitset
+     * unless it is the universe of codes, which is shared by the whole
+     * process. A bitset shared with snapshots is counted by each of them, so
+     * the footprints of the sets of a game add up to an upper bound.
+     *
+     * @return the footprint in bytes
+     */
+    public long memoryFootprint() {
+        final long bitset = words == Universe.WORDS_OF_ALL ? 0 : 16 + (long) WORDS * Long.BYTES; // header and words
+        return 24 + bitset; // object header, reference and flag
+    }
+
+    /**
+     * Whether this set is empty.
+     *
+     * @return true if there are no candidates, false otherwise
+     */
+    public boolean isEmpty() {
+        for (final long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the lowest code index in this set that is greater than or equal
+     * to {@code from}.
+     *
+     * @param from the code index to start searching from, inclusive
+     * @return the next code index, or -1 if there is none
+     */
+    public int next(final int from) {
+        if (from >= Code.TOTAL_CODES) {
+            return -1;
+        }
+
+        int wordIndex = from >>> 6;
+        long word = words[wordIndex] & (-1L << from);
+
+        // Skip empty words until a set bit is found.
+        while (word == 0) {
+            if (++wordIndex == WORDS) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+
+        return wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Finds the lowest code index in this set.
+     *
+     * @return the lowest code index, or -1 if the set is empty
+     */
+    public int first() {
+        return next(0);
+    }
+
+    /**
+     * Lists the code indices in this set in ascending order.
+     *
+     * @return a new array of the candidate code indices
+     */
+    public int[] toArray() {
+        final int[] codes = new int[size()];
+        int i = 0;
+
+        for (int code = first(); code >= 0; code = next(code + 1)) {
+            codes[i++] = code;
+        }
+
+        return codes;
+    }
+
+    /**
+     * Iterates over the codes in this set in ascending order of index.
+     *
+     * @return an iterator over the canonical {@link Code} instances
+     */
+    @Override
+    public Iterator<Code> iterator() {
+        return new Iterator<>() {
+            private int nextCode = first();
+
+            @Override
+            public boolean hasNext() {
+                return nextCode >= 0;
+            }
+
+            @Override
+            public Code next() {
+                if (nextCode < 0) {
+                    throw new NoSuchElementException();
+                }
+
+                final Code code = CodeFactory.fromIndex(nextCode);
+                nextCode = CandidateSet.this.next(nextCode + 1);
+                return code;
+            }
+        };
+    }
+
+    /**
+     * Computes a 64-bit hash of the bitset, suitable as a key for caching
+     * per-set results, see {@link TranspositionCache}.
+     *
+     * @return the 64-bit hash of this set
+     */
+    public long hash64() {
+        long hash = 0x9E3779B97F4A7C15L;
+
+        // Mix every word into the hash, so that single-bit differences spread out.
+        for (final long word : words) {
+            hash = (hash ^ word) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Whether this set contains exactly the codes of a bitset.
+     *
+     * @param otherWords the bitset to compare to
+     * @return true if the bitsets are equal, false otherwise
+     */
+    boolean hasWords(final long[] otherWords) {
+        return Arrays.equals(words, otherWords);
+    }
+
+    /**
+     * Copies the bitset of this set.
+     *
+     * @return a new copy of the bitset
+     */
+    long[] copyWords() {
+        return words.clone();
+    }
+
+    /**
+     * Compares this set to the specified object for equality.
+     *
+     * @param obj the object to compare with this set
+     * @return true if the specified object is a set of the same codes, false otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || obj.getClass() != this.getClass()) {
+            return false;
+        }
+
+        return Arrays.equals(this.words, ((CandidateSet) obj).words);
+    }
+
+    /**
+     * Returns the hash code value for this set, derived from its bitset.
+     *
+     * @return the hash code value for this set
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "CandidateSet of " + size() + " codes";
+    }
+}
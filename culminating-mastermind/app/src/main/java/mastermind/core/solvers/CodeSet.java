@@ -0,0 +1,591 @@
+package mastermind.core.solvers;
+
+import mastermind.core.GameConfig;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * A set of code indices of a board of any size, whose representation adapts to its cardinality and density.
+ * <p>
+ * The codes are held in whichever of three containers takes the least memory:
+ * <ul>
+ *     <li>{@link Representation#BITSET}: one bit per code of the board, for dense sets;</li>
+ *     <li>{@link Representation#SORTED}: the sorted code indices, as an {@code int[]} if the indices of the board
+ *     fit into an {@code int}, see {@link GameConfig#packing()}, and as a {@code long[]} otherwise, for sparse
+ *     sets;</li>
+ *     <li>{@link Representation#RUNS}: the sorted ranges of consecutive codes, for sets made of long runs, such
+ *     as the set of every code.</li>
+ * </ul>
+ * The representation is chosen again every time the set is filtered, and {@link #memoryFootprint()} reports the
+ * bytes it takes, so the memory of a game can be capped.
+ * <p>
+ * Codes are looked up by rank, e.g., to sample the set, through a small index of the number of codes before every
+ * block of {@link #BLOCK_WORDS} words of the bitset, or before every range, built on the first lookup after the
+ * set is filtered. A lookup thus takes a binary search and a scan of at most one block, instead of a scan of the
+ * whole set.
+ * <p>
+ * Unlike {@link CandidateSet}, which is a bitset with precomputed masks for the default board, this set does not
+ * depend on any table, so it works on any {@link GameConfig}.
+ */
+public class CodeSet {
+    /**
+     * The container a set is held in.
+     */
+    public enum Representation {
+        /**
+         * One bit per code of the board.
+         */
+        BITSET,
+
+        /**
+         * The sorted code indices.
+         */
+        SORTED,
+
+        /**
+         * The sorted ranges of consecutive code indices.
+         */
+        RUNS
+    }
+
+    /**
+     * Bytes of the header of an array object.
+     */
+    private static final long ARRAY_HEADER = 16;
+
+    /**
+     * Bytes of the fields of a set object, without its arrays.
+     */
+    private static final long OBJECT_SIZE = 48;
+
+    /**
+     * Number of words of {@link Representation#BITSET} per entry of the rank index, see {@link #ranks}.
+     */
+    private static final int BLOCK_WORDS = 64;
+
+    /**
+     * Largest length of an array, so larger containers are never chosen.
+     */
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The number of codes of the board.
+     */
+    private final long universe;
+
+    /**
+     * Whether the code indices need a {@code long}, so the sorted container is a {@code long[]}.
+     */
+    private final boolean wide;
+
+    /**
+     * The container the set is held in.
+     */
+    private Representation representation = Representation.RUNS;
+
+    /**
+     * The bitset of {@link Representation#BITSET}, or null.
+     */
+    private long[] words = null;
+
+    /**
+     * The sorted indices of {@link Representation#SORTED} when they fit into an {@code int}, or null.
+     */
+    private int[] ints = null;
+
+    /**
+     * The sorted indices of {@link Representation#SORTED} when they need a {@code long}, or the ranges of
+     * {@link Representation#RUNS} as pairs of first index (inclusive) and last index (exclusive), or null.
+     */
+    private long[] longs = new long[0];
+
+    /**
+     * The number of elements of {@link #ints} or {@link #longs} in use: indices for
+     * {@link Representation#SORTED}, or ranges for {@link Representation#RUNS}.
+     */
+    private int used = 0;
+
+    /**
+     * The number of codes in the set.
+     */
+    private long size = 0;
+
+    /**
+     * The rank index: the number of codes before every block of {@link #BLOCK_WORDS} words of
+     * {@link Representation#BITSET}, or before every range of {@link Representation#RUNS}; or null until the
+     * first lookup by rank since the set was filtered.
+     */
+    private long[] ranks = null;
+
+    /**
+     * Constructs an empty set of codes of a board.
+     *
+     * @param universe The number of codes of the board.
+     * @param wide     Whether the code indices need a {@code long}.
+     */
+    private CodeSet(final long universe, final boolean wide) {
+        this.universe = universe;
+        this.wide = wide;
+    }
+
+    /**
+     * Creates a set containing every code of a board, a single range.
+     *
+     * @param config The dimensions of the board.
+     * @return A new set of all codes.
+     */
+    public static CodeSet all(final GameConfig config) {
+        final CodeSet set = empty(config);
+        set.longs = new long[]{0, config.totalCodes()};
+        set.used = 1;
+        set.size = config.totalCodes();
+
+        return set;
+    }
+
+    /**
+     * Creates an empty set of codes of a board.
+     *
+     * @param config The dimensions of the board.
+     * @return A new empty set.
+     */
+    public static CodeSet empty(final GameConfig config) {
+        return new CodeSet(config.totalCodes(), config.packing() == GameConfig.Packing.LONG);
+    }
+
+    /**
+     * Takes a snapshot of this set, which later filtering of either set does not affect.
+     * <p>
+     * Filtering replaces the containers rather than modifying them, so they are shared instead of copied, and a
+     * snapshot takes constant time and memory.
+     *
+     * @return A snapshot of this set.
+     */
+    public CodeSet snapshot() {
+        final CodeSet snapshot = new CodeSet(universe, wide);
+        snapshot.representation = representation;
+        snapshot.words = words;
+        snapshot.ints = ints;
+        snapshot.longs = longs;
+        snapshot.used = used;
+        snapshot.size = size;
+        snapshot.ranks = ranks;
+
+        return snapshot;
+    }
+
+    /**
+     * Removes every code that does not satisfy a condition, and picks the representation that takes the least
+     * memory for the codes left.
+     *
+     * @param condition The condition on the code indices to keep.
+     */
+    public void retainIf(final LongPredicate condition) {
+        final CodeSet retained = new CodeSet(universe, wide);
+
+        forEach(code -> {
+            if (condition.test(code)) {
+                retained.append(code);
+            }
+        });
+        retained.compact();
+
+        representation = retained.representation;
+        words = retained.words;
+        ints = retained.ints;
+        longs = retained.longs;
+        used = retained.used;
+        size = retained.size;
+        ranks = null;
+    }
+
+    /**
+     * Whether this set contains a code.
+     *
+     * @param code The index of the code.
+     * @return true if the code is in the set, and false otherwise.
+     */
+    public boolean contains(final long code) {
+        if (code < 0 || code >= universe) {
+            return false;
+        }
+
+        return switch (representation) {
+            case BITSET -> (words[(int) (code >>> 6)] & (1L << code)) != 0;
+            case SORTED -> wide
+                ? Arrays.binarySearch(longs, 0, used, code) >= 0
+                : Arrays.binarySearch(ints, 0, used, (int) code) >= 0;
+            case RUNS -> {
+                final int run = findRun(code);
+                yield run >= 0 && code < longs[2 * run + 1];
+            }
+        };
+    }
+
+    /**
+     * Retrieves the code of a given rank, i.e., the code with {@code rank} smaller codes in the set.
+     *
+     * @param rank The rank of the code, from 0 to {@link #size()} - 1.
+     * @return The index of the code.
+     * @throws NoSuchElementException If the rank is out of range.
+     */
+    public long get(long rank) {
+        if (rank < 0 || rank >= size) {
+            throw new NoSuchElementException("Rank out of range: " + rank);
+        }
+
+        switch (representation) {
+            case BITSET -> {
+                // skip whole blocks, then whole words, then the lowest set bits of the word of the code
+                final int block = floor(ranks(), rank);
+                rank -= ranks[block];
+
+                for (int i = block * BLOCK_WORDS; ; ++i) {
+                    final int count = Long.bitCount(words[i]);
+                    if (rank < count) {
+                        long word = words[i];
+                        for (; rank > 0; --rank) {
+                            word &= word - 1;
+                        }
+
+                        return (long) i * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    }
+
+                    rank -= count;
+                }
+            }
+            case SORTED -> {
+                return wide ? longs[(int) rank] : ints[(int) rank];
+            }
+            default -> {
+                final int run = floor(ranks(), rank);
+                return longs[2 * run] + rank - ranks[run];
+            }
+        }
+    }
+
+    /**
+     * Counts the codes in this set.
+     *
+     * @return The number of codes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Whether this set is empty.
+     *
+     * @return true if there are no codes, and false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves the container this set is held in.
+     *
+     * @return The representation of this set.
+     */
+    public Representation getRepresentation() {
+        return representation;
+    }
+
+    /**
+     * Estimates the memory taken by this set, including its arrays.
+     *
+     * @return The footprint in bytes.
+     */
+    public long memoryFootprint() {
+        return OBJECT_SIZE + containerBytes() + (ranks == null ? 0 : ARRAY_HEADER + (long) ranks.length * Long.BYTES);
+    }
+
+    /**
+     * Performs an action on every code of this set, in ascending order of index.
+     *
+     * @param action The action on the code indices.
+     */
+    public void forEach(final LongConsumer action) {
+        switch (representation) {
+            case BITSET -> {
+                for (int i = 0; i < words.length; ++i) {
+                    for (long word = words[i]; word != 0; word &= word - 1) {
+                        action.accept((long) i * Long.SIZE + Long.numberOfTrailingZeros(word));
+                    }
+                }
+            }
+            case SORTED -> {
+                for (int i = 0; i < used; ++i) {
+                    action.accept(wide ? longs[i] : ints[i]);
+                }
+            }
+            case RUNS -> {
+                for (int run = 0; run < used; ++run) {
+                    for (long code = longs[2 * run]; code < longs[2 * run + 1]; ++code) {
+                        action.accept(code);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the codes of this set in ascending order of index.
+     *
+     * @return A new array of the code indices.
+     * @throws IllegalStateException If the set has more codes than an array can hold.
+     */
+    public long[] toArray() {
+        if (size > MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Too many codes for an array: " + size);
+        }
+
+        final long[] codes = new long[(int) size];
+        final int[] i = {0};
+        forEach(code -> codes[i[0]++] = code);
+
+        return codes;
+    }
+
+    /**
+     * Appends a code greater than every code of this set, while the set is being built, converting the set to a
+     * sorted list once its runs are mostly single codes, and to a bitset once it would take more memory than one.
+     *
+     * @param code The index of the code.
+     */
+    private void append(final long code) {
+        appendTo(code);
+
+        if (representation == Representation.RUNS && runsBytes(used) > 2 * sortedBytes(size)) {
+            convert(Representation.SORTED);
+        }
+
+        if (representation != Representation.BITSET && containerBytes() > bitsetBytes()) {
+            convert(Representation.BITSET);
+        }
+    }
+
+    /**
+     * Appends a code greater than every code of this set, without changing the representation.
+     *
+     * @param code The index of the code.
+     */
+    private void appendTo(final long code) {
+        switch (representation) {
+            case BITSET -> words[(int) (code >>> 6)] |= 1L << code;
+            case SORTED -> {
+                if (wide) {
+                    longs = grow(longs, used + 1);
+                    longs[used] = code;
+                } else {
+                    if (ints.length == used) {
+                        ints = Arrays.copyOf(ints, Math.max(16, 2 * used));
+                    }
+                    ints[used] = (int) code;
+                }
+                ++used;
+            }
+            case RUNS -> {
+                if (used > 0 && longs[2 * used - 1] == code) {
+                    ++longs[2 * used - 1]; // extend the last range
+                } else {
+                    longs = grow(longs, 2 * used + 2);
+                    longs[2 * used] = code;
+                    longs[2 * used + 1] = code + 1;
+                    ++used;
+                }
+            }
+        }
+
+        ++size;
+    }
+
+    /**
+     * Converts this set to the representation that takes the least memory, and trims its arrays.
+     */
+    private void compact() {
+        // count the ranges of consecutive codes, whatever the current representation
+        final long[] runs = {0, -2}; // the number of ranges, and the last code
+        forEach(code -> {
+            if (code != runs[1] + 1) {
+                ++runs[0];
+            }
+            runs[1] = code;
+        });
+
+        final long runsBytes = runsBytes(runs[0]);
+        final long sortedBytes = sortedBytes(size);
+
+        if (runsBytes <= sortedBytes && runsBytes <= bitsetBytes()) {
+            convert(Representation.RUNS);
+        } else if (sortedBytes <= bitsetBytes()) {
+            convert(Representation.SORTED);
+        } else {
+            convert(Representation.BITSET);
+        }
+
+        if (representation == Representation.SORTED && !wide) {
+            ints = Arrays.copyOf(ints, used);
+        } else if (representation != Representation.BITSET) {
+            longs = Arrays.copyOf(longs, representation == Representation.RUNS ? 2 * used : used);
+        }
+    }
+
+    /**
+     * Rebuilds this set in another representation.
+     *
+     * @param target The representation to convert to.
+     */
+    private void convert(final Representation target) {
+        if (representation == target) {
+            return;
+        }
+
+        final CodeSet converted = new CodeSet(universe, wide);
+        converted.representation = target;
+        converted.words = target == Representation.BITSET ? new long[(int) ((universe + 63) / Long.SIZE)] : null;
+        converted.ints = target == Representation.SORTED && !wide ? new int[0] : null;
+        forEach(converted::appendTo);
+
+        representation = target;
+        words = converted.words;
+        ints = converted.ints;
+        longs = converted.longs;
+        used = converted.used;
+    }
+
+    /**
+     * Retrieves the rank index, building it if the set was filtered since the last lookup.
+     *
+     * @return The number of codes before every block of the bitset, or before every range.
+     */
+    private long[] ranks() {
+        if (ranks == null) {
+            if (representation == Representation.BITSET) {
+                ranks = new long[(words.length + BLOCK_WORDS - 1) / BLOCK_WORDS];
+                long count = 0;
+
+                for (int i = 0; i < words.length; ++i) {
+                    if (i % BLOCK_WORDS == 0) {
+                        ranks[i / BLOCK_WORDS] = count;
+                    }
+                    count += Long.bitCount(words[i]);
+                }
+            } else {
+                ranks = new long[used];
+                long count = 0;
+
+                for (int run = 0; run < used; ++run) {
+                    ranks[run] = count;
+                    count += longs[2 * run + 1] - longs[2 * run];
+                }
+            }
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Finds the last entry of the rank index at or before a rank, i.e., the block or range of the code of that
+     * rank.
+     *
+     * @param ranks The rank index, in ascending order.
+     * @param rank  The rank of the code.
+     * @return The position of the entry.
+     */
+    private static int floor(final long[] ranks, final long rank) {
+        int low = 0;
+        int high = ranks.length - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (ranks[middle] <= rank) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return high;
+    }
+
+    /**
+     * Finds the last range of {@link Representation#RUNS} starting at or before a code.
+     *
+     * @param code The index of the code.
+     * @return The position of the range, or -1 if every range starts after the code.
+     */
+    private int findRun(final long code) {
+        int low = 0;
+        int high = used - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (longs[2 * middle] <= code) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return high;
+    }
+
+    /**
+     * Computes the bytes of the current container.
+     *
+     * @return The bytes of the container of {@link #representation}.
+     */
+    private long containerBytes() {
+        return switch (representation) {
+            case BITSET -> bitsetBytes();
+            case SORTED -> sortedBytes(size);
+            case RUNS -> runsBytes(used);
+        };
+    }
+
+    /**
+     * Computes the bytes of the bitset container.
+     *
+     * @return The bytes of a bitset over every code of the board, or {@link Long#MAX_VALUE} if it is too large
+     * for an array.
+     */
+    private long bitsetBytes() {
+        final long length = (universe + Long.SIZE - 1) / Long.SIZE;
+        return length > MAX_ARRAY_LENGTH ? Long.MAX_VALUE : ARRAY_HEADER + length * Long.BYTES;
+    }
+
+    /**
+     * Computes the bytes of the sorted container.
+     *
+     * @param count The number of codes.
+     * @return The bytes of the sorted code indices, or {@link Long#MAX_VALUE} if they are too many for an array.
+     */
+    private long sortedBytes(final long count) {
+        return count > MAX_ARRAY_LENGTH ? Long.MAX_VALUE : ARRAY_HEADER + count * (wide ? Long.BYTES : Integer.BYTES);
+    }
+
+    /**
+     * Computes the bytes of the run container.
+     *
+     * @param runs The number of ranges.
+     * @return The bytes of the ranges.
+     */
+    private static long runsBytes(final long runs) {
+        return ARRAY_HEADER + runs * 2 * Long.BYTES;
+    }
+
+    /**
+     * Grows an array to hold at least a given number of elements, doubling its length.
+     *
+     * @param array  The array.
+     * @param length The number of elements needed.
+     * @return The array, or a larger copy of it.
+     */
+    private static long[] grow(final long[] array, final int length) {
+        return array.length >= length ? array : Arrays.copyOf(array, Math.max(16, Math.max(length, 2 * array.length)));
+    }
+}
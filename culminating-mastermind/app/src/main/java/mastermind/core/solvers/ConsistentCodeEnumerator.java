@@ -0,0 +1,286 @@
+package mastermind.core.solvers;
+
+import mastermind.core.GameConfig;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Enumerates the codes consistent with a history of guesses and responses, one at a time, in lexicographic
+ * order, without materializing the code space.
+ * <p>
+ * Codes are built position by position in a depth-first search. After each color is placed, every past guess
+ * is checked against bounds on the black and white pegs the partial code can still reach: the black pegs
+ * so far can only grow by the positions left, and so can the colors in common with the guess. A partial code
+ * whose bounds exclude the actual response of any guess is pruned with all of its completions.
+ * <p>
+ * The search keeps the code being built and, per guess, the color counts and pegs reached so far, so its
+ * memory is proportional to the code length and the history, not to the number of codes. Constraints may be
+ * added between codes, and the enumeration then resumes where it left off, as a new constraint only removes
+ * codes.
+ * <p>
+ * The enumeration can be taken back to an earlier {@link Mark}, dropping the constraints added since. Every code
+ * before the marked position was ruled out by the constraints that are kept, so the enumeration resumes from
+ * there without searching those codes again.
+ */
+public class ConsistentCodeEnumerator implements Iterator<int[]> {
+    /**
+     * The dimensions of the board.
+     */
+    private final GameConfig config;
+
+    /**
+     * The number of positions of a code.
+     */
+    private final int codeLength;
+
+    /**
+     * The number of colors.
+     */
+    private final int totalColors;
+
+    /**
+     * The colors of every guess, in order.
+     */
+    private final List<int[]> guesses = new ArrayList<>();
+
+    /**
+     * The number of times each color occurs in every guess, in order.
+     */
+    private final List<int[]> guessColorCounts = new ArrayList<>();
+
+    /**
+     * The black pegs of the response to every guess, in order.
+     */
+    private final List<Integer> blackPegs = new ArrayList<>();
+
+    /**
+     * The black and white pegs of the response to every guess, i.e., the colors in common, in order.
+     */
+    private final List<Integer> commonPegs = new ArrayList<>();
+
+    /**
+     * The code being built by the search.
+     */
+    private final int[] code;
+
+    /**
+     * The number of times each color occurs in the placed positions of {@link #code}.
+     */
+    private final int[] colorCounts;
+
+    /**
+     * The smallest code that has not been ruled out yet, or null once every code has been ruled out.
+     */
+    private int[] lowerBound;
+
+    /**
+     * Whether {@link #lowerBound} is known to be consistent.
+     */
+    private boolean found = false;
+
+    /**
+     * A position of the enumeration, see {@link #mark()}.
+     *
+     * @param constraints The number of constraints added before the mark.
+     * @param lowerBound  The smallest code that had not been ruled out, or null if every code had been.
+     * @param found       Whether the lower bound was known to be consistent.
+     */
+    public record Mark(int constraints, int[] lowerBound, boolean found) {
+    }
+
+    /**
+     * Constructs an enumerator of the codes of the default board, see {@link GameConfig#DEFAULT}.
+     */
+    public ConsistentCodeEnumerator() {
+        this(GameConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs an enumerator of the codes of a board of any size.
+     *
+     * @param config The dimensions of the board.
+     */
+    public ConsistentCodeEnumerator(final GameConfig config) {
+        this.config = config;
+        this.codeLength = config.codeLength();
+        this.totalColors = config.totalColors();
+        this.code = new int[codeLength];
+        this.colorCounts = new int[totalColors];
+        this.lowerBound = new int[codeLength]; // the smallest code, all of the first color
+    }
+
+    /**
+     * Adds a guess and its response to the history. The enumeration resumes from the last code returned, so
+     * only codes after it that are consistent with the whole history are returned.
+     *
+     * @param guess The colors of the guess.
+     * @param black The number of black pegs of the response.
+     * @param white The number of white pegs of the response.
+     * @throws IllegalArgumentException If the guess or the response does not fit the board.
+     */
+    public void addConstraint(final int[] guess, final int black, final int white) {
+        config.requireCode(guess);
+        if (black < 0 || white < 0 || black + white > codeLength) {
+            throw new IllegalArgumentException("Invalid response: black " + black + ", white " + white);
+        }
+
+        final int[] counts = new int[totalColors];
+        for (final int color : guess) {
+            ++counts[color];
+        }
+
+        guesses.add(guess.clone());
+        guessColorCounts.add(counts);
+        blackPegs.add(black);
+        commonPegs.add(black + white);
+
+        found = false; // the next code must be checked against the new constraint
+    }
+
+    /**
+     * Marks the current position of the enumeration and the constraints added so far.
+     *
+     * @return The mark, to be passed to {@link #reset(Mark)}.
+     */
+    public Mark mark() {
+        return new Mark(guesses.size(), lowerBound == null ? null : lowerBound.clone(), found);
+    }
+
+    /**
+     * Takes the enumeration back to a mark, dropping the constraints added since. The codes returned since the
+     * mark are returned again if they are consistent with the constraints that are kept.
+     *
+     * @param mark A mark taken earlier from this enumerator.
+     * @throws IllegalArgumentException If the mark has more constraints than the enumerator.
+     */
+    public void reset(final Mark mark) {
+        final int constraints = mark.constraints();
+        if (constraints > guesses.size()) {
+            throw new IllegalArgumentException("Cannot reset to " + constraints + " constraints, "
+                + guesses.size() + " were added.");
+        }
+
+        guesses.subList(constraints, guesses.size()).clear();
+        guessColorCounts.subList(constraints, guessColorCounts.size()).clear();
+        blackPegs.subList(constraints, blackPegs.size()).clear();
+        commonPegs.subList(constraints, commonPegs.size()).clear();
+
+        lowerBound = mark.lowerBound() == null ? null : mark.lowerBound().clone();
+        found = mark.found();
+    }
+
+    /**
+     * Whether another consistent code remains.
+     *
+     * @return true if {@link #next()} would return a code, and false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+        if (!found && lowerBound != null) {
+            found = search(0, true, new int[guesses.size()], new int[guesses.size()]);
+
+            if (found) {
+                System.arraycopy(code, 0, lowerBound, 0, codeLength);
+            } else {
+                lowerBound = null;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Retrieves the next consistent code in lexicographic order, i.e., in ascending order of code index.
+     *
+     * @return The colors of the code.
+     * @throws NoSuchElementException If no consistent code remains.
+     */
+    @Override
+    public int[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No consistent code remains.");
+        }
+
+        final int[] next = lowerBound.clone();
+        found = false;
+        lowerBound = increment(lowerBound);
+
+        return next;
+    }
+
+    /**
+     * Places a color at a position and every following position, and returns at the first consistent code
+     * not before {@link #lowerBound}.
+     *
+     * @param position The position to place a color at.
+     * @param tight    Whether the placed positions equal those of {@link #lowerBound}, so the colors before the
+     *                 bound must be skipped.
+     * @param black    The black pegs of the placed positions with every guess.
+     * @param common   The colors in common between the placed positions and every guess.
+     * @return true if a consistent code was found, which is left in {@link #code}, and false otherwise.
+     */
+    private boolean search(final int position, final boolean tight, final int[] black, final int[] common) {
+        final int remaining = codeLength - position - 1; // positions left after this one
+
+        for (int color = tight ? lowerBound[position] : 0; color < totalColors; ++color) {
+            code[position] = color;
+
+            // Place the color, and prune if a response can no longer be reached.
+            boolean feasible = true;
+            for (int i = 0; i < guesses.size(); ++i) {
+                if (guesses.get(i)[position] == color) {
+                    ++black[i];
+                }
+
+                if (colorCounts[color] < guessColorCounts.get(i)[color]) {
+                    ++common[i];
+                }
+
+                feasible &= black[i] <= blackPegs.get(i) && black[i] + remaining >= blackPegs.get(i)
+                    && common[i] <= commonPegs.get(i) && common[i] + remaining >= commonPegs.get(i);
+            }
+            ++colorCounts[color];
+
+            if (feasible && (remaining == 0
+                || search(position + 1, tight && color == lowerBound[position], black, common))) {
+                --colorCounts[color]; // leave the counters of the placed positions as they were
+                return true;
+            }
+
+            // Remove the color again before trying the next one.
+            --colorCounts[color];
+            for (int i = 0; i < guesses.size(); ++i) {
+                if (guesses.get(i)[position] == color) {
+                    --black[i];
+                }
+
+                if (colorCounts[color] < guessColorCounts.get(i)[color]) {
+                    --common[i];
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Computes the code following a code in lexicographic order.
+     *
+     * @param code The colors of the code, modified in place.
+     * @return The following code, or null if the code was the last.
+     */
+    private int[] increment(final int[] code) {
+        for (int position = codeLength - 1; position >= 0; --position) {
+            if (++code[position] < totalColors) {
+                return code;
+            }
+
+            code[position] = 0; // carry to the previous position
+        }
+
+        return null;
+    }
+}
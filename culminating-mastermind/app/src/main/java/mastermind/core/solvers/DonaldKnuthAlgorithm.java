@@ -10,13 +10,18 @@ import mastermind.Mastermind;
 import mastermind.core.Code;
 import mastermind.core.CodeFactory;
 import mastermind.core.Response;
-import mastermind.utils.MathUtil;
 import mastermind.utils.Tuple2;
 
-import java.util.*;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An implementation of the Donald Knuth algorithm for solving the Mastermind game.
+ * <p>
+ * A snapshot of the permutations is saved before every response, so responses can be undone, see
+ * {@link #undo(int)}.
  */
 public class DonaldKnuthAlgorithm extends MastermindAlgorithm {
 
@@ -25,32 +30,96 @@ public class DonaldKnuthAlgorithm extends MastermindAlgorithm {
      */
     private Code previousGuess = null;
 
+    /**
+     * The indices of every guess made by the algorithm, in order.
+     */
+    private int[] history = new int[0];
+
     /**
      * A set containing all possible permutations of the secret code.
      */
-    private HashSet<Code> permutations;
+    private CandidateSet permutations;
+
+    /**
+     * The minimax search used to find the next guess.
+     */
+    private final GuessSearch search;
+
+    /**
+     * The cache of next guesses shared by all instances that do not specify their own.
+     */
+    private static final TranspositionCache SHARED_CACHE = new TranspositionCache();
+
+    /**
+     * The cache of next guesses by remaining permutations, or null to always search.
+     */
+    private final TranspositionCache cache;
+
+    /**
+     * The precomputed decision tree to play from, or null to always search.
+     */
+    private final OpeningBook book;
+
+    /**
+     * The node of {@link #book} of the previous guess, or -1 once the game has left the book.
+     */
+    private int bookNode;
 
     /**
      * Constructs a new instance of the `DonaldKnuthAlgorithm` class.
      * <p>
      * This constructor initializes the algorithm by generating all possible permutations of the secret code,
-     * as required by Donald Knuth's Mastermind solving algorithm.
+     * as required by Donald Knuth's Mastermind solving algorithm. Guesses are played from the default
+     * {@link OpeningBook} if it is available, and otherwise searched in parallel on the common {@link ForkJoinPool}.
      */
     public DonaldKnuthAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new instance of the `DonaldKnuthAlgorithm` class that searches for the next guess on the given pool.
+     *
+     * @param pool The pool to split the guess space across, or null to search on the calling thread.
+     */
+    public DonaldKnuthAlgorithm(final ForkJoinPool pool) {
+        this(pool, OpeningBook.getDefault());
+    }
+
+    /**
+     * Constructs a new instance of the `DonaldKnuthAlgorithm` class that plays from the given opening book, and
+     * searches for the next guess on the given pool once the game leaves the book.
+     *
+     * @param pool The pool to split the guess space across, or null to search on the calling thread.
+     * @param book The opening book to play from, or null to always search.
+     */
+    public DonaldKnuthAlgorithm(final ForkJoinPool pool, final OpeningBook book) {
+        this(pool, book, SHARED_CACHE);
+    }
+
+    /**
+     * Constructs a new instance of the `DonaldKnuthAlgorithm` class that plays from the given opening book, then
+     * looks up the next guess in the given cache, and searches for it on the given pool on a cache miss.
+     *
+     * @param pool  The pool to split the guess space across, or null to search on the calling thread.
+     * @param book  The opening book to play from, or null to always search.
+     * @param cache The cache of next guesses, or null to always search.
+     */
+    public DonaldKnuthAlgorithm(final ForkJoinPool pool, final OpeningBook book, final TranspositionCache cache) {
+        search = new GuessSearch(pool);
+        this.cache = cache;
+        this.book = book;
+        bookNode = book == null ? -1 : OpeningBook.ROOT;
         generatePermutations();
     }
 
     /**
      * Generates all possible permutations of the secret code.
+     * <p>
+     * The permutations start as a copy-on-write view of the shared universe of codes, so nothing is copied
+     * until the first response narrows them down.
      */
     private void generatePermutations() {
-        final int possibilities = (int) Math.pow(Mastermind.TOTAL_COLORS, Mastermind.CODE_LENGTH); // number of possible permutations
-        permutations = new HashSet<>(possibilities); // initialize permutations to size of possibilities
-
-        for (int i = 0; i < possibilities; ++i) { // iterate through all possible permutations and store in ArrayList colorIndices
-            final ArrayList<Integer> colorIndices = MathUtil.digitsFromBase(i, Mastermind.TOTAL_COLORS, Mastermind.CODE_LENGTH); // color indices: stores a possible permutation of the secret code, and calls digitsFromBase to generate permutations
-            permutations.add(CodeFactory.fromColorIndices(colorIndices)); // adds a code object to permutations
-        }
+        permutations = CandidateSet.all(); // initialize permutations with a view of every code
     }
 
     /**
@@ -67,8 +136,11 @@ public class DonaldKnuthAlgorithm extends MastermindAlgorithm {
 
         hasExceededMaxGuesses(); // checks if max guesses exceeded
 
-        final Code nextGuess = CodeFactory.fromColorIndices(List.of(0, 0, 1, 1)); // initial guess: 0011
+        final Code nextGuess = book == null
+            ? CodeFactory.fromColorIndices(List.of(0, 0, 1, 1)) // initial guess: 0011
+            : CodeFactory.fromIndex(book.getGuess(bookNode)); // the root of the book, which is also 0011
         previousGuess = nextGuess; // sets previousGuess to nextGuess
+        recordGuess(nextGuess);
 
         return nextGuess; // returns initial guess
     }
@@ -102,13 +174,42 @@ public class DonaldKnuthAlgorithm extends MastermindAlgorithm {
      * @throws IllegalCallerException If this method is invoked for the initial guess.
      * @throws InvalidHintsException  If the algorithm encounters an invalid hint during the process.
      */
-    @SuppressWarnings("DuplicatedCode")
     @Override
     public Tuple2<Status, Code> guess(final Response response) throws InvalidHintsException { // guess method for subsequent guesses
+        return guess(response, null); // search without a budget
+    }
+
+    /**
+     * Produces the next guess like {@link #guess(Response)}, but stops searching once the budget has elapsed.
+     * <p>
+     * The candidates are scored first, so the guess is at least a possible secret code. Guesses played from the
+     * opening book or the cache are always complete. Only complete guesses are cached.
+     *
+     * @param response The feedback received for the previous guess.
+     * @param budget   The time to search for the guess, or null for no limit.
+     * @return A {@code Tuple2<Status, Code>} object with the current game status and the next guess to be made.
+     * @throws IllegalCallerException If this method is invoked for the initial guess.
+     * @throws InvalidHintsException  If no permutation is consistent with the hints.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public Tuple2<Status, Code> guess(final Response response, final Duration budget) throws InvalidHintsException {
         if (isInitialGuess()) { // if initial guess: should not be called: invalid
             throw new IllegalCallerException("guess(Response) is meant for subsequent guesses."); // error message: throws exception
         }
 
+        // save the state before the response, so that the response can be undone
+        final CandidateSet savedPermutations = permutations.snapshot();
+        final Code savedGuess = previousGuess;
+        final int[] savedHistory = history;
+        final int savedNode = bookNode;
+        saveCheckpoint(() -> {
+            permutations = savedPermutations;
+            previousGuess = savedGuess;
+            history = savedHistory;
+            bookNode = savedNode;
+        });
+
         final Tuple2<Integer, Integer> validation = response.getResponse(); // Tuple storing number of black and white key pegs
         final int correctCount = validation.first(); // number of black key pegs
 
@@ -122,85 +223,102 @@ public class DonaldKnuthAlgorithm extends MastermindAlgorithm {
         // reduce possible permutations based on the response
         reducePermutations(response);
 
-        final Code nextGuess = findNextGuess(); // find the next best guess and store in Code nextGuess
+        final Code nextGuess = findNextGuess(response, budget); // find the next best guess and store in Code nextGuess
         previousGuess = nextGuess;
+        recordGuess(nextGuess);
 
         return new Tuple2<>(Status.Continue, nextGuess); // return the next guess and status
     }
 
+    /**
+     * Appends a guess to the history, which determines the symmetries left in the guess space.
+     */
+    private void recordGuess(final Code guess) {
+        history = Arrays.copyOf(history, history.length + 1);
+        history[history.length - 1] = guess.getIndex();
+    }
+
     /**
      * Remove from permutations any code that would not give that response of colored and white pegs.
      */
     private void reducePermutations(final Response response) {
         // if the response is not equal to the response of the secret code and the previous guess remove the code from permutations
-        this.permutations.removeIf(permutation -> {
-            final Response testResponse = new Response(permutation, this.previousGuess);
-            return !testResponse.equals(response); // remove if response is not equal to the response of the secret code and the previous guess
-        });
+        this.permutations.retainConsistent(this.previousGuess.getIndex(), response.getIndex());
     }
 
     /**
      * Determines the next best guess for the Mastermind game using the minimax strategy.
      *
      * <p>
-     * This method evaluates all possible code permutations and simulates responses against each potential guess to identify the most optimal guess. The strategy aims to minimize the maximum possible size of groups of remaining codes after a guess-response pair. By doing so, the algorithm ensures that the worst-case scenario yields the smallest group of codes, enabling more efficient resolution of the game.
+     * This method evaluates every code as a potential guess, including codes that can no longer be the secret code, and simulates its responses against every remaining permutation. The strategy aims to minimize the maximum possible size of groups of remaining codes after a guess-response pair. By doing so, the algorithm ensures that the worst-case scenario yields the smallest group of codes, which guarantees a win within 5 guesses.
      *
      * <p>
      * The process is as follows:
-     * 1. For each possible guess from the current permutations, generate all possible responses when compared against every possible assumed secret permutation.
-     * 2. Calculate the frequency of each response for the given guess.
-     * 3. Identify the response with the highest frequency, representing the "max group size" of remaining codes for that guess.
-     * 4. Save the guess along with its maximum group size into a {@code TreeMap}, ensuring guesses are ranked in ascending order by their maximum group size.
-     * 5. Select the guess with the smallest maximum group size as the next optimal guess.
+     * 1. For each possible guess, count the remaining permutations in each response class into a histogram indexed by response index.
+     * 2. Track the size of the largest response class, the "max group size" of remaining codes for that guess. As soon as it exceeds the best max group size so far, the guess cannot be selected, and the rest of its permutations are skipped.
+     * 3. Select the guess with the smallest max group size. Ties are broken in favor of guesses that are still possible secret codes, since they may win right away, and then in favor of the lowest code index, so the result is deterministic.
      *
      * <p>
-     * The selected code is the one that, in the worst case, eliminates the largest number of invalid permutations, thus improving the efficiency of the algorithm in arriving at the correct solution in fewer steps.
+     * The search itself is implemented by {@link GuessSearch}, which splits the guess space across a
+     * {@link ForkJoinPool} and reduces to the same guess as a sequential search. If an {@link OpeningBook} is
+     * available, the guess is looked up in it instead, as long as the book covers the game so far. Otherwise, a
+     * {@link TranspositionCache} is consulted before searching, since many histories leave the same permutations.
+     * On a cache miss, only one guess of every class of guesses that the history cannot tell apart is scored, see
+     * {@link SymmetryReducer}. Since the representatives are the lowest indices of their classes, the result is the
+     * same as scoring every code.
      *
      * <p>
      * Also see this <a href="https://stackoverflow.com/a/62430592/20143641">Stack Overflow Answer</a>.
      *
+     * @param response The response to the previous guess.
+     * @param budget   The time to search for the guess, or null for no limit.
      * @return The next optimal code to guess, determined by the minimax strategy.
-     * @throws InvalidHintsException If the algorithm encounters an invalid hint during the process.
+     * @throws InvalidHintsException If no permutation is consistent with the hints.
      */
-    private Code findNextGuess() {
-        TreeMap<Integer, Code> guessScores = new TreeMap<>(); // TreeMap to store the "guess scores" for each remaining code in sorted order
+    private Code findNextGuess(final Response response, final Duration budget) {
+        setCoverage(1.0);
 
-        for (final Code guess : this.permutations) {
-            HashMap<Response, Tuple2<Code, Integer>> responses = new HashMap<>(); // HashMap to store the responses for each permutation and the number of occurrences
+        // follow the book while it covers the game
+        if (bookNode >= 0) {
+            bookNode = book.getChild(bookNode, response.getIndex());
 
-            // for each assumed code, generate a response and store the possible occurrence of that response
-            for (final Code assumedCode : this.permutations) {
-                final Response response = new Response(assumedCode, guess);
-                final int prevOccurrence = responses.getOrDefault(response, new Tuple2<>(null, 0)).second();
-                responses.put(response, new Tuple2<>(assumedCode, prevOccurrence + 1));
+            if (bookNode >= 0) {
+                return CodeFactory.fromIndex(book.getGuess(bookNode));
             }
+        }
 
-            int maxOccurrence = Integer.MIN_VALUE; // initialize maxOccurrence, maximum occurrence of a response
-            Code codeWithMaxOccurrence = null; // initialize codeWithMaxOccurrence, code with maximum occurrence of a response
-
-            // for each response, find the response with the maximum occurrence - the most optimal guess
-            for (final Response response : responses.keySet()) {
-                // get the code and number of  occurrences of the response
-                final Tuple2<Code, Integer> codeAndOccurrence = responses.get(response);
-                final Code code = codeAndOccurrence.first(); // get the code of the response
-                final int occurrence = codeAndOccurrence.second(); // get the number of occurrences of the response
-
-                // if the occurrence is greater than the maximum occurrence set it as the maxOccurrence
-                if (occurrence > maxOccurrence) {
-                    maxOccurrence = occurrence;
-                    codeWithMaxOccurrence = code;
-                }
-            }
+        // find the minimax guess among the representatives, possibly in parallel, unless it is cached
+        if (budget == null) {
+            final int nextGuess = cache == null
+                ? search.findBestGuess(this.permutations, SymmetryReducer.reduce(history))
+                : cache.computeIfAbsent(this.permutations,
+                    candidates -> search.findBestGuess(candidates, SymmetryReducer.reduce(history)));
+
+            return CodeFactory.fromIndex(nextGuess);
+        }
 
-            // store the guess and the maximum occurrence in the TreeMap
-            guessScores.put(maxOccurrence, codeWithMaxOccurrence);
+        final int cached = cache == null ? -1 : cache.get(this.permutations);
+        if (cached >= 0) {
+            return CodeFactory.fromIndex(cached);
         }
 
-        // return the first guess in the TreeMap, which is the most optimal guess
-        try {
-            return guessScores.firstEntry().getValue();
-        } catch (final NullPointerException e) {
-            throw new InvalidHintsException(e.getMessage()); // throw exception
+        // search within the budget, and only cache the guess if every guess was scored
+        final SearchResult result = search.search(this.permutations, SymmetryReducer.reduce(history), budget);
+        setCoverage(result.coverage());
+
+        if (cache != null && result.isComplete()) {
+            cache.put(this.permutations, result.guess());
         }
+
+        return CodeFactory.fromIndex(result.guess());
+    }
+
+    /**
+     * Retrieves the cache of next guesses shared by all instances that do not specify their own.
+     *
+     * @return The shared cache, e.g., to monitor its hit rate.
+     */
+    public static TranspositionCache getSharedCache() {
+        return SHARED_CACHE;
     }
-}
\ No newline at end of file
+}
@@ -10,17 +10,18 @@ import mastermind.Mastermind;
 import mastermind.core.Code;
 import mastermind.core.CodeFactory;
 import mastermind.core.Response;
+import mastermind.utils.RandomSampler;
 import mastermind.utils.Tuple2;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * An implementation of the MastermindAlgorithm class that provides a simple
  * algorithm for solving the Mastermind game, by randomly choosing codes that
  * have not guessed before.
+ * <p>
+ * The next guess does not depend on the responses, so undoing a response only
+ * restores the previous guess, see {@link #undo(int)}.
  */
 public class EasyAlgorithm extends MastermindAlgorithm {
 
@@ -30,26 +31,34 @@ public class EasyAlgorithm extends MastermindAlgorithm {
     private Code previousGuess = null;
 
     /**
-     * A set containing all previous guesses made by the algorithm.
+     * Draws the indices of the codes that have not been guessed before.
      */
-    private final Set<Code> previousGuesses;
+    private final RandomSampler codes;
 
     /**
-     * Constructs a new instance of the `EasyAlgorithm` class.
-     * This constructor initializes the algorithm by instantiating a HashMap to store all previous guesses that the algorithm made.
+     * Constructs a new instance of the `EasyAlgorithm` class with a random seed.
      */
     public EasyAlgorithm() {
-        previousGuesses = new HashSet<>();
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructs a new instance of the `EasyAlgorithm` class.
+     * This constructor initializes the algorithm with a sampler of every code,
+     * which never draws a code twice.
+     *
+     * @param random The source of randomness, which may be seeded for reproducible games.
+     */
+    public EasyAlgorithm(final SplittableRandom random) {
+        codes = new RandomSampler(Code.TOTAL_CODES, random);
     }
 
     /**
      * This simple guess algorithm generates a random guess that has not been
      * made before.
      * <p>
-     * The algorithm generates a random guess by selecting a random color for
-     * each of the four positions in the code. If the generated guess has
-     * already been made, the algorithm generates a new guess until a unique
-     * guess is found.
+     * The algorithm draws a random code among the codes that have not been
+     * guessed yet, see {@link #findNextGuess()}.
      *
      * @return The initial guess to be made by the algorithm.
      */
@@ -67,7 +76,6 @@ public class EasyAlgorithm extends MastermindAlgorithm {
         // Generate a random guess that has not been made before
         Code nextGuess = findNextGuess();
         previousGuess = nextGuess;
-        previousGuesses.add(previousGuess);
 
         return nextGuess; // return the generated guess
     }
@@ -75,10 +83,8 @@ public class EasyAlgorithm extends MastermindAlgorithm {
     /**
      * Determines the next guess for the Mastermind game.
      * <p>
-     * The algorithm generates a random guess by selecting a random color for
-     * each of the four positions in the code. If the generated guess has
-     * already been made, the algorithm generates a new guess until a unique
-     * guess is found.
+     * The algorithm draws a random code among the codes that have not been
+     * guessed yet, see {@link #findNextGuess()}.
      *
      * @param response The response to the previous guess made by the algorithm.
      * @return A tuple containing the status of the game and the next guess to be
@@ -93,6 +99,10 @@ public class EasyAlgorithm extends MastermindAlgorithm {
             throw new IllegalCallerException("guess(Response) is meant for subsequent guesses.");
         }
 
+        // save the state before the response, so that the response can be undone
+        final Code savedGuess = previousGuess;
+        saveCheckpoint(() -> previousGuess = savedGuess);
+
         final Tuple2<Integer, Integer> validation = response.getResponse(); // get the response to the previous guess
         final int correctCount = validation.first(); // get the number of correct colors in the correct positions
 
@@ -112,35 +122,16 @@ public class EasyAlgorithm extends MastermindAlgorithm {
     }
 
     /**
-     * Finds the next guess for the Mastermind game by randomly generating a
-     * code and checking to ensure that it has not been guessed before.
+     * Finds the next guess for the Mastermind game by drawing a random code
+     * without replacement, so no code is guessed twice.
+     * <p>
+     * Every draw takes constant time, as the codes are shuffled lazily, see
+     * {@link RandomSampler}.
      *
      * @return The next guess to be made by the algorithm.
      */
     private Code findNextGuess() {
-        // Generate a random guess that has not been made before
-        Code code;
-        do {
-            code = CodeFactory.fromColorIndices(new ArrayList<>(List.of(
-                getRandomNumber(0, 5),
-                getRandomNumber(0, 5),
-                getRandomNumber(0, 5),
-                getRandomNumber(0, 5))));
-        } while (previousGuesses.contains(code));
-        // add the generated guess to the set of previous guesses
-        previousGuesses.add(code);
-        // return the generated guess
-        return code;
-    }
-
-    /**
-     * Generates a random number within the specified range.
-     *
-     * @param low  The lower bound of the random number.
-     * @param high The upper bound of the random number.
-     * @return A random number within the specified range.
-     */
-    private int getRandomNumber(final int low, final int high) {
-        return (int) (Math.random() * (high - low + 1) + low); // generate a random number within the specified range
+        // Draw the index of a code that has not been guessed before
+        return CodeFactory.fromIndex(codes.next());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package mastermind.core.solvers;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A solver that plays the guess with the maximum Shannon entropy of the response.
+ * <p>
+ * Every guess is expected to reveal as much information about the secret code as possible. See {@link ScoringRule#ENTROPY}.
+ */
+public class EntropyAlgorithm extends PartitionAlgorithm {
+    /**
+     * Constructs a new instance of the `EntropyAlgorithm` class that searches on the common {@link ForkJoinPool}.
+     */
+    public EntropyAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new instance of the `EntropyAlgorithm` class that searches for the next guess on the given pool.
+     *
+     * @param pool The pool to split the guess space across, or null to search on the calling thread.
+     */
+    public EntropyAlgorithm(final ForkJoinPool pool) {
+        super(ScoringRule.ENTROPY, pool);
+    }
+}
@@ -0,0 +1,26 @@
+package mastermind.core.solvers;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A solver that plays the guess that minimizes the expected number of remaining permutations.
+ * <p>
+ * Unlike Knuth's algorithm, which guards against the worst response, every response is weighted by its likelihood. See {@link ScoringRule#EXPECTED_SIZE}.
+ */
+public class ExpectedSizeAlgorithm extends PartitionAlgorithm {
+    /**
+     * Constructs a new instance of the `ExpectedSizeAlgorithm` class that searches on the common {@link ForkJoinPool}.
+     */
+    public ExpectedSizeAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new instance of the `ExpectedSizeAlgorithm` class that searches for the next guess on the given pool.
+     *
+     * @param pool The pool to split the guess space across, or null to search on the calling thread.
+     */
+    public ExpectedSizeAlgorithm(final ForkJoinPool pool) {
+        super(ScoringRule.EXPECTED_SIZE, pool);
+    }
+}
@@ -0,0 +1,40 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+
+/**
+ * The outcome of one game played by a solver, see {@link BatchSolver}.
+ *
+ * @param secretCode The secret code of the game.
+ * @param status     {@link Status#Win} or {@link Status#Lose} if the game was played to the end, or null if it
+ *                   failed.
+ * @param guesses    The number of guesses made.
+ * @param nanos      The time taken by the game, including the construction of the solver, in nanoseconds.
+ * @param allocated  The bytes allocated by the thread of the game, or -1 if the JVM does not measure them.
+ *                   Allocations by other threads the solver searches on are not included.
+ * @param failure    The exception or error thrown by the solver, or null if the game was played to the end.
+ */
+public record GameResult(Code secretCode,
+                         Status status,
+                         int guesses,
+                         long nanos,
+                         long allocated,
+                         Throwable failure) {
+    /**
+     * Whether the secret code was found.
+     *
+     * @return true if the game was won, and false if it was lost or failed.
+     */
+    public boolean isWin() {
+        return status == Status.Win;
+    }
+
+    /**
+     * Whether the solver threw an exception or error instead of finishing the game.
+     *
+     * @return true if the game failed, and false otherwise.
+     */
+    public boolean isFailure() {
+        return failure != null;
+    }
+}
@@ -0,0 +1,497 @@
+package mastermind.core.solvers;
+
+import mastermind.core.GameConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * An evolutionary solver, after Berghman, Goossens and Leus, "Efficient solutions for Mastermind using genetic
+ * algorithms" (2009).
+ * <p>
+ * Every move, a population of codes is evolved towards codes that are eligible, i.e., that would have given the
+ * same response to every guess so far. The fitness of a code is how far its responses to the past guesses are
+ * from the actual responses, so eligible codes have a fitness of 0. New codes are bred by one- or two-point
+ * crossover of fit parents, then mutated (a random color), permuted (two positions swapped) and inverted (a
+ * segment reversed) with small probabilities. The eligible codes found are collected, and the one that would
+ * leave the fewest of the others on average is played.
+ * <p>
+ * Codes are held as arrays of colors, so memory only grows with the population, not the code space, and any
+ * {@link GameConfig} can be played, see {@link BoardAlgorithm}. Fitness is evaluated in parallel on a
+ * {@link ForkJoinPool}.
+ */
+public class GeneticAlgorithm extends BoardAlgorithm {
+    /**
+     * Default number of codes in the population.
+     */
+    public static final int DEFAULT_POPULATION_SIZE = 150;
+
+    /**
+     * Default number of generations evolved per move.
+     */
+    public static final int DEFAULT_MAX_GENERATIONS = 100;
+
+    /**
+     * Number of eligible codes after which the evolution of a move stops.
+     */
+    private static final int MAX_ELIGIBLE = 60;
+
+    /**
+     * Number of times the generation limit may be restarted when no eligible code was found.
+     */
+    private static final int MAX_RESTARTS = 20;
+
+    /**
+     * Weight of the black pegs in the fitness, since they are the stronger constraint.
+     */
+    private static final int BLACK_WEIGHT = 2;
+
+    /**
+     * Probability that a child is bred by one-point crossover, rather than two-point crossover.
+     */
+    private static final double ONE_POINT_CROSSOVER = 0.5;
+
+    /**
+     * Probability that a child has one of its colors replaced by a random color.
+     */
+    private static final double MUTATION = 0.03;
+
+    /**
+     * Probability that a child has two of its positions swapped.
+     */
+    private static final double PERMUTATION = 0.03;
+
+    /**
+     * Probability that a child has a segment of its positions reversed.
+     */
+    private static final double INVERSION = 0.02;
+
+    /**
+     * Number of codes below which fitness is evaluated sequentially.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 32;
+
+    /**
+     * The number of codes in the population.
+     */
+    private final int populationSize;
+
+    /**
+     * The number of generations evolved per move, before restarting.
+     */
+    private final int maxGenerations;
+
+    /**
+     * The pool to evaluate fitness in, or null to evaluate on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The source of randomness of the evolution.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The colors of every guess made by the algorithm, in order.
+     */
+    private final List<int[]> guesses = new ArrayList<>();
+
+    /**
+     * The black pegs of the response to every guess, in order.
+     */
+    private final List<Integer> blackPegs = new ArrayList<>();
+
+    /**
+     * The white pegs of the response to every guess, in order.
+     */
+    private final List<Integer> whitePegs = new ArrayList<>();
+
+    /**
+     * Constructs a new instance of the `GeneticAlgorithm` class with the default limits, evaluating fitness on the
+     * common {@link ForkJoinPool}.
+     */
+    public GeneticAlgorithm() {
+        this(DEFAULT_POPULATION_SIZE, DEFAULT_MAX_GENERATIONS, ForkJoinPool.commonPool(),
+            new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new instance of the `GeneticAlgorithm` class for the default board.
+     *
+     * @param populationSize The number of codes in the population, at least 2.
+     * @param maxGenerations The number of generations evolved per move, at least 1.
+     * @param pool           The pool to evaluate fitness in, or null to evaluate on the calling thread.
+     * @param seed           The seed of the evolution, for reproducible games.
+     * @throws IllegalArgumentException If a limit is too small.
+     */
+    public GeneticAlgorithm(final int populationSize,
+                            final int maxGenerations,
+                            final ForkJoinPool pool,
+                            final long seed) {
+        this(GameConfig.DEFAULT, populationSize, maxGenerations, pool, seed);
+    }
+
+    /**
+     * Constructs a new instance of the `GeneticAlgorithm` class.
+     *
+     * @param config         The dimensions of the board, and the number of guesses.
+     * @param populationSize The number of codes in the population, at least 2.
+     * @param maxGenerations The number of generations evolved per move, at least 1.
+     * @param pool           The pool to evaluate fitness in, or null to evaluate on the calling thread.
+     * @param seed           The seed of the evolution, for reproducible games.
+     * @throws IllegalArgumentException If a limit is too small.
+     */
+    public GeneticAlgorithm(final GameConfig config,
+                            final int populationSize,
+                            final int maxGenerations,
+                            final ForkJoinPool pool,
+                            final long seed) {
+        super(config);
+
+        if (populationSize < 2 || maxGenerations < 1) {
+            throw new IllegalArgumentException("Population size must be at least 2 and generations at least 1: "
+                + populationSize + ", " + maxGenerations);
+        }
+
+        this.populationSize = populationSize;
+        this.maxGenerations = maxGenerations;
+        this.pool = pool;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Produces the next guess, evolving the population until enough eligible codes are found.
+     *
+     * @param previousGuess The colors of the previous guess.
+     * @param black         The black pegs of the response to the previous guess.
+     * @param white         The white pegs of the response to the previous guess.
+     * @param budget        Ignored, the evolution is bounded by the number of generations instead.
+     * @return The colors of the next guess.
+     */
+    @Override
+    protected int[] findNextGuess(final int[] previousGuess,
+                                  final int black,
+                                  final int white,
+                                  final Duration budget) {
+        guesses.add(previousGuess.clone());
+        blackPegs.add(black);
+        whitePegs.add(white);
+
+        return selectGuess(evolveEligible());
+    }
+
+    /**
+     * Saves the length of the history, which only grows, so that the responses after it can be dropped.
+     *
+     * @return Restores the history to its saved length.
+     */
+    @Override
+    protected Runnable saveState() {
+        final int length = guesses.size();
+
+        return () -> {
+            guesses.subList(length, guesses.size()).clear();
+            blackPegs.subList(length, blackPegs.size()).clear();
+            whitePegs.subList(length, whitePegs.size()).clear();
+        };
+    }
+
+    /**
+     * Evolves the population until enough eligible codes are found, or the generation limit is reached with at
+     * least one eligible code.
+     *
+     * @return The distinct eligible codes found, or the fittest code if none could be found.
+     */
+    private List<int[]> evolveEligible() {
+        final Set<List<Integer>> eligible = new LinkedHashSet<>();
+        int[][] population = randomPopulation();
+        int[] fitness = evaluate(population);
+
+        for (int generation = 0; eligible.size() < MAX_ELIGIBLE; ++generation) {
+            if (generation >= maxGenerations) {
+                if (!eligible.isEmpty() || generation >= maxGenerations * MAX_RESTARTS) {
+                    break;
+                }
+
+                // Start over from a fresh population when the evolution is stuck.
+                if (generation % maxGenerations == 0) {
+                    population = randomPopulation();
+                    fitness = evaluate(population);
+                }
+            }
+
+            population = breed(population, fitness);
+            fitness = evaluate(population);
+
+            for (int i = 0; i < population.length; ++i) {
+                if (fitness[i] == 0) {
+                    eligible.add(Arrays.stream(population[i]).boxed().toList());
+                }
+            }
+        }
+
+        if (eligible.isEmpty()) {
+            return List.of(population[fittest(fitness)]);
+        }
+
+        return eligible.stream()
+            .map(colors -> colors.stream().mapToInt(Integer::intValue).toArray())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Picks the eligible code that would leave the fewest of the other eligible codes on average, i.e., with the
+     * smallest sum of squared partition sizes.
+     *
+     * @param eligible The eligible codes.
+     * @return The colors of the guess.
+     */
+    private int[] selectGuess(final List<int[]> eligible) {
+        // responses are counted at black * (codeLength + 1) + white, as the board may not be the default one
+        final int[] histogram = new int[(config.codeLength() + 1) * (config.codeLength() + 1)];
+        long bestScore = Long.MAX_VALUE;
+        int[] best = eligible.get(0);
+
+        for (final int[] guess : eligible) {
+            Arrays.fill(histogram, 0);
+
+            for (final int[] code : eligible) {
+                final int black = config.blackPegs(guess, code);
+                final int white = config.commonColors(guess, code) - black;
+                ++histogram[black * (config.codeLength() + 1) + white];
+            }
+
+            long score = 0;
+            for (final int size : histogram) {
+                score += (long) size * size;
+            }
+
+            if (score < bestScore) {
+                bestScore = score;
+                best = guess;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Creates a population of random codes.
+     *
+     * @return The population.
+     */
+    private int[][] randomPopulation() {
+        final int[][] population = new int[populationSize][config.codeLength()];
+
+        for (final int[] code : population) {
+            for (int position = 0; position < code.length; ++position) {
+                code[position] = random.nextInt(config.totalColors());
+            }
+        }
+
+        return population;
+    }
+
+    /**
+     * Breeds the next generation from fit parents, keeping the fittest code.
+     *
+     * @param population The current generation.
+     * @param fitness    The fitness of every code of the current generation.
+     * @return The next generation.
+     */
+    private int[][] breed(final int[][] population, final int[] fitness) {
+        final int[][] next = new int[populationSize][];
+        next[0] = population[fittest(fitness)].clone(); // elitism
+
+        for (int i = 1; i < populationSize; ++i) {
+            final int[] mother = population[tournament(fitness)];
+            final int[] father = population[tournament(fitness)];
+            final int[] child = random.nextDouble() < ONE_POINT_CROSSOVER
+                ? crossover(mother, father, random.nextInt(config.codeLength()), config.codeLength())
+                : crossover(mother, father, random.nextInt(config.codeLength()),
+                random.nextInt(config.codeLength()));
+
+            if (random.nextDouble() < MUTATION) {
+                child[random.nextInt(child.length)] = random.nextInt(config.totalColors());
+            }
+
+            if (random.nextDouble() < PERMUTATION) {
+                swap(child, random.nextInt(child.length), random.nextInt(child.length));
+            }
+
+            if (random.nextDouble() < INVERSION) {
+                int from = random.nextInt(child.length);
+                int to = random.nextInt(child.length);
+                for (int low = Math.min(from, to), high = Math.max(from, to); low < high; ++low, --high) {
+                    swap(child, low, high);
+                }
+            }
+
+            next[i] = child;
+        }
+
+        return next;
+    }
+
+    /**
+     * Breeds a child that takes the colors of the father between two cut points, and of the mother elsewhere.
+     *
+     * @param mother The first parent.
+     * @param father The second parent.
+     * @param first  The first cut point.
+     * @param second The second cut point, or the code length for one-point crossover.
+     * @return The child.
+     */
+    private static int[] crossover(final int[] mother, final int[] father, final int first, final int second) {
+        final int[] child = mother.clone();
+        System.arraycopy(father, Math.min(first, second), child, Math.min(first, second),
+            Math.abs(second - first));
+
+        return child;
+    }
+
+    /**
+     * Picks the fitter of two random codes.
+     *
+     * @param fitness The fitness of every code.
+     * @return The position of the picked code.
+     */
+    private int tournament(final int[] fitness) {
+        final int a = random.nextInt(fitness.length);
+        final int b = random.nextInt(fitness.length);
+
+        return fitness[a] <= fitness[b] ? a : b;
+    }
+
+    /**
+     * Finds the fittest code.
+     *
+     * @param fitness The fitness of every code.
+     * @return The position of the code with the lowest fitness.
+     */
+    private static int fittest(final int[] fitness) {
+        int best = 0;
+        for (int i = 1; i < fitness.length; ++i) {
+            if (fitness[i] < fitness[best]) {
+                best = i;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Evaluates the fitness of every code of a population, in parallel if there is a pool.
+     *
+     * @param population The population.
+     * @return The fitness of every code.
+     */
+    private int[] evaluate(final int[][] population) {
+        final int[] fitness = new int[population.length];
+        final FitnessTask task = new FitnessTask(population, fitness, 0, population.length);
+
+        if (pool == null) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+
+        return fitness;
+    }
+
+    /**
+     * Computes how far the responses of a code to the past guesses are from the actual responses.
+     *
+     * @param code The colors of the code.
+     * @return The fitness, 0 if the code is eligible.
+     */
+    private int fitness(final int[] code) {
+        int distance = 0;
+
+        for (int i = 0; i < blackPegs.size(); ++i) {
+            final int[] guess = guesses.get(i);
+            final int black = config.blackPegs(guess, code);
+            final int white = config.commonColors(guess, code) - black;
+
+            distance += BLACK_WEIGHT * Math.abs(black - blackPegs.get(i)) + Math.abs(white - whitePegs.get(i));
+        }
+
+        return distance;
+    }
+
+    /**
+     * Swaps two positions of a code.
+     *
+     * @param code The colors of the code.
+     * @param i    The first position.
+     * @param j    The second position.
+     */
+    private static void swap(final int[] code, final int i, final int j) {
+        final int color = code[i];
+        code[i] = code[j];
+        code[j] = color;
+    }
+
+    /**
+     * Evaluates the fitness of a range of a population, splitting it in halves while it is large.
+     */
+    private class FitnessTask extends RecursiveAction {
+        /**
+         * The population.
+         */
+        private final int[][] population;
+
+        /**
+         * The fitness of every code, written by the task.
+         */
+        private final int[] fitness;
+
+        /**
+         * The first code of the range, inclusive.
+         */
+        private final int from;
+
+        /**
+         * The last code of the range, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Constructs a task evaluating a range of a population.
+         *
+         * @param population the population
+         * @param fitness    the fitness of every code, written by the task
+         * @param from       the first code of the range, inclusive
+         * @param to         the last code of the range, exclusive
+         */
+        FitnessTask(final int[][] population, final int[] fitness, final int from, final int to) {
+            this.population = population;
+            this.fitness = fitness;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; ++i) {
+                    fitness[i] = fitness(population[i]);
+                }
+
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new FitnessTask(population, fitness, from, middle),
+                new FitnessTask(population, fitness, middle, to));
+        }
+    }
+}
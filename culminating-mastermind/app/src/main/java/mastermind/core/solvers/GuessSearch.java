@@ -0,0 +1,407 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimax search for the next guess over the whole guess space.
+ * <p>
+ * The guess space is every code, or a subset of it that is known to contain
+ * the best guess, e.g., the representatives of {@link SymmetryReducer}. Every
+ * guess is scored by the size of its largest partition of the
+ * remaining candidates, and the guess with the smallest score wins. Ties are
+ * broken in favor of guesses that are candidates themselves, then the lowest
+ * code index.
+ * <p>
+ * With a {@link ForkJoinPool}, the guess space is split into ranges that are
+ * searched in parallel, and the best guesses of the ranges are reduced with
+ * the same ordering, so the result is identical to the sequential search.
+ * <p>
+ * With a time budget, the candidates are scored before the other codes, and
+ * the search stops once the budget has elapsed, returning the best guess
+ * scored so far. At least one guess is always scored.
+ */
+public class GuessSearch {
+    /**
+     * Number of guesses below which a range is searched sequentially, see {@link RangeTask}.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    /**
+     * Key of a range without any eligible guess, greater than every other key.
+     */
+    private static final long NO_GUESS = Long.MAX_VALUE;
+
+    /**
+     * All code indices in ascending order, the unreduced guess space.
+     */
+    private static final int[] ALL_GUESSES = CandidateSet.all().toArray();
+
+    /**
+     * The pool to search in, or null to search on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a search that runs on the calling thread.
+     */
+    public GuessSearch() {
+        this(null);
+    }
+
+    /**
+     * Constructs a search that splits the guess space across a pool.
+     * <p>
+     * The parallelism of the pool determines how many guesses are scored at
+     * the same time.
+     *
+     * @param pool the pool to search in, or null to search on the calling thread
+     */
+    public GuessSearch(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the guess that minimizes the largest partition of the candidates,
+     * among all codes.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @return the index of the best guess, see {@link Code#getIndex()}
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public int findBestGuess(final CandidateSet candidates) {
+        return findBestGuess(candidates, ALL_GUESSES);
+    }
+
+    /**
+     * Finds the guess that minimizes the largest partition of the candidates,
+     * among the given guesses.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @param guesses    the indices of the guesses to score, in ascending order
+     * @return the index of the best guess, see {@link Code#getIndex()}
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public int findBestGuess(final CandidateSet candidates, final int[] guesses) {
+        return search(candidates, guesses, null).guess();
+    }
+
+    /**
+     * Finds the guess that minimizes the largest partition of the candidates,
+     * among the given guesses, within a time budget.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @param guesses    the indices of the guesses to score, in ascending order
+     * @param budget     the time after which to stop scoring guesses, or null to score every guess
+     * @return the best guess scored, and how many guesses were scored
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public SearchResult search(final CandidateSet candidates, final int[] guesses, final Duration budget) {
+        final int[] codes = candidates.toArray();
+
+        if (codes.length == 0) {
+            throw new InvalidHintsException("No valid permutations found.");
+        }
+
+        final Deadline deadline = new Deadline(budget);
+        final SearchTask task = new SearchTask(candidates, codes, goodFirst(candidates, guesses),
+            new AtomicInteger(Integer.MAX_VALUE), deadline, 0, guesses.length);
+
+        // Without a pool, the root task searches the whole range itself.
+        final long key = pool == null ? task.searchRange() : pool.invoke(task);
+        final int guess = (int) (key & Integer.MAX_VALUE); // the guess index is in the low 31 bits
+
+        return new SearchResult(guess, deadline.getEvaluated(), guesses.length);
+    }
+
+    /**
+     * Reorders a guess space so that the candidates, which may win right away,
+     * are scored first.
+     *
+     * @param candidates the remaining candidates
+     * @param guesses    the indices of the guesses, in ascending order
+     * @return the candidates among the guesses, then the other guesses, each in ascending order
+     */
+    static int[] goodFirst(final CandidateSet candidates, final int[] guesses) {
+        final int[] ordered = new int[guesses.length];
+        int front = 0;
+
+        for (final int guess : guesses) {
+            if (candidates.contains(guess)) {
+                ordered[front++] = guess;
+            }
+        }
+
+        for (final int guess : guesses) {
+            if (!candidates.contains(guess)) {
+                ordered[front++] = guess;
+            }
+        }
+
+        return ordered;
+    }
+
+    /**
+     * The time budget of a search, shared by its tasks, which also counts the guesses scored.
+     */
+    static class Deadline {
+        /**
+         * The value of {@link System#nanoTime()} at which the budget elapses.
+         */
+        private final long deadlineNanos;
+
+        /**
+         * Whether the search has a budget at all.
+         */
+        private final boolean bounded;
+
+        /**
+         * The number of guesses scored so far.
+         */
+        private final AtomicInteger evaluated = new AtomicInteger();
+
+        /**
+         * Starts the budget of a search.
+         *
+         * @param budget the time after which to stop scoring guesses, or null to score every guess
+         */
+        Deadline(final Duration budget) {
+            this.bounded = budget != null;
+            this.deadlineNanos = bounded ? System.nanoTime() + budget.toNanos() : 0;
+        }
+
+        /**
+         * Whether the guess at a position of the guess space may still be scored.
+         * <p>
+         * The first guess is always scored, so that there is a result.
+         *
+         * @param position the position of the guess in the ordered guess space
+         * @return true if the guess may be scored, and false once the budget has elapsed
+         */
+        boolean allows(final int position) {
+            return !bounded || position == 0 || System.nanoTime() - deadlineNanos < 0;
+        }
+
+        /**
+         * Records guesses that were scored.
+         *
+         * @param count the number of guesses
+         */
+        void addEvaluated(final int count) {
+            evaluated.addAndGet(count);
+        }
+
+        /**
+         * Retrieves the number of guesses scored so far.
+         *
+         * @return the number of guesses
+         */
+        int getEvaluated() {
+            return evaluated.get();
+        }
+    }
+
+    /**
+     * Packs a scored guess into a key, where the smaller key is the better
+     * guess.
+     *
+     * @param maxGroupSize the size of the largest partition of the guess
+     * @param isCandidate  whether the guess is a candidate
+     * @param guess        the index of the guess
+     * @return the packed key
+     */
+    private static long key(final int maxGroupSize, final boolean isCandidate, final int guess) {
+        return ((long) maxGroupSize << 32) | ((isCandidate ? 0L : 1L) << 31) | guess;
+    }
+
+    /**
+     * Searches a range of the guess space, splitting it in halves while it is large.
+     * <p>
+     * The halves are searched in parallel and their best guesses are merged, so a
+     * subclass only defines how to search a small range on the current thread, and
+     * how to keep the better of two results.
+     *
+     * @param <T> the type of the best guess of a range
+     */
+    abstract static class RangeTask<T> extends RecursiveTask<T> {
+        /**
+         * The first position of the range in the guess space, inclusive.
+         */
+        protected final int from;
+
+        /**
+         * The last position of the range in the guess space, exclusive.
+         */
+        protected final int to;
+
+        /**
+         * Constructs a task searching a range of the guess space.
+         *
+         * @param from the first position of the range, inclusive
+         * @param to   the last position of the range, exclusive
+         */
+        RangeTask(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return searchRange();
+            }
+
+            // Search the halves in parallel and keep the better guess.
+            final int middle = (from + to) >>> 1;
+            final RangeTask<T> left = subtask(from, middle);
+            final RangeTask<T> right = subtask(middle, to);
+            left.fork();
+
+            final T rightBest = right.compute();
+            return better(left.join(), rightBest);
+        }
+
+        /**
+         * Constructs a task searching part of the range, with the same parameters as this task.
+         *
+         * @param from the first position of the part, inclusive
+         * @param to   the last position of the part, exclusive
+         * @return the task
+         */
+        abstract RangeTask<T> subtask(final int from, final int to);
+
+        /**
+         * Searches the whole range on the current thread.
+         *
+         * @return the best guess in the range
+         */
+        abstract T searchRange();
+
+        /**
+         * Chooses the better of the best guesses of two ranges.
+         *
+         * @param left  the best guess of the left range
+         * @param right the best guess of the right range
+         * @return the better guess
+         */
+        abstract T better(final T left, final T right);
+    }
+
+    /**
+     * Searches a range of the guess space by the size of the largest partition.
+     */
+    private static class SearchTask extends RangeTask<Long> {
+        /**
+         * The remaining candidates, as a set.
+         */
+        private final CandidateSet candidates;
+
+        /**
+         * The remaining candidates, as an array of code indices.
+         */
+        private final int[] codes;
+
+        /**
+         * The guess space, as an array of code indices.
+         */
+        private final int[] guesses;
+
+        /**
+         * The smallest largest partition found so far by any task.
+         * <p>
+         * A guess whose partition exceeds it can never be the best, so the
+         * bound can be shared without affecting the result.
+         */
+        private final AtomicInteger bound;
+
+        /**
+         * The time budget of the search.
+         */
+        private final Deadline deadline;
+
+        /**
+         * Constructs a task searching a range of the guess space.
+         *
+         * @param candidates the remaining candidates, as a set
+         * @param codes      the remaining candidates, as an array of code indices
+         * @param guesses    the guess space, as an array of code indices
+         * @param bound      the shared bound on the largest partition
+         * @param deadline   the time budget of the search
+         * @param from       the first position of the range, inclusive
+         * @param to         the last position of the range, exclusive
+         */
+        SearchTask(final CandidateSet candidates,
+                   final int[] codes,
+                   final int[] guesses,
+                   final AtomicInteger bound,
+                   final Deadline deadline,
+                   final int from,
+                   final int to) {
+            super(from, to);
+            this.candidates = candidates;
+            this.codes = codes;
+            this.guesses = guesses;
+            this.bound = bound;
+            this.deadline = deadline;
+        }
+
+        @Override
+        SearchTask subtask(final int from, final int to) {
+            return new SearchTask(candidates, codes, guesses, bound, deadline, from, to);
+        }
+
+        @Override
+        Long better(final Long left, final Long right) {
+            return Math.min(left, right);
+        }
+
+        /**
+         * Searches the whole range on the current thread.
+         *
+         * @return the key of the best guess in the range, or {@link #NO_GUESS}
+         */
+        @Override
+        Long searchRange() {
+            final int[] histogram = new int[Response.TOTAL_RESPONSES];
+            long bestKey = NO_GUESS;
+            int evaluated = 0;
+
+            for (int i = from; i < to && deadline.allows(i); ++i, ++evaluated) {
+                final int guess = guesses[i];
+                Arrays.fill(histogram, 0);
+                final int limit = bound.get();
+                int maxGroupSize = 0;
+
+                // Count the candidates in each response class, stopping once the guess cannot win.
+                for (final int code : codes) {
+                    final int groupSize = ++histogram[ResponseTable.get(guess, code)];
+
+                    if (groupSize > maxGroupSize) {
+                        maxGroupSize = groupSize;
+
+                        if (maxGroupSize > limit) {
+                            break;
+                        }
+                    }
+                }
+
+                if (maxGroupSize > limit) {
+                    continue; // cut off: strictly worse than a guess found before
+                }
+
+                bestKey = Math.min(bestKey, key(maxGroupSize, candidates.contains(guess), guess));
+                bound.accumulateAndGet(maxGroupSize, Math::min);
+            }
+
+            deadline.addEvaluated(evaluated);
+            return bestKey;
+        }
+    }
+}
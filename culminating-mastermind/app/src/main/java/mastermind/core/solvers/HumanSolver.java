@@ -9,6 +9,7 @@ package mastermind.core.solvers;
 import mastermind.Mastermind;
 import mastermind.core.Code;
 import mastermind.core.Response;
+import mastermind.core.ResponseTable;
 import mastermind.utils.Tuple2;
 
 /**
@@ -59,8 +60,8 @@ public class HumanSolver extends MastermindSolver {
             return new Tuple2<>(Status.Lose, null);
         }
 
-        // Create a response object based on the guess
-        final Response response = new Response(secretCode, guess);
+        // Look up the response object of the guess
+        final Response response = Response.fromIndex(ResponseTable.get(guess, secretCode));
         // The number of correct matches in the response
         final int correctCount = response.getResponse().first();
 
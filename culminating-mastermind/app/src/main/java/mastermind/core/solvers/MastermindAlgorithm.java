@@ -6,10 +6,15 @@
 
 package mastermind.core.solvers;
 
+import mastermind.Mastermind;
 import mastermind.core.Code;
 import mastermind.core.Response;
 import mastermind.utils.Tuple2;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
  * The standard interface for all algorithmic solvers.
  * <p>
@@ -18,8 +23,37 @@ import mastermind.utils.Tuple2;
  * representing first and subsequent guesses, respectively.
  * <p>
  * The GUI depends on above interface to communicate with the solver.
+ * <p>
+ * Solvers that search for their guesses may also honor a time budget through
+ * {@link #guess(Response, Duration)}, trading the quality of the guess for
+ * latency, and report how much of the guess space they covered through
+ * {@link #getCoverage()}.
+ * <p>
+ * Solvers that can take back responses save a checkpoint before each response
+ * changes their state, see {@link #saveCheckpoint(Runnable)}, so that the last
+ * responses can be undone through {@link #undo(int)}, e.g., when the player
+ * entered the wrong key pegs.
  */
 public abstract class MastermindAlgorithm extends MastermindSolver {
+    /**
+     * The fraction of the guess space covered by the search of the last guess.
+     */
+    private double coverage = 1.0;
+
+    /**
+     * The checkpoints saved before each response, the latest on top.
+     */
+    private final Deque<Checkpoint> checkpoints = new ArrayDeque<>(Mastermind.MAX_GUESSES);
+
+    /**
+     * The state of a solver before a response.
+     *
+     * @param attempts The number of attempts before the response.
+     * @param restore  Restores the rest of the state of the solver.
+     */
+    private record Checkpoint(int attempts, Runnable restore) {
+    }
+
     /**
      * Default constructor.
      */
@@ -27,6 +61,16 @@ public abstract class MastermindAlgorithm extends MastermindSolver {
         super();
     }
 
+    /**
+     * Constructs a solver for a game of the given number of guesses.
+     *
+     * @param maxGuesses The number of guesses after which the solver loses, at least 1.
+     * @throws IllegalArgumentException If the number of guesses is less than 1.
+     */
+    public MastermindAlgorithm(final int maxGuesses) {
+        super(maxGuesses);
+    }
+
     /**
      * This is the first guess an algorithm will make.
      *
@@ -43,4 +87,93 @@ public abstract class MastermindAlgorithm extends MastermindSolver {
      * {@code Code}.
      */
     public abstract Tuple2<Status, Code> guess(final Response response);
+
+    /**
+     * Produces a new guess based on the provided response from the previous
+     * guess, returning the best guess found once the budget has elapsed.
+     * <p>
+     * By default, the budget is ignored and the guess is complete.
+     *
+     * @param response The feedback from the last guess.
+     * @param budget   The time to search for the guess, or null for no limit.
+     * @return A {@code Tuple2} containing the {@code Status} and the generated
+     * {@code Code}.
+     */
+    public Tuple2<Status, Code> guess(final Response response, final Duration budget) {
+        final Tuple2<Status, Code> result = guess(response);
+        setCoverage(1.0);
+
+        return result;
+    }
+
+    /**
+     * Retrieves the fraction of the guess space covered by the search of the
+     * last guess, which is 1 unless a budget cut the search short.
+     *
+     * @return The coverage, from 0 (exclusive) to 1 (inclusive).
+     */
+    public double getCoverage() {
+        return this.coverage;
+    }
+
+    /**
+     * Records the fraction of the guess space covered by the search of the
+     * last guess.
+     *
+     * @param coverage The coverage, from 0 (exclusive) to 1 (inclusive).
+     */
+    protected void setCoverage(final double coverage) {
+        this.coverage = coverage;
+    }
+
+    /**
+     * Retrieves the number of responses that can be undone, which is 0 for
+     * solvers that do not save checkpoints.
+     *
+     * @return The number of responses that can be undone.
+     */
+    public int getUndoableResponses() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Undoes the last responses, restoring the solver to the state it was in
+     * before the earliest of them: the guess that response was for is the
+     * pending guess again, to be followed by {@link #guess(Response)}.
+     * <p>
+     * Only the earliest checkpoint is restored, and it holds snapshots rather
+     * than the operations that led to it, so undoing does not depend on the
+     * number of responses or the size of the code space.
+     *
+     * @param count The number of responses to undo, from 1 to
+     *              {@link #getUndoableResponses()}.
+     * @throws IllegalArgumentException If the count is out of range.
+     */
+    public void undo(final int count) {
+        if (count < 1 || count > checkpoints.size()) {
+            throw new IllegalArgumentException("Cannot undo " + count + " responses, "
+                + checkpoints.size() + " can be undone.");
+        }
+
+        for (int i = 1; i < count; ++i) {
+            checkpoints.pop();
+        }
+
+        final Checkpoint checkpoint = checkpoints.pop();
+        checkpoint.restore().run();
+        restoreAttempts(checkpoint.attempts());
+    }
+
+    /**
+     * Saves the state of the solver before a response changes it, so that the
+     * response can be undone. Call it at the start of {@link #guess(Response)},
+     * before anything is modified, with state that later responses do not
+     * modify in place, e.g., a {@link CandidateSet#snapshot()}.
+     *
+     * @param restore Restores the state of the solver, except the number of
+     *                attempts, which is restored by {@link #undo(int)}.
+     */
+    protected void saveCheckpoint(final Runnable restore) {
+        checkpoints.push(new Checkpoint(getAttempts(), restore));
+    }
 }
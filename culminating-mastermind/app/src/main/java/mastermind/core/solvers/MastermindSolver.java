@@ -20,6 +20,11 @@ public abstract class MastermindSolver {
      */
     private int attempts = 0;
 
+    /**
+     * The number of guesses after which the solver loses.
+     */
+    private final int maxGuesses;
+
     /**
      * Retrieves the number of attempts made by the solver.
      *
@@ -30,13 +35,37 @@ public abstract class MastermindSolver {
     }
 
     /**
-     * Default constructor.
+     * Default constructor, for a game of {@link Mastermind#MAX_GUESSES} guesses.
      */
     public MastermindSolver() {
+        this(Mastermind.MAX_GUESSES);
+    }
+
+    /**
+     * Constructs a solver for a game of the given number of guesses.
+     *
+     * @param maxGuesses the number of guesses after which the solver loses, at least 1
+     * @throws IllegalArgumentException if the number of guesses is less than 1
+     */
+    public MastermindSolver(final int maxGuesses) {
+        if (maxGuesses < 1) {
+            throw new IllegalArgumentException("Max guesses must be at least 1: " + maxGuesses);
+        }
+
+        this.maxGuesses = maxGuesses;
     }
 
     /**
-     * Whether the solver guesses the code within {@link Mastermind#MAX_GUESSES}.
+     * Retrieves the number of guesses after which the solver loses.
+     *
+     * @return the maximum number of guesses
+     */
+    public int getMaxGuesses() {
+        return maxGuesses;
+    }
+
+    /**
+     * Whether the solver guesses the code within {@link #getMaxGuesses()}.
      *
      * <p>
      * To ensure {@code hasExceededMaxGuesses} checks the losing status
@@ -49,7 +78,7 @@ public abstract class MastermindSolver {
     protected boolean hasExceededMaxGuesses() {
         /*If the solver has made the maximum number of guesses, it has lost
         otherwise, it has not lost, and increments the number of attempts */
-        if (attempts >= Mastermind.MAX_GUESSES) {
+        if (attempts >= maxGuesses) {
             return true;
         } else {
             ++attempts;
@@ -65,4 +94,13 @@ public abstract class MastermindSolver {
     protected boolean isInitialGuess() {
         return attempts <= 0;
     }
+
+    /**
+     * Sets the number of attempts back to an earlier value, when responses are undone.
+     *
+     * @param attempts the number of attempts to restore
+     */
+    void restoreAttempts(final int attempts) {
+        this.attempts = attempts;
+    }
 }
@@ -6,182 +6,126 @@
 
 package mastermind.core.solvers;
 
-import mastermind.Mastermind;
-import mastermind.core.Code;
-import mastermind.core.CodeFactory;
-import mastermind.core.Response;
-import mastermind.utils.MathUtil;
-import mastermind.utils.Tuple2;
+import mastermind.core.GameConfig;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.time.Duration;
+import java.util.Arrays;
 
 /**
  * An implementation of the medium algorithm, which is a modified and
  * less-optimal version of the Donald-Knuth algorithm, for solving the
  * Mastermind game.
- * It will first guess 1 color for all 4 positions for the first 3 attempts.
+ * It will first guess 1 color for all positions for the first few attempts.
  * It will reduce the permutations after every guess and response. Then, it
- * will guess the first permutation in the set of remaining permutations.
+ * will guess the first permutation in the set of remaining permutations,
+ * which are enumerated lazily by a {@link ConsistentCodeEnumerator}.
+ * <p>
+ * Codes are held as arrays of colors, so any {@link GameConfig} can be
+ * played, see {@link BoardAlgorithm}.
  */
-public class MediumAlgorithm extends MastermindAlgorithm {
-
-    private Code previousGuess = null;
-    private HashSet<Code> permutations;
-
+public class MediumAlgorithm extends BoardAlgorithm {
     /**
-     * Constructs a new instance of the `MediumAlgorithm` class.
-     * This constructor initializes the algorithm by generating all possible
-     * permutations of the secret code, as required by Donald Knuth's Mastermind
-     * solving algorithm.
+     * The number of guesses of a single color made before guessing
+     * permutations.
      */
-    public MediumAlgorithm() {
-        // Calls the superclass constructor to initialize the number of attempts
-        // and the maximum number of guesses.
-        generatePermutations();
-    }
+    private static final int OPENING_GUESSES = 4;
 
     /**
-     * Generates all possible permutations of the secret code, and stores it
-     * in permutations, which is a HashSet of Code objects.
+     * Enumerates the remaining possible permutations of the secret code in
+     * ascending order, without generating the ones that are ruled out.
      */
-    private void generatePermutations() {
-        // The total number of possibilities is calculated using the formula
-        // Math.pow(Mastermind.TOTAL_COLORS, Mastermind.CODE_LENGTH).
-        final int possibilities = (int) Math.pow(Mastermind.TOTAL_COLORS, Mastermind.CODE_LENGTH);
-        // The permutations set is initialized as a HashSet of Code objects.
-        permutations = new HashSet<>();
-        // A loop is used to generate all possible permutations of the secret code.
-        for (int i = 0; i < possibilities; i++) {
-            final ArrayList<Integer> codeInDigits = MathUtil.digitsFromBase(i, Mastermind.TOTAL_COLORS, Mastermind.CODE_LENGTH);
-            final Code code = CodeFactory.fromColorIndices(codeInDigits);
-            permutations.add(code);
-        }
-    }
+    private final ConsistentCodeEnumerator permutations;
 
     /**
-     * Filters out invalid permutations that do not align with the response
-     * feedback.
-     * @param response The feedback from the last guess.
+     * Constructs a new instance of the `MediumAlgorithm` class for the
+     * default board, see {@link GameConfig#DEFAULT}.
      */
-    private void reducePermutations(final Response response) {
-        // Filters out invalid permutations that do not align with the
-        // response feedback, calling the removeIf method on the permutations set.
-        this.permutations.removeIf(permutation -> {
-            final Response testResponse = new Response(permutation, this.previousGuess);
-            return !response.equals(testResponse); // returns true if the response is not equal to testResponse
-        });
+    public MediumAlgorithm() {
+        this(GameConfig.DEFAULT);
     }
 
     /**
-     * Determines the subsequent guesses for the Mastermind game.
-     * If the number of attempts is less than 4, the next guess is determined
-     * by the number of attempts made so far. To elaborate, the color from
-     * index numAttempts will be guessed for all four positions.
-     * Otherwise, the next guess is determined by the first element in the
-     * permutations set, which contains all the possible remaining
-     * permutations from the set.
+     * Constructs a new instance of the `MediumAlgorithm` class.
+     * No permutations are generated up front, as they are enumerated lazily
+     * by a {@link ConsistentCodeEnumerator}.
      *
-     * @param numAttempts The number of attempts made so far.
-     * @return The next guess to be made by the algorithm.
+     * @param config The dimensions of the board, and the number of guesses.
      */
-    private Code findNextGuess(int numAttempts) {
-        // If the number of attempts is less than 4, the next guess is determined
-        // by the number of attempts made so far. To elaborate, the color from
-        // index numAttempts will be guessed for all four positions.
-        if (numAttempts < 4) {
-            return CodeFactory.fromColorIndices(List.of(
-                numAttempts, numAttempts, numAttempts, numAttempts));
-        }
-
-        // Otherwise, the next guess is determined by the first element in the
-        // permutations set, which contains all the possible remaining
-        // permutations from the set.
-        for (Code code : permutations) { // returns the first element in the
-            // set, regardless of efficiency or optimality
-            return code;
-        }
-
-        // If no valid permutations are found, an InvalidHintsException is thrown.
-        throw new InvalidHintsException("No valid permutations found.");
+    public MediumAlgorithm(final GameConfig config) {
+        // Calls the superclass constructor to initialize the number of attempts
+        // and the maximum number of guesses.
+        super(config);
+        this.permutations = new ConsistentCodeEnumerator(config);
     }
 
     /**
      * Determines the initial guess for the Mastermind game.
-     * @return The initial guess to be made by the algorithm.
+     * The initial guess is always the same, regardless of the secret code:
+     * the first color in every position.
+     *
+     * @return The colors of the initial guess.
      */
     @Override
-    public Code guess() {
-        // Check if the method is being called correctly for the initial guess
-        // and throw an IllegalCallerException if called for subsequent guesses.
-        if (!isInitialGuess()) {
-            throw new IllegalCallerException("guess() is meant for the first guess.");
-        }
-
-        // If the maximum number of guesses has been exceeded, the game status is set to
-        // Lose, and the previous guess is returned.
-        hasExceededMaxGuesses();
-
-        // The initial guess is always the same, regardless of the secret code.
-        final Code nextGuess = CodeFactory.fromColorIndices(List.of(0, 0, 0, 0));
-        previousGuess = nextGuess;
+    protected int[] findFirstGuess() {
+        return new int[config.codeLength()];
+    }
 
-        return nextGuess; // return nextGuess
+    /**
+     * Saves the constraints and the position of the enumeration, see {@link ConsistentCodeEnumerator#mark()}.
+     *
+     * @return Restores the enumeration to the saved position, without the later constraints.
+     */
+    @Override
+    protected Runnable saveState() {
+        final ConsistentCodeEnumerator.Mark mark = permutations.mark();
+        return () -> permutations.reset(mark);
     }
 
     /**
      * Determines the subsequent guesses for the Mastermind game.
      * The algorithm executes the following steps:
-     * 1.   Checks if the method is being called correctly for subsequent guesses.
-     *      Throws an {@code IllegalCallerException} if called for the initial guess.
-     * 2.   Retrieves the validation counts (e.g., correct positions) from the response.
-     * 3.   If the number of correct positions equals the secret code length, the game
-     *      status is set to Win, and the previous guess is returned.
-     *      If the maximum number of guesses has been exceeded, the game status is set to
-     *      Lose, and the previous guess is returned.
-     *      Otherwise, the algorithm proceeds to the next step.
-     *  4.  Filters out invalid permutations that do not align with the response feedback
-     *      using the {@code reducePermutations} method.
-     *  5.  Finds the next guess using the {@code findNextGuess} method.
-     *  6.  Updates the last guess with the next guess and returns a {@code Tuple2}
-     *      containing status {@code Status.Continue} and the next guess.
+     * 1.   Filters out invalid permutations that do not align with the
+     *      response feedback, by adding the previous guess and its response
+     *      as a constraint of the enumerator.
+     * 2.   If the number of attempts is less than 4, the next guess is
+     *      determined by the number of attempts made so far. To elaborate,
+     *      the color from index numAttempts will be guessed for all positions,
+     *      as long as there are enough colors.
+     * 3.   Otherwise, the next guess is the first element in the
+     *      permutations set, which contains all the possible remaining
+     *      permutations.
      *
-     * @param response The feedback from the last guess.
-     * @return  A {@code Tuple2<Status, Code>} object where {@code Status} represents
-     *          the current game status (e.g., Win, Lose, Continue), and {@code Code}
-     *          represents the next guess to be made.
-     * @throws IllegalCallerException   If this method is invoked for the
-     *                                  initial guess.
+     * @param previousGuess The colors of the previous guess.
+     * @param black         The black pegs of the response to the previous guess.
+     * @param white         The white pegs of the response to the previous guess.
+     * @param budget        Ignored, the guess is found without a search.
+     * @return The colors of the next guess.
+     * @throws InvalidHintsException If no permutation is consistent with the responses.
      */
     @Override
-    public Tuple2<Status, Code> guess(final Response response) {
-        // Check if the method is being called correctly for subsequent guesses
-        // and throw an IllegalCallerException if called for the initial guess.
-        if (isInitialGuess()) {
-            throw new IllegalCallerException("guess(Response) is meant for subsequent guesses.");
+    protected int[] findNextGuess(final int[] previousGuess,
+                                  final int black,
+                                  final int white,
+                                  final Duration budget) {
+        // Adds the previous guess and its response as a constraint, so the
+        // enumerator skips every permutation that would have given another response.
+        this.permutations.addConstraint(previousGuess, black, white);
+
+        final int numAttempts = getAttempts();
+        if (numAttempts < Math.min(OPENING_GUESSES, config.totalColors())) {
+            final int[] colors = new int[config.codeLength()];
+            Arrays.fill(colors, numAttempts);
+            return colors;
         }
 
-        // Retrieve the validation counts (e.g., correct positions) from the response.
-        final Tuple2<Integer, Integer> validation = response.getResponse();
-        final int correctCount = validation.first();
-
-        // If the maximum number of guesses has been exceeded, the game status is set to
-        // Lose, and the previous guess is returned.
-        // If the number of correct positions equals the secret code length, the game
-        // status is set to Win, and the previous guess is returned.
-        if (correctCount >= Mastermind.CODE_LENGTH) {
-            return new Tuple2<>(Status.Win, previousGuess);
-        } else if (hasExceededMaxGuesses()) {
-            return new Tuple2<>(Status.Lose, previousGuess);
+        // Otherwise, the next guess is determined by the first of the
+        // remaining possible permutations, in ascending order.
+        if (permutations.hasNext()) {
+            // the first remaining permutation, regardless of efficiency or optimality
+            return permutations.next();
         }
 
-        // Filters out invalid permutations that do not align with the response feedback
-        reducePermutations(response);
-        // Finds the next guess using the findNextGuess method
-        final Code nextGuess = findNextGuess(getAttempts());
-        previousGuess = nextGuess;
-
-        return new Tuple2<>(Status.Continue, nextGuess); // returns the next guess
+        // If no valid permutations are found, an InvalidHintsException is thrown.
+        throw new InvalidHintsException("No valid permutations found.");
     }
 }
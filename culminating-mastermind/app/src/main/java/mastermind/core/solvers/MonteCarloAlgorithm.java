@@ -0,0 +1,483 @@
+package mastermind.core.solvers;
+
+import mastermind.core.GameConfig;
+import mastermind.core.MappedResponseTable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * A solver that estimates the best guess from random samples, for boards too large for an exact search.
+ * <p>
+ * Every move, a uniform sample of the codes consistent with the history is drawn, together with a sample of
+ * guesses made of the sampled candidates and random codes. Each sampled guess is scored by the expected number
+ * of sampled candidates it would leave, i.e., the sum of its squared partition sizes over the sample size, and
+ * the best guess is played, preferring candidates on ties.
+ * <p>
+ * The samples start small and double while the time budget allows, so the estimate improves with the budget.
+ * No table of the code space is needed, so any {@link GameConfig} can be played, see {@link BoardAlgorithm}:
+ * codes are scored on their colors, candidates are found by rejection sampling, and only when they become rare
+ * is the code space scanned, once, to collect the consistent codes into a {@link CodeSet}, whose memory is
+ * bounded by its adaptive representation.
+ * <p>
+ * On a board small enough for a {@link MappedResponseTable}, the responses are read from the table instead of
+ * being computed from the colors, without allocating on the heap.
+ */
+public class MonteCarloAlgorithm extends BoardAlgorithm {
+    /**
+     * Time spent on a guess when no budget is given.
+     */
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(100);
+
+    /**
+     * Size of the first samples of candidates and guesses.
+     */
+    private static final int INITIAL_SAMPLE_SIZE = 16;
+
+    /**
+     * Random codes drawn per wanted candidate before rejection sampling gives up and the code space is scanned.
+     */
+    private static final int REJECTION_TRIES = 64;
+
+    /**
+     * Maximum number of codes sampled per round.
+     */
+    private static final int MAX_SAMPLE_SIZE = 1 << 16;
+
+    /**
+     * The source of randomness of the samples.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The clock the time budget is measured with, in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The responses of every pair of codes of the board, or null to compute them from the colors.
+     */
+    private final MappedResponseTable table;
+
+    /**
+     * The colors of every guess made by the algorithm, in order.
+     */
+    private int[][] guesses = new int[0][];
+
+    /**
+     * The number of pegs of each color of every guess, in order.
+     */
+    private int[][] guessCounts = new int[0][];
+
+    /**
+     * The index of every guess, in order, when the responses are read from {@link #table}.
+     */
+    private int[] guessIndices = new int[0];
+
+    /**
+     * The response to every guess, in order, see {@link #score(int[], int[], int[], int[])}.
+     */
+    private int[] responses = new int[0];
+
+    /**
+     * Every code consistent with the history, once the code space has been scanned, or null before.
+     */
+    private CodeSet knownCandidates = null;
+
+    /**
+     * Constructs a new instance of the `MonteCarloAlgorithm` class for the default board with a random seed.
+     */
+    public MonteCarloAlgorithm() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new instance of the `MonteCarloAlgorithm` class for the default board whose samples are
+     * reproducible.
+     *
+     * @param seed The seed of the samples.
+     */
+    public MonteCarloAlgorithm(final long seed) {
+        this(GameConfig.DEFAULT, seed);
+    }
+
+    /**
+     * Constructs a new instance of the `MonteCarloAlgorithm` class for the default board whose samples are
+     * reproducible, measuring the time budget with the given clock, e.g., a fake clock whose time only advances
+     * when told to.
+     *
+     * @param seed  The seed of the samples.
+     * @param clock The clock, returning the time in nanoseconds like {@link System#nanoTime()}.
+     */
+    public MonteCarloAlgorithm(final long seed, final LongSupplier clock) {
+        this(GameConfig.DEFAULT, seed, clock);
+    }
+
+    /**
+     * Constructs a new instance of the `MonteCarloAlgorithm` class whose samples are reproducible.
+     *
+     * @param config The dimensions of the board, and the number of guesses.
+     * @param seed   The seed of the samples.
+     */
+    public MonteCarloAlgorithm(final GameConfig config, final long seed) {
+        this(config, seed, System::nanoTime);
+    }
+
+    /**
+     * Constructs a new instance of the `MonteCarloAlgorithm` class whose samples are reproducible, measuring the
+     * time budget with the given clock.
+     *
+     * @param config The dimensions of the board, and the number of guesses.
+     * @param seed   The seed of the samples.
+     * @param clock  The clock, returning the time in nanoseconds like {@link System#nanoTime()}.
+     */
+    public MonteCarloAlgorithm(final GameConfig config, final long seed, final LongSupplier clock) {
+        this(config, null, seed, clock);
+    }
+
+    /**
+     * Constructs a new instance of the `MonteCarloAlgorithm` class whose samples are reproducible, reading the
+     * responses from a table of the board.
+     *
+     * @param config The dimensions of the board, and the number of guesses.
+     * @param table  The responses of every pair of codes of the board, or null to compute them from the colors.
+     * @param seed   The seed of the samples.
+     * @throws IllegalArgumentException If the table is of another board.
+     */
+    public MonteCarloAlgorithm(final GameConfig config, final MappedResponseTable table, final long seed) {
+        this(config, table, seed, System::nanoTime);
+    }
+
+    /**
+     * Constructs a new instance of the `MonteCarloAlgorithm` class whose samples are reproducible, reading the
+     * responses from a table of the board, and measuring the time budget with the given clock.
+     *
+     * @param config The dimensions of the board, and the number of guesses.
+     * @param table  The responses of every pair of codes of the board, or null to compute them from the colors.
+     * @param seed   The seed of the samples.
+     * @param clock  The clock, returning the time in nanoseconds like {@link System#nanoTime()}.
+     * @throws IllegalArgumentException If the table is of another board.
+     */
+    public MonteCarloAlgorithm(final GameConfig config,
+                               final MappedResponseTable table,
+                               final long seed,
+                               final LongSupplier clock) {
+        super(config);
+
+        if (table != null && (table.getConfig().codeLength() != config.codeLength()
+            || table.getConfig().totalColors() != config.totalColors())) {
+            throw new IllegalArgumentException("The response table of " + table.getConfig()
+                + " does not match " + config);
+        }
+
+        this.random = new SplittableRandom(seed);
+        this.clock = clock;
+        this.table = table;
+    }
+
+    /**
+     * Produces the next guess, sampling for as long as the budget allows.
+     *
+     * @param previousGuess The colors of the previous guess.
+     * @param black         The black pegs of the response to the previous guess.
+     * @param white         The white pegs of the response to the previous guess.
+     * @param budget        The time to sample for the guess, or null for {@link #DEFAULT_BUDGET}.
+     * @return The colors of the next guess.
+     * @throws InvalidHintsException If no code is consistent with the hints.
+     */
+    @Override
+    protected int[] findNextGuess(final int[] previousGuess,
+                                  final int black,
+                                  final int white,
+                                  final Duration budget) {
+        recordResponse(previousGuess, black, white);
+
+        final long deadline = clock.getAsLong() + (budget == null ? DEFAULT_BUDGET : budget).toNanos();
+        return findNextGuess(deadline);
+    }
+
+    /**
+     * Saves the history and the known candidates. The history arrays are copied when they grow, and the
+     * candidates are saved as a {@link CodeSet#snapshot()}, so neither is copied here.
+     *
+     * @return Restores the history and the known candidates.
+     */
+    @Override
+    protected Runnable saveState() {
+        final int[][] savedGuesses = guesses;
+        final int[][] savedGuessCounts = guessCounts;
+        final int[] savedGuessIndices = guessIndices;
+        final int[] savedResponses = responses;
+        final CodeSet savedCandidates = knownCandidates == null ? null : knownCandidates.snapshot();
+
+        return () -> {
+            guesses = savedGuesses;
+            guessCounts = savedGuessCounts;
+            guessIndices = savedGuessIndices;
+            responses = savedResponses;
+            knownCandidates = savedCandidates;
+        };
+    }
+
+    /**
+     * Appends the previous guess and its response to the history, and narrows down the known candidates.
+     *
+     * @param previousGuess The colors of the previous guess.
+     * @param black         The black pegs of the response to the previous guess.
+     * @param white         The white pegs of the response to the previous guess.
+     */
+    private void recordResponse(final int[] previousGuess, final int black, final int white) {
+        guesses = Arrays.copyOf(guesses, guesses.length + 1);
+        guessCounts = Arrays.copyOf(guessCounts, guessCounts.length + 1);
+        guessIndices = Arrays.copyOf(guessIndices, guessIndices.length + 1);
+        responses = Arrays.copyOf(responses, responses.length + 1);
+        guesses[guesses.length - 1] = previousGuess.clone();
+        guessCounts[guessCounts.length - 1] = colorCounts(previousGuess);
+        guessIndices[guessIndices.length - 1] = table == null ? 0 : (int) config.pack(previousGuess);
+        responses[responses.length - 1] = black * (config.codeLength() + 1) + white;
+
+        if (knownCandidates != null) {
+            knownCandidates.retainIf(code -> isConsistent(config.unpack(code)));
+        }
+    }
+
+    /**
+     * Samples candidates and guesses with samples of doubling size until the deadline, and returns the best
+     * guess of the largest sample that was scored.
+     *
+     * @param deadline The time of {@link #clock} at which to stop sampling.
+     * @return The colors of the best guess.
+     * @throws InvalidHintsException If no code is consistent with the hints.
+     */
+    private int[] findNextGuess(final long deadline) {
+        int[] bestGuess = null;
+        int sampleSize = INITIAL_SAMPLE_SIZE;
+        long roundNanos = 0;
+
+        // A round scores sampleSize^2 pairs, so the next one takes about 4 times as long.
+        do {
+            final long start = clock.getAsLong();
+            final int[][] candidates = sampleCandidates(sampleSize);
+
+            if (candidates.length == 0) {
+                throw new InvalidHintsException("No valid permutations found.");
+            }
+
+            // A single candidate left is the secret code.
+            if (knownCandidates != null && knownCandidates.size() == 1) {
+                setCoverage(1.0);
+                return candidates[0];
+            }
+
+            final int[][] sample = sampleGuesses(candidates, sampleSize);
+            bestGuess = bestGuess(candidates, sample);
+            setCoverage(Math.min(1.0, (double) sample.length / config.totalCodes()));
+
+            roundNanos = clock.getAsLong() - start;
+            sampleSize *= 2;
+        } while (clock.getAsLong() + 4 * roundNanos - deadline < 0
+            && sampleSize <= Math.min(config.totalCodes(), MAX_SAMPLE_SIZE));
+
+        return bestGuess;
+    }
+
+    /**
+     * Scores sampled guesses by the expected number of sampled candidates they leave.
+     *
+     * @param candidates The colors of the sampled candidates.
+     * @param sample     The colors of the sampled guesses.
+     * @return The colors of the guess with the smallest expected remaining size, preferring candidates.
+     */
+    private int[] bestGuess(final int[][] candidates, final int[][] sample) {
+        final int[][] candidateCounts = new int[candidates.length][];
+        final int[] candidateIndices = new int[table == null ? 0 : candidates.length];
+        for (int i = 0; i < candidates.length; ++i) {
+            candidateCounts[i] = colorCounts(candidates[i]);
+            if (table != null) {
+                candidateIndices[i] = (int) config.pack(candidates[i]);
+            }
+        }
+
+        final int winning = config.codeLength() * (config.codeLength() + 1);
+        final int[] histogram = new int[winning + 1];
+        long bestScore = Long.MAX_VALUE;
+        int[] bestGuess = sample[0];
+
+        for (final int[] guess : sample) {
+            Arrays.fill(histogram, 0);
+            if (table != null) {
+                final int index = (int) config.pack(guess);
+                for (final int candidate : candidateIndices) {
+                    ++histogram[table.get(index, candidate)];
+                }
+            } else {
+                final int[] counts = colorCounts(guess);
+                for (int i = 0; i < candidates.length; ++i) {
+                    ++histogram[score(guess, counts, candidates[i], candidateCounts[i])];
+                }
+            }
+
+            // The sum of squared partition sizes is proportional to the expected size;
+            // doubling it makes room for a lower score for candidates, which may win right away.
+            long score = 0;
+            for (int response = 0; response < winning; ++response) {
+                score += (long) histogram[response] * histogram[response];
+            }
+            score = 2 * score + (isConsistent(guess) ? 0 : 1);
+
+            if (score < bestScore) {
+                bestScore = score;
+                bestGuess = guess;
+            }
+        }
+
+        return bestGuess;
+    }
+
+    /**
+     * Draws a uniform sample of the codes consistent with the history, with replacement.
+     * <p>
+     * Random codes are drawn until enough are consistent. If they are too rare, the code space is scanned instead,
+     * and the consistent codes are kept for the rest of the game.
+     *
+     * @param size The number of candidates wanted.
+     * @return The colors of the sampled candidates, empty if no code is consistent.
+     */
+    private int[][] sampleCandidates(final int size) {
+        if (knownCandidates == null) {
+            final int[][] sample = new int[size][];
+            int count = 0;
+
+            for (int tries = 0; tries < REJECTION_TRIES * size && count < size; ++tries) {
+                final int[] code = randomCode();
+
+                if (isConsistent(code)) {
+                    sample[count++] = code;
+                }
+            }
+
+            if (count == size) {
+                return sample;
+            }
+
+            knownCandidates = CodeSet.all(config);
+            knownCandidates.retainIf(code -> isConsistent(config.unpack(code)));
+        }
+
+        final long known = knownCandidates.size();
+        final int[][] sample = new int[(int) Math.min(known, size)][];
+
+        for (int i = 0; i < sample.length; ++i) {
+            sample[i] = config.unpack(knownCandidates.get(known <= size ? i : random.nextLong(known)));
+        }
+
+        return sample;
+    }
+
+    /**
+     * Draws the guesses to score: the distinct sampled candidates, and as many random codes.
+     *
+     * @param candidates The colors of the sampled candidates.
+     * @param size       The number of random codes.
+     * @return The colors of the guesses to score.
+     */
+    private int[][] sampleGuesses(final int[][] candidates, final int size) {
+        final int[][] distinct = Arrays.stream(candidates)
+            .mapToLong(config::pack)
+            .distinct()
+            .mapToObj(config::unpack)
+            .toArray(int[][]::new);
+        final int[][] sample = Arrays.copyOf(distinct, distinct.length + size);
+
+        for (int i = distinct.length; i < sample.length; ++i) {
+            sample[i] = randomCode();
+        }
+
+        return sample;
+    }
+
+    /**
+     * Draws a uniformly random code of the board.
+     *
+     * @return The colors of the code.
+     */
+    private int[] randomCode() {
+        final int[] colors = new int[config.codeLength()];
+        for (int position = 0; position < colors.length; ++position) {
+            colors[position] = random.nextInt(config.totalColors());
+        }
+
+        return colors;
+    }
+
+    /**
+     * Whether a code would have given the same response to every guess so far.
+     *
+     * @param code The colors of the code.
+     * @return true if the code may still be the secret code, and false otherwise.
+     */
+    private boolean isConsistent(final int[] code) {
+        if (table != null) {
+            final int index = (int) config.pack(code);
+            for (int i = 0; i < guessIndices.length; ++i) {
+                if (table.get(guessIndices[i], index) != responses[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        final int[] counts = colorCounts(code);
+
+        for (int i = 0; i < guesses.length; ++i) {
+            if (score(guesses[i], guessCounts[i], code, counts) != responses[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Counts the pegs of each color of a code.
+     *
+     * @param code The colors of the code.
+     * @return The number of pegs of each color.
+     */
+    private int[] colorCounts(final int[] code) {
+        final int[] counts = new int[config.totalColors()];
+        for (final int color : code) {
+            ++counts[color];
+        }
+
+        return counts;
+    }
+
+    /**
+     * Computes the response of a code to a guess, without allocating.
+     *
+     * @param guess       The colors of the guess.
+     * @param guessCounts The number of pegs of each color of the guess.
+     * @param code        The colors of the code.
+     * @param codeCounts  The number of pegs of each color of the code.
+     * @return The response, numbered {@code black * (codeLength + 1) + white}.
+     */
+    private int score(final int[] guess, final int[] guessCounts, final int[] code, final int[] codeCounts) {
+        int black = 0;
+        for (int position = 0; position < guess.length; ++position) {
+            if (guess[position] == code[position]) {
+                ++black;
+            }
+        }
+
+        int common = 0;
+        for (int color = 0; color < guessCounts.length; ++color) {
+            common += Math.min(guessCounts[color], codeCounts[color]);
+        }
+
+        return black * (config.codeLength() + 1) + common - black;
+    }
+}
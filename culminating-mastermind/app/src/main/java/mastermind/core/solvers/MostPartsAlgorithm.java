@@ -0,0 +1,26 @@
+package mastermind.core.solvers;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A solver that plays the guess that splits the remaining permutations into the most partitions, as proposed by Kooi.
+ * <p>
+ * Every possible response to a guess is a partition, so the guess with the most partitions leaves the most distinct outcomes. See {@link ScoringRule#MOST_PARTS}.
+ */
+public class MostPartsAlgorithm extends PartitionAlgorithm {
+    /**
+     * Constructs a new instance of the `MostPartsAlgorithm` class that searches on the common {@link ForkJoinPool}.
+     */
+    public MostPartsAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new instance of the `MostPartsAlgorithm` class that searches for the next guess on the given pool.
+     *
+     * @param pool The pool to split the guess space across, or null to search on the calling thread.
+     */
+    public MostPartsAlgorithm(final ForkJoinPool pool) {
+        super(ScoringRule.MOST_PARTS, pool);
+    }
+}
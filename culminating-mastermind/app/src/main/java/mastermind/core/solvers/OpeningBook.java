@@ -0,0 +1,353 @@
+package mastermind.core.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.utils.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The complete decision tree of a deterministic solver, stored on disk.
+ * <p>
+ * Every node holds the guess to make, and one child per response to that
+ * guess. Playing from the book is thus an O(1) child lookup per move, rather
+ * than a search.
+ * <p>
+ * The file starts with a header of 5 big-endian integers: the magic number,
+ * the format version, {@link Mastermind#CODE_LENGTH},
+ * {@link Mastermind#TOTAL_COLORS}, and the number of nodes. It is followed
+ * by one fixed-size record per node: the code index of the guess, then the
+ * node index of the child of every response index, all as unsigned 16-bit
+ * integers, where {@code 0xFFFF} means there is no child. The root is node 0.
+ * Nodes are stored breadth-first, so every child comes after its parent.
+ * <p>
+ * Every node is checked when a book is loaded, so a corrupt or stale book is
+ * rejected as a whole instead of leading a solver to an invalid guess or node.
+ * <p>
+ * Books are loaded through a read-only memory-mapped buffer, which is safe
+ * to share between threads.
+ */
+public class OpeningBook {
+    /**
+     * Magic number at the start of every book, "MMOB".
+     */
+    private static final int MAGIC = 0x4D4D4F42;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the header in bytes.
+     */
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    /**
+     * Size of a node record in bytes.
+     */
+    private static final int NODE_SIZE = (1 + Response.TOTAL_RESPONSES) * Character.BYTES;
+
+    /**
+     * Unsigned 16-bit value marking a missing child.
+     */
+    private static final char NO_CHILD = 0xFFFF;
+
+    /**
+     * The index of the root node.
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * The memory-mapped contents of the book.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of nodes in the book.
+     */
+    private final int nodeCount;
+
+    /**
+     * Constructs a book from its validated contents.
+     *
+     * @param buffer    the contents of the book
+     * @param nodeCount the number of nodes in the book
+     */
+    private OpeningBook(final ByteBuffer buffer, final int nodeCount) {
+        this.buffer = buffer;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * Holder of the default book, loaded by the JVM on first access.
+     */
+    private static class DefaultHolder {
+        /**
+         * The book at {@link Mastermind#KNUTH_OPENING_BOOK}, or null if it
+         * cannot be used.
+         */
+        private static final OpeningBook BOOK = loadOrNull(Mastermind.KNUTH_OPENING_BOOK);
+    }
+
+    /**
+     * Retrieves the default book of the Donald Knuth algorithm, loading it on
+     * first use.
+     *
+     * @return the book at {@link Mastermind#KNUTH_OPENING_BOOK}, or null if it
+     * is missing or was built for another board
+     */
+    public static OpeningBook getDefault() {
+        return DefaultHolder.BOOK;
+    }
+
+    /**
+     * Loads a book, logging why if it cannot be used.
+     *
+     * @param file the book to load
+     * @return the book, or null if it is missing or invalid
+     */
+    public static OpeningBook loadOrNull(final File file) {
+        try {
+            return load(file);
+        } catch (final IOException | IllegalArgumentException e) {
+            Log.info("Opening book " + file + " is not used: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads a book through a read-only memory-mapped buffer.
+     *
+     * @param file the book to load
+     * @return the book
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a book, or was built
+     *                                  for another board configuration
+     */
+    public static OpeningBook load(final File file) throws IOException {
+        final MappedByteBuffer buffer;
+
+        // The mapping stays valid after the channel is closed.
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r");
+             final FileChannel channel = raf.getChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an opening book");
+        }
+
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported version " + buffer.getInt(4));
+        }
+
+        if (buffer.getInt(8) != Mastermind.CODE_LENGTH || buffer.getInt(12) != Mastermind.TOTAL_COLORS) {
+            throw new IllegalArgumentException("Built for " + buffer.getInt(8) + " positions and "
+                + buffer.getInt(12) + " colors");
+        }
+
+        final int nodeCount = buffer.getInt(16);
+
+        if (nodeCount <= 0 || buffer.capacity() != HEADER_SIZE + (long) nodeCount * NODE_SIZE) {
+            throw new IllegalArgumentException("Truncated opening book");
+        }
+
+        validateNodes(buffer, nodeCount);
+        return new OpeningBook(buffer, nodeCount);
+    }
+
+    /**
+     * Checks that every node of a book holds a valid guess and valid
+     * children.
+     *
+     * @param buffer    the contents of the book
+     * @param nodeCount the number of nodes in the book
+     * @throws IllegalArgumentException if a guess is not a code index, or a
+     *                                  child is not a node after its parent
+     */
+    private static void validateNodes(final ByteBuffer buffer, final int nodeCount) {
+        for (int node = 0; node < nodeCount; ++node) {
+            final int record = HEADER_SIZE + node * NODE_SIZE;
+
+            final int guess = buffer.getChar(record);
+            if (guess >= Code.TOTAL_CODES) {
+                throw new IllegalArgumentException("Corrupt opening book: node " + node + " guesses " + guess);
+            }
+
+            for (int response = 0; response < Response.TOTAL_RESPONSES; ++response) {
+                final char child = buffer.getChar(record + (1 + response) * Character.BYTES);
+
+                // children are written breadth-first, so a child before its parent would be a cycle
+                if (child != NO_CHILD && (child <= node || child >= nodeCount)) {
+                    throw new IllegalArgumentException("Corrupt opening book: node " + node + " has child "
+                        + (int) child + " of " + nodeCount + " nodes");
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of nodes in the book.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Retrieves the guess to make at a node.
+     *
+     * @param node the index of the node
+     * @return the index of the guess, see {@link Code#getIndex()}
+     */
+    public int getGuess(final int node) {
+        return buffer.getChar(HEADER_SIZE + node * NODE_SIZE);
+    }
+
+    /**
+     * Retrieves the node to continue from after a response to the guess of a
+     * node.
+     *
+     * @param node     the index of the node
+     * @param response the response index, see {@link Response}
+     * @return the index of the child, or -1 if the response is impossible or wins
+     */
+    public int getChild(final int node, final int response) {
+        final char child = buffer.getChar(HEADER_SIZE + node * NODE_SIZE + (1 + response) * Character.BYTES);
+        return child == NO_CHILD ? -1 : child;
+    }
+
+    /**
+     * A deterministic solver, as a function of the game so far.
+     */
+    @FunctionalInterface
+    public interface Strategy {
+        /**
+         * Picks the guess to make.
+         *
+         * @param candidates the remaining candidates
+         * @param history    the indices of the guesses made so far
+         * @return the index of the guess, see {@link Code#getIndex()}
+         */
+        int nextGuess(CandidateSet candidates, int[] history);
+    }
+
+    /**
+     * Generates the decision tree of a minimax search and writes it to a file.
+     *
+     * @param search the search that picks the guess at every node
+     * @param file   the file to write
+     * @return the number of nodes written
+     * @throws IOException if the file cannot be written
+     */
+    public static int generate(final GuessSearch search, final File file) throws IOException {
+        // the representatives of the history contain the same best guess as the whole guess space
+        return generate((candidates, history) -> search.findBestGuess(candidates, SymmetryReducer.reduce(history)),
+            file);
+    }
+
+    /**
+     * Generates the decision tree of a strategy and writes it to a file.
+     *
+     * @param strategy the strategy that picks the guess at every node
+     * @param file     the file to write
+     * @return the number of nodes written
+     * @throws IOException if the file cannot be written
+     */
+    public static int generate(final Strategy strategy, final File file) throws IOException {
+        final List<char[]> nodes = new ArrayList<>();
+        final List<CandidateSet> nodeCandidates = new ArrayList<>();
+        final List<int[]> nodeHistories = new ArrayList<>();
+        final int winning = Response.TOTAL_RESPONSES - 1;
+
+        // The root searches the whole code space.
+        nodeCandidates.add(CandidateSet.all());
+        nodeHistories.add(new int[0]);
+        nodes.add(null);
+
+        // Expand the nodes breadth-first; the lists grow as children are added.
+        for (int node = 0; node < nodes.size(); ++node) {
+            final CandidateSet candidates = nodeCandidates.get(node);
+            final int[] history = nodeHistories.get(node);
+            final int guess = strategy.nextGuess(candidates, history);
+            final int[] childHistory = Arrays.copyOf(history, history.length + 1);
+            childHistory[history.length] = guess;
+            final char[] record = new char[1 + Response.TOTAL_RESPONSES];
+            Arrays.fill(record, NO_CHILD);
+            record[0] = (char) guess;
+
+            for (int response = 0; response < winning; ++response) {
+                final CandidateSet childCandidates = candidates.snapshot();
+                childCandidates.retainConsistent(guess, response);
+
+                if (childCandidates.isEmpty()) {
+                    continue;
+                }
+
+                if (nodes.size() >= NO_CHILD) {
+                    throw new IllegalStateException("Too many nodes for an opening book");
+                }
+
+                record[1 + response] = (char) nodes.size();
+                nodeCandidates.add(childCandidates);
+                nodeHistories.add(childHistory);
+                nodes.add(null);
+            }
+
+            nodes.set(node, record);
+            nodeCandidates.set(node, null); // no longer needed
+            nodeHistories.set(node, null);
+        }
+
+        // Write the header, followed by the node records.
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + nodes.size() * NODE_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(Mastermind.CODE_LENGTH)
+            .putInt(Mastermind.TOTAL_COLORS).putInt(nodes.size());
+
+        for (final char[] record : nodes) {
+            for (final char value : record) {
+                buffer.putChar(value);
+            }
+        }
+
+        buffer.flip();
+
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             final FileChannel channel = raf.getChannel()) {
+            channel.truncate(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        return nodes.size();
+    }
+
+    /**
+     * Generates the opening book of the Donald Knuth algorithm.
+     *
+     * @param args the file to write, {@link Mastermind#KNUTH_OPENING_BOOK} by default
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final File file = args.length > 0 ? new File(args[0]) : Mastermind.KNUTH_OPENING_BOOK;
+        final long start = System.nanoTime();
+
+        final int nodeCount = generate(new GuessSearch(ForkJoinPool.commonPool()), file);
+
+        Log.info("Wrote " + nodeCount + " nodes (" + file.length() + " bytes) to " + file + " in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
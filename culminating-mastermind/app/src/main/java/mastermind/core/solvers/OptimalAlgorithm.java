@@ -0,0 +1,217 @@
+package mastermind.core.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.utils.Tuple2;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A solver that plays the strategy with the minimum expected number of guesses.
+ * <p>
+ * The strategy is played from {@link Mastermind#OPTIMAL_STRATEGY}, which is generated by
+ * {@link OptimalStrategySearch}. If the file is not available, or the game leaves it, the next guess is
+ * searched exactly instead, which is only fast once a few guesses have been made. The first guess of the
+ * strategy is known, so it is never searched.
+ * <p>
+ * The exact search cannot be cut short, so within a time budget, see {@link #guess(Response, Duration)}, a
+ * game the strategy does not cover is played by the {@link ScoringRule#EXPECTED_SIZE} rule instead, which
+ * comes closest to the optimal strategy among the rules.
+ * <p>
+ * A snapshot of the permutations is saved before every response, so responses can be undone, see
+ * {@link #undo(int)}.
+ */
+public class OptimalAlgorithm extends MastermindAlgorithm {
+    /**
+     * Lazily loads the default strategy the first time it is needed.
+     */
+    private static class DefaultHolder {
+        /**
+         * The default strategy, or null if it could not be loaded.
+         */
+        private static final OpeningBook STRATEGY = OpeningBook.loadOrNull(Mastermind.OPTIMAL_STRATEGY);
+    }
+
+    /**
+     * The first guess of the optimal strategy, 1123 in the notation of Koyama and Lai.
+     */
+    private static final int FIRST_GUESS = 8;
+
+    /**
+     * The previous guess made by the algorithm.
+     */
+    private Code previousGuess = null;
+
+    /**
+     * The indices of every guess made by the algorithm, in order.
+     */
+    private int[] history = new int[0];
+
+    /**
+     * A set containing all possible permutations of the secret code.
+     */
+    private CandidateSet permutations = CandidateSet.all();
+
+    /**
+     * The exact search used when the game is not covered by the strategy.
+     */
+    private final OptimalStrategySearch search;
+
+    /**
+     * The search used within a time budget when the game is not covered by the strategy.
+     */
+    private final PartitionEngine engine;
+
+    /**
+     * The strategy to play from, or null to always search.
+     */
+    private final OpeningBook strategy;
+
+    /**
+     * The node of {@link #strategy} of the previous guess, or -1 once the game has left the strategy.
+     */
+    private int strategyNode;
+
+    /**
+     * Constructs a new instance of the `OptimalAlgorithm` class that plays from the default strategy.
+     */
+    public OptimalAlgorithm() {
+        this(ForkJoinPool.commonPool(), DefaultHolder.STRATEGY);
+    }
+
+    /**
+     * Constructs a new instance of the `OptimalAlgorithm` class that plays from the given strategy, and
+     * searches for the next guess on the given pool once the game leaves the strategy.
+     *
+     * @param pool     The pool to split the search across, or null to search on the calling thread.
+     * @param strategy The strategy to play from, or null to always search.
+     */
+    public OptimalAlgorithm(final ForkJoinPool pool, final OpeningBook strategy) {
+        this.search = new OptimalStrategySearch(pool);
+        this.engine = new PartitionEngine(pool);
+        this.strategy = strategy;
+        this.strategyNode = strategy == null ? -1 : OpeningBook.ROOT;
+    }
+
+    /**
+     * Determines the initial guess for the Mastermind game.
+     *
+     * @return The initial guess to be made by the algorithm.
+     * @throws IllegalCallerException If this method is invoked for subsequent guesses.
+     */
+    @Override
+    public Code guess() {
+        if (!isInitialGuess()) { // if not initial guess: should not be called: throws exception
+            throw new IllegalCallerException("guess() is meant for the first guess.");
+        }
+
+        hasExceededMaxGuesses(); // checks if max guesses exceeded
+
+        final Code nextGuess = CodeFactory.fromIndex(strategyNode >= 0 ? strategy.getGuess(strategyNode) : FIRST_GUESS);
+        recordGuess(nextGuess);
+
+        return nextGuess;
+    }
+
+    /**
+     * Produces the next guess in the Mastermind game based on the feedback from the previous guess.
+     *
+     * @param response The feedback received for the previous guess.
+     * @return A {@code Tuple2<Status, Code>} object with the current game status and the next guess to be made.
+     * @throws IllegalCallerException If this method is invoked for the initial guess.
+     * @throws InvalidHintsException  If no permutation is consistent with the hints.
+     */
+    @Override
+    public Tuple2<Status, Code> guess(final Response response) throws InvalidHintsException {
+        return guess(response, null); // search exactly, without a budget
+    }
+
+    /**
+     * Produces the next guess like {@link #guess(Response)}, but plays by the
+     * {@link ScoringRule#EXPECTED_SIZE} rule within the budget when the strategy does not cover the game.
+     *
+     * @param response The feedback received for the previous guess.
+     * @param budget   The time to search for the guess, or null to search exactly.
+     * @return A {@code Tuple2<Status, Code>} object with the current game status and the next guess to be made.
+     * @throws IllegalCallerException If this method is invoked for the initial guess.
+     * @throws InvalidHintsException  If no permutation is consistent with the hints.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public Tuple2<Status, Code> guess(final Response response, final Duration budget) throws InvalidHintsException {
+        if (isInitialGuess()) { // if initial guess: should not be called: invalid
+            throw new IllegalCallerException("guess(Response) is meant for subsequent guesses.");
+        }
+
+        // save the state before the response, so that the response can be undone
+        final CandidateSet savedPermutations = permutations.snapshot();
+        final Code savedGuess = previousGuess;
+        final int[] savedHistory = history;
+        final int savedNode = strategyNode;
+        saveCheckpoint(() -> {
+            permutations = savedPermutations;
+            previousGuess = savedGuess;
+            history = savedHistory;
+            strategyNode = savedNode;
+        });
+
+        // check if the player has won or lost and return accordingly
+        if (response.getResponse().first() >= Mastermind.CODE_LENGTH) {
+            return new Tuple2<>(Status.Win, previousGuess);
+        } else if (hasExceededMaxGuesses()) {
+            return new Tuple2<>(Status.Lose, previousGuess);
+        }
+
+        // keep only the permutations that would have given the same response
+        permutations.retainConsistent(previousGuess.getIndex(), response.getIndex());
+
+        final Code nextGuess = findNextGuess(response, budget);
+        recordGuess(nextGuess);
+
+        return new Tuple2<>(Status.Continue, nextGuess);
+    }
+
+    /**
+     * Follows the strategy while it covers the game, and searches for the next guess otherwise.
+     *
+     * @param response The response to the previous guess.
+     * @param budget   The time to search for the guess, or null to search exactly.
+     * @return The next guess.
+     * @throws InvalidHintsException If no permutation is consistent with the hints.
+     */
+    private Code findNextGuess(final Response response, final Duration budget) {
+        setCoverage(1.0);
+
+        if (strategyNode >= 0) {
+            strategyNode = strategy.getChild(strategyNode, response.getIndex());
+
+            if (strategyNode >= 0) {
+                return CodeFactory.fromIndex(strategy.getGuess(strategyNode));
+            }
+        }
+
+        if (budget == null) {
+            return CodeFactory.fromIndex(search.findBestGuess(permutations, history));
+        }
+
+        // the exact search has no deadline, so search by the closest rule within the budget
+        final SearchResult result = engine.search(permutations, SymmetryReducer.reduce(history), budget,
+            ScoringRule.EXPECTED_SIZE);
+        setCoverage(result.coverage());
+
+        return CodeFactory.fromIndex(result.guess());
+    }
+
+    /**
+     * Records a guess as the previous guess, and appends it to the history.
+     */
+    private void recordGuess(final Code guess) {
+        previousGuess = guess;
+        history = Arrays.copyOf(history, history.length + 1);
+        history[history.length - 1] = guess.getIndex();
+    }
+}
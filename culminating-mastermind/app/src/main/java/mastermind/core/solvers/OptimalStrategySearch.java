@@ -0,0 +1,606 @@
+package mastermind.core.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import mastermind.utils.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exact search for the strategy with the minimum expected number of guesses.
+ * <p>
+ * The cost of a set of candidates is the total number of guesses needed to
+ * solve every one of them. A guess costs one guess per candidate, plus the
+ * cost of every partition it leaves, except the candidate it wins right away.
+ * The search minimizes the cost depth-first, with:
+ * <ul>
+ *     <li>a lower bound on the cost of any set of a given size, from the best
+ *     conceivable tree with one child per response, so that guesses whose
+ *     partitions cannot beat the best guess so far are never searched;</li>
+ *     <li>a budget passed down to every partition, so that a guess is abandoned
+ *     as soon as it cannot beat the best guess so far;</li>
+ *     <li>memoization of the exact cost, or of a lower bound when the budget ran
+ *     out, of every candidate set, since many histories leave the same set;</li>
+ *     <li>only one guess per equivalence class, see {@link SymmetryReducer}, and
+ *     only one guess per distinct partition of the candidates;</li>
+ *     <li>candidates searched before the other codes, which are only searched
+ *     when their lower bound can beat the best candidate;</li>
+ *     <li>the guesses of the top levels searched in parallel on a
+ *     {@link ForkJoinPool}, with a shared bound.</li>
+ * </ul>
+ * Ties are broken in favor of candidates, then the smaller lower bound, then
+ * the lowest code index, so the strategy is the same for every history and
+ * every number of threads.
+ * <p>
+ * For 4 positions and 6 colors, the optimal strategy takes 5625 guesses over
+ * all secret codes, i.e., 4.340 on average, as found by Koyama and Lai. The
+ * strategy is written as an {@link OpeningBook} by {@link #main(String[])}.
+ */
+public class OptimalStrategySearch {
+    /**
+     * Number of levels from the root whose guesses are searched in parallel.
+     */
+    private static final int PARALLEL_DEPTH = 2;
+
+    /**
+     * Sets smaller than this are cheaper to search again than to memoize.
+     */
+    private static final int MEMO_MIN_SIZE = 6;
+
+    /**
+     * Index of the winning response.
+     */
+    private static final int WINNING = Response.TOTAL_RESPONSES - 1;
+
+    /**
+     * The guess of a result whose cost is only a lower bound.
+     */
+    private static final int NO_GUESS = -1;
+
+    /**
+     * A cost that exceeds the cost of every strategy.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    /**
+     * Lower bounds on the cost of sets by size, when the first guess may be a
+     * candidate, and when it is not, respectively.
+     */
+    private static final int[][] LOWER_BOUNDS = lowerBounds();
+
+    /**
+     * The pool to search the top levels in, or null to search on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The results of the sets searched so far, see {@link #pack(int, int)}.
+     */
+    private final ConcurrentHashMap<CandidateSet, Long> memo = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a search that runs on the calling thread.
+     */
+    public OptimalStrategySearch() {
+        this(null);
+    }
+
+    /**
+     * Constructs a search that splits the top levels across a pool.
+     *
+     * @param pool the pool to search in, or null to search on the calling thread
+     */
+    public OptimalStrategySearch(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the minimum total number of guesses to solve every candidate.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @param history    the indices of the guesses that left the candidates
+     * @return the cost of the optimal strategy
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public int solve(final CandidateSet candidates, final int[] history) {
+        return costOf(search(candidates, history));
+    }
+
+    /**
+     * Finds the first guess of the optimal strategy.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @param history    the indices of the guesses that left the candidates
+     * @return the index of the guess, see {@link Code#getIndex()}
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public int findBestGuess(final CandidateSet candidates, final int[] history) {
+        return guessOf(search(candidates, history));
+    }
+
+    /**
+     * Retrieves the number of memoized candidate sets.
+     *
+     * @return the size of the memo
+     */
+    public int getMemoSize() {
+        return memo.size();
+    }
+
+    /**
+     * Retrieves a lower bound on the cost of any set of candidates of a size.
+     *
+     * @param size the number of candidates
+     * @return the lower bound
+     */
+    public static int lowerBound(final int size) {
+        return LOWER_BOUNDS[0][size];
+    }
+
+    /**
+     * Runs the search to completion, in the pool if there is one.
+     *
+     * @param candidates the remaining candidates
+     * @param history    the indices of the guesses that left the candidates
+     * @return the exact result
+     */
+    private long search(final CandidateSet candidates, final int[] history) {
+        if (candidates.isEmpty()) {
+            throw new InvalidHintsException("No valid permutations found.");
+        }
+
+        final CandidateSet root = candidates.snapshot(); // the caller may modify its set afterward
+
+        return pool == null
+            ? search(root, history, INFINITY, 0)
+            : pool.invoke(ForkJoinTask.adapt(() -> search(root, history, INFINITY, 0)));
+    }
+
+    /**
+     * Searches the optimal strategy for a set of candidates, within a budget.
+     *
+     * @param candidates the remaining candidates, not modified
+     * @param history    the indices of the guesses that left the candidates
+     * @param limit      the budget, a cost at or above which the search may stop
+     * @param depth      the number of levels from the root of the search
+     * @return the exact cost and best guess if the cost is below the limit, and
+     * otherwise a lower bound at or above the limit, without a guess
+     */
+    private long search(final CandidateSet candidates, final int[] history, final int limit, final int depth) {
+        final int size = candidates.size();
+
+        // One candidate is guessed right away, two are guessed one after the other.
+        if (size <= 2) {
+            return pack(2 * size - 1, candidates.first());
+        }
+
+        if (LOWER_BOUNDS[0][size] >= limit) {
+            return pack(LOWER_BOUNDS[0][size], NO_GUESS);
+        }
+
+        final boolean memoize = size >= MEMO_MIN_SIZE;
+        if (memoize) {
+            final Long known = memo.get(candidates);
+
+            if (known != null && (guessOf(known) != NO_GUESS || costOf(known) >= limit)) {
+                return known;
+            }
+        }
+
+        final long result = pool != null && depth < PARALLEL_DEPTH
+            ? searchParallel(candidates, history, limit, depth)
+            : searchSequential(candidates, history, limit, depth);
+
+        if (memoize) {
+            // keep the exact result, or the tightest lower bound
+            memo.merge(candidates, result, (previous, current) -> {
+                if (guessOf(previous) != NO_GUESS || guessOf(current) != NO_GUESS) {
+                    return guessOf(previous) != NO_GUESS ? previous : current;
+                }
+
+                return costOf(previous) >= costOf(current) ? previous : current;
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * Searches the guesses one after another, stopping at the first guess whose
+     * lower bound cannot beat the best guess so far.
+     *
+     * @param candidates the remaining candidates, not modified
+     * @param history    the indices of the guesses that left the candidates
+     * @param limit      the budget
+     * @param depth      the number of levels from the root of the search
+     * @return the result, see {@link #search(CandidateSet, int[], int, int)}
+     */
+    private long searchSequential(final CandidateSet candidates,
+                                  final int[] history,
+                                  final int limit,
+                                  final int depth) {
+        final int size = candidates.size();
+        final int[] codes = candidates.toArray();
+        final int[] guesses = SymmetryReducer.reduce(history);
+        final Set<Partition> seen = new HashSet<>();
+
+        int bestCost = limit;
+        int bestGuess = NO_GUESS;
+        int bound = INFINITY; // the smallest lower bound of the guesses that cannot beat the limit
+
+        // Candidates first, then the other codes if they can still be strictly better.
+        for (int phase = 0; phase < 2; ++phase) {
+            final boolean candidatePhase = phase == 0;
+
+            if (!candidatePhase && LOWER_BOUNDS[1][size] >= bestCost) {
+                bound = Math.min(bound, LOWER_BOUNDS[1][size]);
+                break;
+            }
+
+            for (final Move move : moves(candidates, codes, guesses, candidatePhase, seen)) {
+                if (move.lowerBound >= bestCost) {
+                    bound = Math.min(bound, move.lowerBound);
+                    break; // the moves are sorted by lower bound
+                }
+
+                final int cost = evaluate(move, candidates, history, bestCost, depth);
+
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestGuess = move.guess;
+                } else {
+                    bound = Math.min(bound, cost);
+                }
+            }
+        }
+
+        return bestGuess == NO_GUESS ? pack(Math.max(bound, limit), NO_GUESS) : pack(bestCost, bestGuess);
+    }
+
+    /**
+     * Searches the guesses in parallel, sharing the best guess so far.
+     *
+     * @param candidates the remaining candidates, not modified
+     * @param history    the indices of the guesses that left the candidates
+     * @param limit      the budget
+     * @param depth      the number of levels from the root of the search
+     * @return the result, see {@link #search(CandidateSet, int[], int, int)}
+     */
+    private long searchParallel(final CandidateSet candidates,
+                                final int[] history,
+                                final int limit,
+                                final int depth) {
+        final int[] codes = candidates.toArray();
+        final int[] guesses = SymmetryReducer.reduce(history);
+        final Set<Partition> seen = new HashSet<>();
+
+        // Every move, in the order of the tie-breaking.
+        final List<Move> moves = new ArrayList<>(moves(candidates, codes, guesses, true, seen));
+        moves.addAll(moves(candidates, codes, guesses, false, seen));
+
+        // The cost of the best move in the high half, and its position plus one in the low half, or 0 for the limit.
+        final AtomicLong best = new AtomicLong(pack(limit, 0));
+        final AtomicInteger bound = new AtomicInteger(INFINITY);
+        final List<RecursiveAction> tasks = new ArrayList<>(moves.size());
+
+        for (int i = 0; i < moves.size(); ++i) {
+            final int order = i;
+            final Move move = moves.get(order);
+
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    // A move before the best move wins ties, a move after it must be strictly better.
+                    final long current = best.get();
+                    final int bestOrder = guessOf(current) - 1;
+                    final int budget = bestOrder >= 0 && order < bestOrder ? costOf(current) + 1 : costOf(current);
+
+                    final int cost = move.lowerBound >= budget
+                        ? move.lowerBound
+                        : evaluate(move, candidates, history, budget, depth);
+
+                    if (cost < budget) {
+                        best.accumulateAndGet(pack(cost, order + 1), Math::min);
+                    } else {
+                        bound.accumulateAndGet(cost, Math::min);
+                    }
+                }
+            });
+        }
+
+        ForkJoinTask.invokeAll(tasks);
+
+        final long result = best.get();
+        if (guessOf(result) == 0) {
+            return pack(Math.max(bound.get(), limit), NO_GUESS);
+        }
+
+        return pack(costOf(result), moves.get(guessOf(result) - 1).guess);
+    }
+
+    /**
+     * Computes the cost of a move, stopping as soon as it cannot be below the budget.
+     *
+     * @param move       the move
+     * @param candidates the remaining candidates, not modified
+     * @param history    the indices of the guesses that left the candidates
+     * @param budget     the cost at or above which the move is abandoned
+     * @param depth      the number of levels from the root of the search
+     * @return the exact cost if it is below the budget, and otherwise a lower bound at or above the budget
+     */
+    private int evaluate(final Move move,
+                         final CandidateSet candidates,
+                         final int[] history,
+                         final int budget,
+                         final int depth) {
+        final int[] childHistory = Arrays.copyOf(history, history.length + 1);
+        childHistory[history.length] = move.guess;
+
+        int total = candidates.size(); // every candidate pays for this guess
+        int remaining = move.lowerBound - total; // the lower bounds of the partitions not searched yet
+
+        // Search the largest partitions first, since they are the most likely to exceed the budget.
+        for (int i = 0; i < move.responses.length; ++i) {
+            final int partitionSize = move.sizes[i];
+            remaining -= LOWER_BOUNDS[0][partitionSize];
+
+            if (partitionSize <= 2) {
+                total += LOWER_BOUNDS[0][partitionSize]; // exact for sets of one or two
+                continue;
+            }
+
+            final CandidateSet partition = candidates.snapshot();
+            partition.retainConsistent(move.guess, move.responses[i]);
+
+            total += costOf(search(partition, childHistory, budget - total - remaining, depth + 1));
+
+            if (total + remaining >= budget) {
+                return total + remaining;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Lists the guesses worth searching, one per distinct partition, sorted by lower bound.
+     *
+     * @param candidates    the remaining candidates
+     * @param codes         the remaining candidates, as an array of code indices
+     * @param guesses       the guess space, in ascending order
+     * @param candidatePhase whether to list the candidates, or the other codes
+     * @param seen          the partitions listed so far, updated
+     * @return the moves, sorted by lower bound, then code index
+     */
+    private static List<Move> moves(final CandidateSet candidates,
+                                    final int[] codes,
+                                    final int[] guesses,
+                                    final boolean candidatePhase,
+                                    final Set<Partition> seen) {
+        final List<Move> moves = new ArrayList<>();
+        final int[] histogram = new int[Response.TOTAL_RESPONSES];
+        final int[] labels = new int[Response.TOTAL_RESPONSES];
+
+        for (final int guess : guesses) {
+            if (candidates.contains(guess) != candidatePhase) {
+                continue;
+            }
+
+            // Label the partition of every candidate in order of first appearance, keeping the winning response apart.
+            Arrays.fill(histogram, 0);
+            Arrays.fill(labels, -1);
+            final byte[] partition = new byte[codes.length];
+            int nextLabel = 0;
+
+            for (int i = 0; i < codes.length; ++i) {
+                final int response = ResponseTable.get(guess, codes[i]);
+                ++histogram[response];
+
+                if (response == WINNING) {
+                    partition[i] = -1;
+                } else {
+                    if (labels[response] < 0) {
+                        labels[response] = nextLabel++;
+                    }
+
+                    partition[i] = (byte) labels[response];
+                }
+            }
+
+            // A guess that leaves every candidate in the same partition makes no progress.
+            if (nextLabel == 1 && histogram[WINNING] == 0) {
+                continue;
+            }
+
+            // Guesses with the same partition lead to the same sets, so only the lowest index is kept.
+            if (!seen.add(new Partition(partition))) {
+                continue;
+            }
+
+            int lowerBound = codes.length;
+            int count = 0;
+            final int[] responses = new int[Response.TOTAL_RESPONSES];
+
+            for (int response = 0; response < WINNING; ++response) {
+                if (histogram[response] > 0) {
+                    lowerBound += LOWER_BOUNDS[0][histogram[response]];
+                    responses[count++] = response;
+                }
+            }
+
+            // Sort the responses by descending partition size.
+            final Integer[] order = new Integer[count];
+            for (int i = 0; i < count; ++i) {
+                order[i] = responses[i];
+            }
+            Arrays.sort(order, Comparator.comparingInt((Integer response) -> -histogram[response]));
+
+            final int[] sortedResponses = new int[count];
+            final int[] sizes = new int[count];
+            for (int i = 0; i < count; ++i) {
+                sortedResponses[i] = order[i];
+                sizes[i] = histogram[order[i]];
+            }
+
+            moves.add(new Move(guess, lowerBound, sortedResponses, sizes));
+        }
+
+        // a stable sort keeps the code index order among equal lower bounds
+        moves.sort(Comparator.comparingInt(Move::lowerBound));
+        return moves;
+    }
+
+    /**
+     * Computes the lower bounds on the cost of sets of every size.
+     * <p>
+     * A guess wins at most one candidate, and splits the others into at most one
+     * partition per non-winning response, each of which costs at least the lower
+     * bound of its size. The cheapest way to split is found by dynamic programming.
+     *
+     * @return the lower bounds when the first guess may be a candidate, and when it is not
+     */
+    private static int[][] lowerBounds() {
+        final int maxSize = Code.TOTAL_CODES;
+        final int parts = possibleResponses() - 1; // every response but the winning one
+        final int[] bounds = new int[maxSize + 1];
+        final int[] outsideBounds = new int[maxSize + 1];
+
+        // split[k][m]: the smallest total lower bound of m candidates split into at most k partitions
+        final int[][] split = new int[parts + 1][maxSize + 1];
+        Arrays.fill(split[0], 1, maxSize + 1, INFINITY);
+
+        for (int size = 1; size <= maxSize; ++size) {
+            // a candidate guess wins one candidate and splits the others, a non-candidate splits them all
+            bounds[size] = size + split[parts][size - 1];
+
+            for (int k = 1; k <= parts; ++k) {
+                int best = split[k - 1][size];
+                for (int first = 1; first <= size; ++first) {
+                    best = Math.min(best, bounds[first] + split[k - 1][size - first]);
+                }
+                split[k][size] = best;
+            }
+
+            outsideBounds[size] = size + split[parts][size];
+        }
+
+        return new int[][]{bounds, outsideBounds};
+    }
+
+    /**
+     * Counts the responses that can actually be given, e.g., 3 black pegs and 1 white peg cannot.
+     *
+     * @return the number of possible responses, including the winning one
+     */
+    private static int possibleResponses() {
+        final boolean[] possible = new boolean[Response.TOTAL_RESPONSES];
+        for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+            for (int secret = 0; secret < Code.TOTAL_CODES; ++secret) {
+                possible[ResponseTable.get(guess, secret)] = true;
+            }
+        }
+
+        int count = 0;
+        for (final boolean isPossible : possible) {
+            if (isPossible) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Packs a cost and a guess into a result.
+     *
+     * @param cost  the cost
+     * @param guess the guess, or {@link #NO_GUESS}
+     * @return the packed result
+     */
+    private static long pack(final int cost, final int guess) {
+        return ((long) cost << 32) | (guess & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Unpacks the cost of a result.
+     *
+     * @param result the packed result
+     * @return the cost
+     */
+    private static int costOf(final long result) {
+        return (int) (result >>> 32);
+    }
+
+    /**
+     * Unpacks the guess of a result.
+     *
+     * @param result the packed result
+     * @return the guess, or {@link #NO_GUESS}
+     */
+    private static int guessOf(final long result) {
+        return (int) result;
+    }
+
+    /**
+     * A guess worth searching, with its partitions.
+     *
+     * @param guess      the index of the guess
+     * @param lowerBound the lower bound on the cost of the guess
+     * @param responses  the non-winning responses with a non-empty partition, by descending size
+     * @param sizes      the sizes of the partitions, in the order of the responses
+     */
+    private record Move(int guess, int lowerBound, int[] responses, int[] sizes) {
+    }
+
+    /**
+     * The partition of the candidates by a guess, as a label per candidate.
+     *
+     * @param labels the label of the partition of every candidate, -1 for the winning one
+     */
+    private record Partition(byte[] labels) {
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Partition other && Arrays.equals(labels, other.labels);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(labels);
+        }
+    }
+
+    /**
+     * Searches the optimal strategy and writes it as an opening book.
+     *
+     * @param args the file to write, {@link Mastermind#OPTIMAL_STRATEGY} by default
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final File file = args.length > 0 ? new File(args[0]) : Mastermind.OPTIMAL_STRATEGY;
+        final OptimalStrategySearch search = new OptimalStrategySearch(ForkJoinPool.commonPool());
+        final long start = System.nanoTime();
+
+        final int cost = search.solve(CandidateSet.all(), new int[0]);
+        Log.info("Optimal strategy: " + cost + " guesses, average "
+            + String.format("%.4f", (double) cost / Code.TOTAL_CODES) + ", " + search.getMemoSize()
+            + " sets memoized, in " + (System.nanoTime() - start) / 1_000_000_000 + " s");
+
+        final int nodeCount = OpeningBook.generate(search::findBestGuess, file);
+        Log.info("Wrote " + nodeCount + " nodes (" + file.length() + " bytes) to " + file);
+    }
+}
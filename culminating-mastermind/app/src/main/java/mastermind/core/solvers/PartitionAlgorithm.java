@@ -0,0 +1,208 @@
+package mastermind.core.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.utils.Tuple2;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The base class of the solvers that pick every guess, including the first, by a {@link ScoringRule}.
+ * <p>
+ * After each response, the permutations that are no longer possible are removed, and the guess whose
+ * partition of the remaining permutations is best by the rule is played. Guesses are searched by a shared
+ * {@link PartitionEngine}, among the representatives of {@link SymmetryReducer}, and cached by remaining
+ * permutations in a {@link TranspositionCache} per rule. The partition histograms are kept across moves in
+ * {@link PartitionHistograms}, so each move only pays for the permutations it removes.
+ * <p>
+ * A snapshot of the permutations is saved before every response, so responses can be undone, see
+ * {@link #undo(int)}.
+ */
+public abstract class PartitionAlgorithm extends MastermindAlgorithm {
+    /**
+     * The caches of next guesses shared by all instances, one per rule.
+     */
+    private static final Map<ScoringRule, TranspositionCache> SHARED_CACHES = new EnumMap<>(ScoringRule.class);
+
+    static {
+        for (final ScoringRule rule : ScoringRule.values()) {
+            SHARED_CACHES.put(rule, new TranspositionCache());
+        }
+    }
+
+    /**
+     * The rule to score guesses by.
+     */
+    private final ScoringRule rule;
+
+    /**
+     * The search used to find the next guess.
+     */
+    private final PartitionEngine engine;
+
+    /**
+     * The cache of next guesses by remaining permutations for {@link #rule}.
+     */
+    private final TranspositionCache cache;
+
+    /**
+     * The previous guess made by the algorithm.
+     */
+    private Code previousGuess = null;
+
+    /**
+     * The indices of every guess made by the algorithm, in order.
+     */
+    private int[] history = new int[0];
+
+    /**
+     * A set containing all possible permutations of the secret code.
+     */
+    private CandidateSet permutations = CandidateSet.all();
+
+    /**
+     * The partition histograms of the guesses, kept across moves.
+     */
+    private final PartitionHistograms histograms = new PartitionHistograms();
+
+    /**
+     * Constructs a solver that scores guesses by the given rule, searching for them on the given pool.
+     *
+     * @param rule The rule to score guesses by.
+     * @param pool The pool to split the guess space across, or null to search on the calling thread.
+     */
+    protected PartitionAlgorithm(final ScoringRule rule, final ForkJoinPool pool) {
+        this.rule = rule;
+        this.engine = new PartitionEngine(pool);
+        this.cache = SHARED_CACHES.get(rule);
+    }
+
+    /**
+     * Determines the initial guess for the Mastermind game, the best guess by the rule among all codes.
+     *
+     * @return The initial guess to be made by the algorithm.
+     * @throws IllegalCallerException If this method is invoked for subsequent guesses.
+     */
+    @Override
+    public Code guess() {
+        if (!isInitialGuess()) { // if not initial guess: should not be called: throws exception
+            throw new IllegalCallerException("guess() is meant for the first guess.");
+        }
+
+        hasExceededMaxGuesses(); // checks if max guesses exceeded
+
+        final Code nextGuess = findNextGuess(null);
+        recordGuess(nextGuess);
+
+        return nextGuess;
+    }
+
+    /**
+     * Produces the next guess in the Mastermind game based on the feedback from the previous guess.
+     *
+     * @param response The feedback received for the previous guess.
+     * @return A {@code Tuple2<Status, Code>} object with the current game status and the next guess to be made.
+     * @throws IllegalCallerException If this method is invoked for the initial guess.
+     * @throws InvalidHintsException  If no permutation is consistent with the hints.
+     */
+    @Override
+    public Tuple2<Status, Code> guess(final Response response) throws InvalidHintsException {
+        return guess(response, null); // search without a budget
+    }
+
+    /**
+     * Produces the next guess like {@link #guess(Response)}, but stops searching once the budget has elapsed.
+     * <p>
+     * The candidates are scored first, so the guess is at least a possible secret code. Only complete guesses
+     * are cached.
+     *
+     * @param response The feedback received for the previous guess.
+     * @param budget   The time to search for the guess, or null for no limit.
+     * @return A {@code Tuple2<Status, Code>} object with the current game status and the next guess to be made.
+     * @throws IllegalCallerException If this method is invoked for the initial guess.
+     * @throws InvalidHintsException  If no permutation is consistent with the hints.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public Tuple2<Status, Code> guess(final Response response, final Duration budget) throws InvalidHintsException {
+        if (isInitialGuess()) { // if initial guess: should not be called: invalid
+            throw new IllegalCallerException("guess(Response) is meant for subsequent guesses.");
+        }
+
+        // save the state before the response, so that the response can be undone
+        final CandidateSet savedPermutations = permutations.snapshot();
+        final Code savedGuess = previousGuess;
+        final int[] savedHistory = history;
+        saveCheckpoint(() -> {
+            permutations = savedPermutations;
+            previousGuess = savedGuess;
+            history = savedHistory;
+        });
+
+        // check if the player has won or lost and return accordingly
+        if (response.getResponse().first() >= Mastermind.CODE_LENGTH) {
+            return new Tuple2<>(Status.Win, previousGuess);
+        } else if (hasExceededMaxGuesses()) {
+            return new Tuple2<>(Status.Lose, previousGuess);
+        }
+
+        // keep only the permutations that would have given the same response
+        permutations.retainConsistent(previousGuess.getIndex(), response.getIndex());
+
+        final Code nextGuess = findNextGuess(budget);
+        recordGuess(nextGuess);
+
+        return new Tuple2<>(Status.Continue, nextGuess);
+    }
+
+    /**
+     * Retrieves the rule this solver scores guesses by.
+     *
+     * @return The scoring rule.
+     */
+    public ScoringRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Finds the best guess by the rule for the remaining permutations, unless it is cached.
+     *
+     * @param budget The time to search for the guess, or null for no limit.
+     * @return The next guess.
+     * @throws InvalidHintsException If no permutation is consistent with the hints.
+     */
+    private Code findNextGuess(final Duration budget) {
+        setCoverage(1.0);
+
+        final int cached = cache.get(permutations);
+        if (cached >= 0) {
+            return CodeFactory.fromIndex(cached);
+        }
+
+        // search within the budget, and only cache the guess if every guess was scored
+        final SearchResult result = engine.search(histograms, permutations, SymmetryReducer.reduce(history), budget,
+            rule);
+        setCoverage(result.coverage());
+
+        if (result.isComplete()) {
+            cache.put(permutations, result.guess());
+        }
+
+        return CodeFactory.fromIndex(result.guess());
+    }
+
+    /**
+     * Records a guess as the previous guess, and appends it to the history.
+     */
+    private void recordGuess(final Code guess) {
+        previousGuess = guess;
+        history = Arrays.copyOf(history, history.length + 1);
+        history[history.length - 1] = guess.getIndex();
+    }
+}
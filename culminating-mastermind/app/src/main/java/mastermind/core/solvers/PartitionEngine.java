@@ -0,0 +1,279 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Search for the next guess by a {@link ScoringRule}.
+ * <p>
+ * For every guess of the guess space, the partition histogram of the remaining
+ * candidates is computed, then scored by the rule. Ties are broken in favor of
+ * guesses that are candidates themselves, then the lowest code index, as in
+ * {@link GuessSearch}.
+ * <p>
+ * With a {@link ForkJoinPool}, the guess space is split into ranges that are
+ * searched in parallel by the {@link GuessSearch.RangeTask} of
+ * {@link GuessSearch}, so the result is identical to the sequential search.
+ * <p>
+ * With a time budget, the candidates are scored before the other codes, and
+ * the search stops once the budget has elapsed, as in {@link GuessSearch}.
+ * <p>
+ * With {@link PartitionHistograms}, the histograms are kept across the moves
+ * of a game and updated from the removed candidates, instead of being
+ * recounted from the remaining candidates at every move.
+ */
+public class PartitionEngine {
+    /**
+     * Best guess of a range without any guess, worse than every other guess.
+     */
+    private static final long[] NO_GUESS = {Long.MAX_VALUE, Long.MAX_VALUE};
+
+    /**
+     * All code indices in ascending order, the unreduced guess space.
+     */
+    private static final int[] ALL_GUESSES = CandidateSet.all().toArray();
+
+    /**
+     * The pool to search in, or null to search on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs an engine that runs on the calling thread.
+     */
+    public PartitionEngine() {
+        this(null);
+    }
+
+    /**
+     * Constructs an engine that splits the guess space across a pool.
+     *
+     * @param pool the pool to search in, or null to search on the calling thread
+     */
+    public PartitionEngine(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the best guess by a rule, among all codes.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @param rule       the rule to score guesses by
+     * @return the index of the best guess, see {@link Code#getIndex()}
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public int findBestGuess(final CandidateSet candidates, final ScoringRule rule) {
+        return findBestGuess(candidates, ALL_GUESSES, rule);
+    }
+
+    /**
+     * Finds the best guess by a rule, among the given guesses.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @param guesses    the indices of the guesses to score, in ascending order
+     * @param rule       the rule to score guesses by
+     * @return the index of the best guess, see {@link Code#getIndex()}
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public int findBestGuess(final CandidateSet candidates, final int[] guesses, final ScoringRule rule) {
+        return search(null, candidates, guesses, null, rule).guess();
+    }
+
+    /**
+     * Finds the best guess by a rule, among the given guesses, within a time budget.
+     *
+     * @param candidates the remaining candidates, must not be empty
+     * @param guesses    the indices of the guesses to score, in ascending order
+     * @param budget     the time after which to stop scoring guesses, or null to score every guess
+     * @param rule       the rule to score guesses by
+     * @return the best guess scored, and how many guesses were scored
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public SearchResult search(final CandidateSet candidates,
+                               final int[] guesses,
+                               final Duration budget,
+                               final ScoringRule rule) {
+        return search(null, candidates, guesses, budget, rule);
+    }
+
+    /**
+     * Finds the best guess by a rule, among the given guesses, within a time
+     * budget, updating the histograms of the previous move instead of
+     * recounting them.
+     *
+     * @param histograms the histograms of the game, advanced to the candidates by this method,
+     *                   or null to count every histogram
+     * @param candidates the remaining candidates, must not be empty
+     * @param guesses    the indices of the guesses to score, in ascending order
+     * @param budget     the time after which to stop scoring guesses, or null to score every guess
+     * @param rule       the rule to score guesses by
+     * @return the best guess scored, and how many guesses were scored
+     * @throws InvalidHintsException if there are no candidates
+     */
+    public SearchResult search(final PartitionHistograms histograms,
+                               final CandidateSet candidates,
+                               final int[] guesses,
+                               final Duration budget,
+                               final ScoringRule rule) {
+        final int[] codes = candidates.toArray();
+
+        if (codes.length == 0) {
+            throw new InvalidHintsException("No valid permutations found.");
+        }
+
+        if (histograms != null) {
+            histograms.advance(candidates);
+        }
+
+        final GuessSearch.Deadline deadline = new GuessSearch.Deadline(budget);
+        final PartitionTask task = new PartitionTask(candidates, codes, GuessSearch.goodFirst(candidates, guesses),
+            rule, histograms, deadline, 0, guesses.length);
+
+        // Without a pool, the root task searches the whole range itself.
+        final long[] best = pool == null ? task.searchRange() : pool.invoke(task);
+        final int guess = (int) (best[1] & Integer.MAX_VALUE); // the guess index is in the low 31 bits
+
+        return new SearchResult(guess, deadline.getEvaluated(), guesses.length);
+    }
+
+    /**
+     * Computes the partition histogram of a guess.
+     *
+     * @param guess     the index of the guess
+     * @param codes     the remaining candidates, as an array of code indices
+     * @param histogram the array to store the number of candidates for each response index in
+     */
+    static void partition(final int guess, final int[] codes, final int[] histogram) {
+        Arrays.fill(histogram, 0);
+
+        for (final int code : codes) {
+            ++histogram[ResponseTable.get(guess, code)];
+        }
+    }
+
+    /**
+     * Searches a range of the guess space by a rule.
+     * <p>
+     * The result holds the score of the best guess, and a tie-breaker packing
+     * whether it is not a candidate in bit 31 and its index in the low 31 bits.
+     * The smaller pair is the better guess.
+     */
+    private static class PartitionTask extends GuessSearch.RangeTask<long[]> {
+        /**
+         * The remaining candidates, as a set.
+         */
+        private final CandidateSet candidates;
+
+        /**
+         * The remaining candidates, as an array of code indices.
+         */
+        private final int[] codes;
+
+        /**
+         * The guess space, as an array of code indices.
+         */
+        private final int[] guesses;
+
+        /**
+         * The rule to score guesses by.
+         */
+        private final ScoringRule rule;
+
+        /**
+         * The histograms of the game, or null to count every histogram.
+         */
+        private final PartitionHistograms histograms;
+
+        /**
+         * The time budget of the search.
+         */
+        private final GuessSearch.Deadline deadline;
+
+        /**
+         * Constructs a task searching a range of the guess space.
+         *
+         * @param candidates the remaining candidates, as a set
+         * @param codes      the remaining candidates, as an array of code indices
+         * @param guesses    the guess space, as an array of code indices
+         * @param rule       the rule to score guesses by
+         * @param histograms the histograms of the game, or null to count every histogram
+         * @param deadline   the time budget of the search
+         * @param from       the first position of the range, inclusive
+         * @param to         the last position of the range, exclusive
+         */
+        PartitionTask(final CandidateSet candidates,
+                      final int[] codes,
+                      final int[] guesses,
+                      final ScoringRule rule,
+                      final PartitionHistograms histograms,
+                      final GuessSearch.Deadline deadline,
+                      final int from,
+                      final int to) {
+            super(from, to);
+            this.candidates = candidates;
+            this.codes = codes;
+            this.guesses = guesses;
+            this.rule = rule;
+            this.histograms = histograms;
+            this.deadline = deadline;
+        }
+
+        @Override
+        PartitionTask subtask(final int from, final int to) {
+            return new PartitionTask(candidates, codes, guesses, rule, histograms, deadline, from, to);
+        }
+
+        @Override
+        long[] better(final long[] left, final long[] right) {
+            return isBetter(right[0], right[1], left) ? right : left;
+        }
+
+        /**
+         * Searches the whole range on the current thread.
+         *
+         * @return the score and tie-breaker of the best guess in the range, or {@link #NO_GUESS}
+         */
+        @Override
+        long[] searchRange() {
+            final int[] histogram = new int[Response.TOTAL_RESPONSES];
+            final long[] best = NO_GUESS.clone();
+
+            int evaluated = 0;
+            for (int i = from; i < to && deadline.allows(i); ++i, ++evaluated) {
+                final int guess = guesses[i];
+                if (histograms == null) {
+                    partition(guess, codes, histogram);
+                } else {
+                    histograms.histogram(guess, histogram);
+                }
+
+                final long score = rule.score(histogram);
+                final long tieBreaker = ((candidates.contains(guess) ? 0L : 1L) << 31) | guess;
+                if (isBetter(score, tieBreaker, best)) {
+                    best[0] = score;
+                    best[1] = tieBreaker;
+                }
+            }
+
+            deadline.addEvaluated(evaluated);
+            return best;
+        }
+
+        /**
+         * Whether a guess is better than the best guess so far.
+         *
+         * @param score      the score of the guess
+         * @param tieBreaker the tie-breaker of the guess
+         * @param best       the score and tie-breaker of the best guess so far
+         * @return true if the guess is better, and false otherwise
+         */
+        private static boolean isBetter(final long score, final long tieBreaker, final long[] best) {
+            return score < best[0] || (score == best[0] && tieBreaker < best[1]);
+        }
+    }
+}
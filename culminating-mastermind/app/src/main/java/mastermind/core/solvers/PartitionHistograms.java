@@ -0,0 +1,140 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+
+import java.util.Arrays;
+
+/**
+ * The partition histograms of the guesses, kept across the moves of a game.
+ * <p>
+ * Candidates are only ever removed during a game, so the histogram of a guess for the new candidates is its
+ * histogram for the previous candidates minus the contributions of the removed ones. A histogram is thus
+ * updated by subtracting the removed candidates when there are no more of them than survivors, and recounted
+ * from the survivors otherwise, so each update costs the smaller of the two instead of the number of
+ * candidates.
+ * <p>
+ * Only the histograms of the guesses scored at the previous move can be updated; the others are recounted.
+ * Histograms are updated lazily, when they are requested by {@link #histogram(int, int[])}, so that guesses
+ * which are no longer scored, e.g., when the guess space shrinks or a search runs out of time, cost nothing.
+ * <p>
+ * Call {@link #advance(CandidateSet)} on one thread once per move; {@link #histogram(int, int[])} may then
+ * be called for distinct guesses on several threads at once, as by {@link PartitionEngine}.
+ * <p>
+ * The histograms take {@link Response#TOTAL_RESPONSES} ints per code, so they are only allocated by the first
+ * {@link #advance(CandidateSet)}, and a game that never searches its partitions costs almost nothing.
+ */
+public class PartitionHistograms {
+    /**
+     * The histogram of every code, {@link Response#TOTAL_RESPONSES} counts per code, valid for the candidates
+     * of the move in {@link #moves}, or null before the first move.
+     */
+    private int[] histograms = null;
+
+    /**
+     * The move each histogram was last counted for, or 0 if it never was, or null before the first move.
+     */
+    private int[] moves = null;
+
+    /**
+     * The current move, incremented by {@link #advance(CandidateSet)}.
+     */
+    private int move = 0;
+
+    /**
+     * The move whose histograms may be updated by subtracting {@link #removed}, or -1 if none may.
+     */
+    private int updatableMove = -1;
+
+    /**
+     * The candidates of the current move, as a snapshot, or null before the first move.
+     */
+    private CandidateSet candidates = null;
+
+    /**
+     * The candidates of the current move, as an array of code indices.
+     */
+    private int[] survivors = new int[0];
+
+    /**
+     * The candidates of the previous move that are no longer candidates, as an array of code indices.
+     */
+    private int[] removed = new int[0];
+
+    /**
+     * Moves on to new candidates.
+     * <p>
+     * If the new candidates are a subset of the previous ones, the histograms counted for the previous move may
+     * be updated; otherwise, e.g., in a new game, every histogram will be recounted.
+     *
+     * @param next the candidates of the new move
+     */
+    public void advance(final CandidateSet next) {
+        if (histograms == null) {
+            histograms = new int[Code.TOTAL_CODES * Response.TOTAL_RESPONSES];
+            moves = new int[Code.TOTAL_CODES];
+        }
+
+        final int[] codes = next.toArray();
+        final boolean subset = candidates != null && Arrays.stream(codes).allMatch(candidates::contains);
+
+        removed = subset
+            ? Arrays.stream(survivors).filter(code -> !next.contains(code)).toArray()
+            : new int[0];
+        updatableMove = subset ? move : -1;
+
+        survivors = codes;
+        candidates = next.snapshot();
+        ++move;
+    }
+
+    /**
+     * Whether the histograms counted for the previous move are updated by subtracting the removed
+     * candidates, rather than recounted from the survivors.
+     *
+     * @return true if the histograms are updated incrementally, and false otherwise
+     */
+    public boolean isIncremental() {
+        return updatableMove >= 0 && removed.length <= survivors.length;
+    }
+
+    /**
+     * Retrieves the memory taken by the histograms, which is none until the first move.
+     *
+     * @return the size of the histograms in bytes
+     */
+    public long getMemorySize() {
+        return histograms == null ? 0 : (long) Integer.BYTES * (histograms.length + moves.length);
+    }
+
+    /**
+     * Computes the partition histogram of a guess for the candidates of the current move, updating or
+     * recounting its stored histogram.
+     * <p>
+     * Must only be called after {@link #advance(CandidateSet)}.
+     *
+     * @param guess     the index of the guess
+     * @param histogram the array to store the number of candidates for each response index in
+     */
+    public void histogram(final int guess, final int[] histogram) {
+        final int base = guess * Response.TOTAL_RESPONSES;
+
+        if (moves[guess] != move) {
+            if (moves[guess] == updatableMove && isIncremental()) {
+                for (final int code : removed) {
+                    --histograms[base + ResponseTable.get(guess, code)];
+                }
+            } else {
+                Arrays.fill(histograms, base, base + Response.TOTAL_RESPONSES, 0);
+                for (final int code : survivors) {
+                    ++histograms[base + ResponseTable.get(guess, code)];
+                }
+            }
+
+            moves[guess] = move;
+        }
+
+        System.arraycopy(histograms, base, histogram, 0, Response.TOTAL_RESPONSES);
+    }
+}
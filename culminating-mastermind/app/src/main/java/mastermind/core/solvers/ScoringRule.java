@@ -0,0 +1,111 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.Response;
+
+/**
+ * A rule that scores a guess by how it partitions the remaining candidates.
+ * <p>
+ * Every rule only looks at the partition histogram of a guess, i.e., the number
+ * of candidates that would give each response, indexed by
+ * {@link Response#getIndex()}, as computed by {@link PartitionEngine}.
+ * <p>
+ * Scores are integers where the lower score is the better guess, so that
+ * guesses with the same partition sizes always get exactly the same score.
+ */
+public enum ScoringRule {
+    /**
+     * Minimizes the size of the largest partition, as in Knuth's algorithm.
+     */
+    WORST_CASE {
+        @Override
+        public long score(final int[] histogram) {
+            int max = 0;
+
+            for (final int size : histogram) {
+                max = Math.max(max, size);
+            }
+
+            return max;
+        }
+    },
+
+    /**
+     * Minimizes the expected number of candidates left after the guess.
+     * <p>
+     * With {@code n} candidates, the expected size is the sum of the squared
+     * partition sizes divided by {@code n}, so the sum itself is the score.
+     */
+    EXPECTED_SIZE {
+        @Override
+        public long score(final int[] histogram) {
+            long sum = 0;
+
+            for (final int size : histogram) {
+                sum += (long) size * size;
+            }
+
+            return sum;
+        }
+    },
+
+    /**
+     * Maximizes the Shannon entropy of the response, i.e., the expected
+     * information gained by the guess.
+     * <p>
+     * With {@code n} candidates, the entropy is {@code log2(n) - sum(c log2 c) / n}
+     * over the partition sizes {@code c}, so the sum is the score. Its terms are
+     * looked up in fixed point, which keeps the sum exact and independent of the
+     * order of the partitions.
+     */
+    ENTROPY {
+        @Override
+        public long score(final int[] histogram) {
+            long sum = 0;
+
+            for (final int size : histogram) {
+                sum += ENTROPY_TERMS[size];
+            }
+
+            return sum;
+        }
+    },
+
+    /**
+     * Maximizes the number of non-empty partitions, as proposed by Kooi.
+     */
+    MOST_PARTS {
+        @Override
+        public long score(final int[] histogram) {
+            int parts = 0;
+
+            for (final int size : histogram) {
+                if (size > 0) {
+                    ++parts;
+                }
+            }
+
+            return -parts;
+        }
+    };
+
+    /**
+     * The term {@code c log2 c} of the entropy for every partition size {@code c},
+     * scaled by 2^32 and rounded.
+     */
+    private static final long[] ENTROPY_TERMS = new long[Code.TOTAL_CODES + 1];
+
+    static {
+        for (int size = 2; size <= Code.TOTAL_CODES; ++size) {
+            ENTROPY_TERMS[size] = Math.round(size * (Math.log(size) / Math.log(2)) * 0x1p32);
+        }
+    }
+
+    /**
+     * Scores a guess by its partition histogram.
+     *
+     * @param histogram the number of candidates for each response index
+     * @return the score, where the lower score is the better guess
+     */
+    public abstract long score(final int[] histogram);
+}
@@ -0,0 +1,33 @@
+package mastermind.core.solvers;
+
+import mastermind.core.Code;
+
+/**
+ * The best guess found by a search, and how much of the guess space it covered.
+ * <p>
+ * A search with a time budget may stop before every guess was scored, in which
+ * case the guess is only the best of the guesses that were.
+ *
+ * @param guess     the index of the best guess found, see {@link Code#getIndex()}
+ * @param evaluated the number of guesses scored
+ * @param total     the number of guesses in the guess space
+ */
+public record SearchResult(int guess, int evaluated, int total) {
+    /**
+     * Retrieves the fraction of the guess space that was scored.
+     *
+     * @return the coverage, from 0 (exclusive) to 1 (inclusive)
+     */
+    public double coverage() {
+        return (double) evaluated / total;
+    }
+
+    /**
+     * Whether every guess was scored, i.e., the guess is the best of the whole guess space.
+     *
+     * @return true if the search was complete, and false otherwise
+     */
+    public boolean isComplete() {
+        return evaluated == total;
+    }
+}
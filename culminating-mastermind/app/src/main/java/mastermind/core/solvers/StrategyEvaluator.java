@@ -0,0 +1,266 @@
+package mastermind.core.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.CodeFactory;
+import mastermind.utils.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates solvers against every secret code, without the GUI.
+ * <p>
+ * Every solver plays one game per code in parallel on a {@link BatchSolver}, and the games are summarized into a
+ * {@link Report}: the distribution of the number of guesses, the average and worst case, the time per guess and
+ * the bytes allocated per game. Reports are written as CSV and JSON, so the quality and the cost of the
+ * strategies can be compared.
+ * <p>
+ * Run {@link #main(String[])} through the {@code evaluateStrategies} Gradle task.
+ */
+public class StrategyEvaluator {
+    /**
+     * The solvers evaluated by {@link #main(String[])}, by name.
+     */
+    public static final Map<String, Supplier<? extends MastermindAlgorithm>> ALGORITHMS = algorithms();
+
+    /**
+     * The file the CSV reports of {@link #main(String[])} are written to.
+     */
+    public static final File CSV_REPORT = new File("build/reports/strategies/strategies.csv");
+
+    /**
+     * The file the JSON reports of {@link #main(String[])} are written to.
+     */
+    public static final File JSON_REPORT = new File("build/reports/strategies/strategies.json");
+
+    /**
+     * The columns of the CSV reports, before the distribution.
+     */
+    private static final String CSV_HEADER =
+        "name,games,wins,failures,average,worstCase,nanosPerGuess,bytesPerGame,seconds";
+
+    /**
+     * Summary of the games of a solver against every secret code.
+     *
+     * @param name          The name of the solver.
+     * @param games         The number of games played.
+     * @param wins          The number of games won.
+     * @param failures      The number of games in which the solver threw an exception or error.
+     * @param distribution  The number of games won with {@code i + 1} guesses at index {@code i}, up to
+     *                      {@link Mastermind#MAX_GUESSES} guesses.
+     * @param average       The average number of guesses of the games won, or 0 if none was won.
+     * @param worstCase     The largest number of guesses of the games won, or 0 if none was won.
+     * @param nanosPerGuess The average time per guess over all games, in nanoseconds.
+     * @param bytesPerGame  The average bytes allocated per game, or -1 if the JVM does not measure them.
+     * @param seconds       The wall-clock time of the evaluation, in seconds.
+     */
+    public record Report(String name,
+                         int games,
+                         int wins,
+                         int failures,
+                         int[] distribution,
+                         double average,
+                         int worstCase,
+                         double nanosPerGuess,
+                         double bytesPerGame,
+                         double seconds) {
+    }
+
+    /**
+     * The threads the games are played on.
+     */
+    private final BatchSolver.Execution execution;
+
+    /**
+     * The number of games played at once.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructs an evaluator that plays on a fork/join pool with one thread per core.
+     */
+    public StrategyEvaluator() {
+        this(BatchSolver.Execution.FORK_JOIN, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an evaluator.
+     *
+     * @param execution   The threads the games are played on.
+     * @param parallelism The number of games played at once, at least 1.
+     */
+    public StrategyEvaluator(final BatchSolver.Execution execution, final int parallelism) {
+        this.execution = execution;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays a game against every secret code with new solvers, and summarizes the games.
+     *
+     * @param name    The name of the solver, for the report.
+     * @param factory Creates a new solver for every game.
+     * @return The summary of the games.
+     */
+    public Report evaluate(final String name, final Supplier<? extends MastermindAlgorithm> factory) {
+        final long start = System.nanoTime();
+        final List<GameResult> results = new BatchSolver(factory, execution, parallelism)
+            .solve(CodeFactory.getAll().stream());
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        final int[] distribution = new int[Mastermind.MAX_GUESSES];
+        int wins = 0;
+        int failures = 0;
+        int worstCase = 0;
+        long winningGuesses = 0;
+        long guesses = 0;
+        long nanos = 0;
+        long allocated = 0;
+
+        for (final GameResult result : results) {
+            guesses += result.guesses();
+            nanos += result.nanos();
+            allocated = allocated < 0 || result.allocated() < 0 ? -1 : allocated + result.allocated();
+
+            if (result.isFailure()) {
+                ++failures;
+            } else if (result.isWin()) {
+                ++wins;
+                ++distribution[result.guesses() - 1];
+                winningGuesses += result.guesses();
+                worstCase = Math.max(worstCase, result.guesses());
+            }
+        }
+
+        final int games = results.size();
+        return new Report(name, games, wins, failures, distribution,
+            wins == 0 ? 0 : (double) winningGuesses / wins, worstCase,
+            guesses == 0 ? 0 : (double) nanos / guesses,
+            allocated < 0 || games == 0 ? -1 : (double) allocated / games, seconds);
+    }
+
+    /**
+     * Formats reports as CSV, one row per report, with one column per number of guesses of the distribution.
+     *
+     * @param reports The reports.
+     * @return The CSV text, with a header row.
+     */
+    public static String toCsv(final List<Report> reports) {
+        final StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int guesses = 1; guesses <= Mastermind.MAX_GUESSES; ++guesses) {
+            csv.append(",guesses").append(guesses);
+        }
+        csv.append('\n');
+
+        for (final Report report : reports) {
+            csv.append(report.name().replace(",", " ")).append(',')
+                .append(report.games()).append(',')
+                .append(report.wins()).append(',')
+                .append(report.failures()).append(',')
+                .append(format(report.average())).append(',')
+                .append(report.worstCase()).append(',')
+                .append(format(report.nanosPerGuess())).append(',')
+                .append(format(report.bytesPerGame())).append(',')
+                .append(format(report.seconds()));
+
+            for (final int count : report.distribution()) {
+                csv.append(',').append(count);
+            }
+            csv.append('\n');
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * Formats reports as a JSON array, one object per report.
+     *
+     * @param reports The reports.
+     * @return The JSON text.
+     */
+    public static String toJson(final List<Report> reports) {
+        return reports.stream()
+            .map(report -> "  {\"name\": \"" + report.name().replace("\\", "\\\\").replace("\"", "\\\"")
+                + "\", \"games\": " + report.games()
+                + ", \"wins\": " + report.wins()
+                + ", \"failures\": " + report.failures()
+                + ", \"average\": " + format(report.average())
+                + ", \"worstCase\": " + report.worstCase()
+                + ", \"nanosPerGuess\": " + format(report.nanosPerGuess())
+                + ", \"bytesPerGame\": " + format(report.bytesPerGame())
+                + ", \"seconds\": " + format(report.seconds())
+                + ", \"distribution\": " + Arrays.toString(report.distribution()) + "}")
+            .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+    }
+
+    /**
+     * Evaluates the solvers named in the arguments, or every solver of {@link #ALGORITHMS} without arguments,
+     * and writes the reports to {@link #CSV_REPORT} and {@link #JSON_REPORT}.
+     *
+     * @param args The names of the solvers to evaluate.
+     * @throws IOException If the reports cannot be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        final List<String> names = args.length == 0 ? List.copyOf(ALGORITHMS.keySet()) : List.of(args);
+        final StrategyEvaluator evaluator = new StrategyEvaluator();
+        final List<Report> reports = new ArrayList<>();
+
+        for (final String name : names) {
+            final Supplier<? extends MastermindAlgorithm> factory = ALGORITHMS.get(name);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unknown solver: " + name + ", expected one of "
+                    + ALGORITHMS.keySet());
+            }
+
+            final Report report = evaluator.evaluate(name, factory);
+            Log.info(name + ": average " + format(report.average()) + ", worst case " + report.worstCase()
+                + ", " + report.wins() + "/" + report.games() + " won in " + format(report.seconds()) + " s");
+            reports.add(report);
+        }
+
+        Files.createDirectories(CSV_REPORT.getParentFile().toPath());
+        Files.writeString(CSV_REPORT.toPath(), toCsv(reports), StandardCharsets.UTF_8);
+        Files.writeString(JSON_REPORT.toPath(), toJson(reports), StandardCharsets.UTF_8);
+        Log.info("Reports written to " + CSV_REPORT + " and " + JSON_REPORT);
+    }
+
+    /**
+     * Formats a number with three decimals, independently of the locale.
+     *
+     * @param value The number.
+     * @return The formatted number.
+     */
+    private static String format(final double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Lists the solvers of this package, by name.
+     *
+     * @return The factories of the solvers, in order of increasing strength.
+     */
+    private static Map<String, Supplier<? extends MastermindAlgorithm>> algorithms() {
+        final Map<String, Supplier<? extends MastermindAlgorithm>> algorithms = new LinkedHashMap<>();
+        algorithms.put("Easy", EasyAlgorithm::new);
+        algorithms.put("Medium", MediumAlgorithm::new);
+        algorithms.put("DonaldKnuth", DonaldKnuthAlgorithm::new);
+        algorithms.put("MostParts", MostPartsAlgorithm::new);
+        algorithms.put("Entropy", EntropyAlgorithm::new);
+        algorithms.put("ExpectedSize", ExpectedSizeAlgorithm::new);
+        algorithms.put("Optimal", OptimalAlgorithm::new);
+        algorithms.put("MonteCarlo", MonteCarloAlgorithm::new);
+        algorithms.put("Genetic", GeneticAlgorithm::new);
+
+        return Collections.unmodifiableMap(algorithms);
+    }
+}
@@ -0,0 +1,228 @@
+package mastermind.core.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reduces the guess space to one representative per equivalence class of guesses.
+ * <p>
+ * Scores are invariant under permuting the positions and relabeling the colors of
+ * both codes at once. A symmetry that maps every past guess onto itself therefore
+ * maps the remaining candidates onto themselves, and any guess onto a guess that
+ * partitions them the same way. Such symmetries are made of:
+ * <ul>
+ *     <li>a permutation of the positions, together with the relabeling of the used
+ *     colors it forces, as long as the relabeling is consistent for every past guess;</li>
+ *     <li>any permutation of the colors that have not been used yet.</li>
+ * </ul>
+ * The representative of a class is its lowest code index, so a search that breaks
+ * ties by the lowest index picks the same guess from the representatives as it
+ * would from every code.
+ */
+public final class SymmetryReducer {
+    /**
+     * Every permutation of the positions of a code.
+     */
+    private static final int[][] POSITION_PERMUTATIONS = permutations(Mastermind.CODE_LENGTH);
+
+    /**
+     * The color indices of every code, indexed by code index, then position.
+     */
+    private static final int[][] DIGITS = new int[Code.TOTAL_CODES][Mastermind.CODE_LENGTH];
+
+    /**
+     * The representatives before any guess, which only depend on the board.
+     */
+    private static final int[] INITIAL_REPRESENTATIVES;
+
+    static {
+        for (int code = 0; code < Code.TOTAL_CODES; ++code) {
+            for (int position = 0; position < Mastermind.CODE_LENGTH; ++position) {
+                DIGITS[code][position] = Code.colorIndexAt(code, position);
+            }
+        }
+
+        INITIAL_REPRESENTATIVES = computeRepresentatives(new int[0]);
+    }
+
+    /**
+     * This class is not meant to be instantiated.
+     */
+    private SymmetryReducer() {
+    }
+
+    /**
+     * Finds one representative of every class of guesses that the history cannot tell apart.
+     *
+     * @param history the indices of the guesses made so far, see {@link Code#getIndex()}
+     * @return the lowest code index of every class, in ascending order
+     */
+    public static int[] reduce(final int[] history) {
+        if (history.length == 0) {
+            return INITIAL_REPRESENTATIVES.clone();
+        }
+
+        return computeRepresentatives(history);
+    }
+
+    /**
+     * Computes the representatives for a history.
+     *
+     * @param history the indices of the guesses made so far
+     * @return the lowest code index of every class, in ascending order
+     */
+    private static int[] computeRepresentatives(final int[] history) {
+        final int[][] symmetries = findSymmetries(history);
+
+        // colors not used by any past guess, in ascending order
+        final boolean[] used = new boolean[Mastermind.TOTAL_COLORS];
+        for (final int guess : history) {
+            for (final int color : DIGITS[guess]) {
+                used[color] = true;
+            }
+        }
+
+        final int[] freeColors = new int[Mastermind.TOTAL_COLORS];
+        int freeCount = 0;
+        for (int color = 0; color < Mastermind.TOTAL_COLORS; ++color) {
+            if (!used[color]) {
+                freeColors[freeCount++] = color;
+            }
+        }
+
+        final int[] representatives = new int[Code.TOTAL_CODES];
+        int count = 0;
+
+        // a code is a representative if no symmetry maps it to a lower index
+        final int[] relabel = new int[Mastermind.TOTAL_COLORS];
+        for (int code = 0; code < Code.TOTAL_CODES; ++code) {
+            boolean lowest = true;
+
+            for (int s = 0; s < symmetries.length && lowest; s += 2) {
+                final int[] positions = symmetries[s];
+                final int[] colors = symmetries[s + 1];
+
+                // the free colors are relabeled in order of first appearance, which
+                // is the lowest image over every permutation of the free colors
+                Arrays.fill(relabel, -1);
+                int nextFree = 0;
+                int image = 0;
+
+                for (int position = 0; position < Mastermind.CODE_LENGTH; ++position) {
+                    final int color = DIGITS[code][positions[position]];
+                    int mapped = colors[color];
+
+                    if (mapped < 0) {
+                        if (relabel[color] < 0) {
+                            relabel[color] = freeColors[nextFree++];
+                        }
+
+                        mapped = relabel[color];
+                    }
+
+                    image = image * Mastermind.TOTAL_COLORS + mapped;
+                }
+
+                lowest = image >= code;
+            }
+
+            if (lowest) {
+                representatives[count++] = code;
+            }
+        }
+
+        return Arrays.copyOf(representatives, count);
+    }
+
+    /**
+     * Finds the symmetries that map every past guess onto itself.
+     * <p>
+     * A symmetry is stored as two consecutive arrays: the position permutation
+     * {@code p}, and the relabeling {@code c} of the used colors, with -1 for the
+     * free colors. The image of a code {@code x} is {@code c[x[p[i]]]} at position
+     * {@code i}.
+     *
+     * @param history the indices of the guesses made so far
+     * @return the position permutations and color relabelings, interleaved
+     */
+    private static int[][] findSymmetries(final int[] history) {
+        final List<int[]> symmetries = new ArrayList<>();
+
+        for (final int[] positions : POSITION_PERMUTATIONS) {
+            final int[] colors = new int[Mastermind.TOTAL_COLORS];
+            final int[] inverse = new int[Mastermind.TOTAL_COLORS];
+            Arrays.fill(colors, -1);
+            Arrays.fill(inverse, -1);
+
+            boolean consistent = true;
+
+            // the relabeling must map the permuted guess back onto the guess, injectively
+            for (int h = 0; h < history.length && consistent; ++h) {
+                final int[] digits = DIGITS[history[h]];
+
+                for (int position = 0; position < Mastermind.CODE_LENGTH && consistent; ++position) {
+                    final int from = digits[positions[position]];
+                    final int to = digits[position];
+
+                    if (colors[from] < 0 && inverse[to] < 0) {
+                        colors[from] = to;
+                        inverse[to] = from;
+                    } else {
+                        consistent = colors[from] == to;
+                    }
+                }
+            }
+
+            if (consistent) {
+                symmetries.add(positions);
+                symmetries.add(colors);
+            }
+        }
+
+        return symmetries.toArray(new int[0][]);
+    }
+
+    /**
+     * Generates every permutation of {@code 0..n-1}, in lexicographic order.
+     *
+     * @param n the number of elements
+     * @return the permutations
+     */
+    private static int[][] permutations(final int n) {
+        final List<int[]> permutations = new ArrayList<>();
+        permute(new int[n], new boolean[n], 0, permutations);
+
+        return permutations.toArray(new int[0][]);
+    }
+
+    /**
+     * Recursively fills the remaining slots of a permutation.
+     *
+     * @param current      the permutation being built
+     * @param taken        which elements are already in the permutation
+     * @param slot         the next slot to fill
+     * @param permutations the list to add complete permutations to
+     */
+    private static void permute(final int[] current,
+                                final boolean[] taken,
+                                final int slot,
+                                final List<int[]> permutations) {
+        if (slot == current.length) {
+            permutations.add(current.clone());
+            return;
+        }
+
+        for (int element = 0; element < current.length; ++element) {
+            if (!taken[element]) {
+                taken[element] = true;
+                current[slot] = element;
+                permute(current, taken, slot + 1, permutations);
+                taken[element] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package mastermind.core.solvers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * A bounded, least-recently-used cache of the best next guess of a solver
+ * state.
+ * <p>
+ * Many different guess and response histories leave the same set of
+ * candidates, especially across many games. Since a deterministic strategy
+ * picks its next guess from the candidates alone, the guess can be looked up
+ * by the candidate set instead of searched again.
+ * <p>
+ * Entries are keyed by {@link CandidateSet#hash64()}, and keep a copy of the
+ * bitset so that hash collisions are detected rather than served. Each
+ * strategy must use its own cache, as the same candidates lead to different
+ * guesses under different strategies. The cache is safe to share between
+ * threads.
+ */
+public class TranspositionCache {
+    /**
+     * Estimated memory used by one entry in bytes: the map entry, the boxed
+     * key, the value object, and the copy of the bitset.
+     */
+    public static final long ENTRY_SIZE = 40 + 16 + 24 + 16 + (long) CandidateSet.WORDS * Long.BYTES;
+
+    /**
+     * Default memory cap of a cache in bytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * The maximum number of entries, derived from the memory cap.
+     */
+    private final int maxEntries;
+
+    /**
+     * The entries in access order, from least to most recently used.
+     */
+    private final LinkedHashMap<Long, Entry> entries;
+
+    /**
+     * The number of lookups that found their guess.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of lookups that did not find their guess.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * A cached guess, along with the candidates it was searched for.
+     *
+     * @param words the bitset of the candidates
+     * @param guess the index of the best next guess
+     */
+    private record Entry(long[] words, int guess) {
+    }
+
+    /**
+     * Constructs a cache with the {@link #DEFAULT_MAX_BYTES default} memory cap.
+     */
+    public TranspositionCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs a cache using at most about the given amount of memory.
+     * <p>
+     * Once the cap is reached, the least recently used entry is evicted for
+     * every new entry.
+     *
+     * @param maxBytes the memory cap in bytes
+     * @throws IllegalArgumentException if the cap cannot hold a single entry
+     */
+    public TranspositionCache(final long maxBytes) {
+        if (maxBytes < ENTRY_SIZE) {
+            throw new IllegalArgumentException("Memory cap must be at least " + ENTRY_SIZE + " bytes");
+        }
+
+        this.maxEntries = (int) Math.min(Integer.MAX_VALUE, maxBytes / ENTRY_SIZE);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Looks up the best next guess of a candidate set.
+     *
+     * @param candidates the remaining candidates
+     * @return the index of the cached guess, or -1 on a miss
+     */
+    public int get(final CandidateSet candidates) {
+        final Entry entry;
+
+        synchronized (entries) {
+            entry = entries.get(candidates.hash64());
+        }
+
+        if (entry == null || !candidates.hasWords(entry.words())) {
+            misses.increment();
+            return -1;
+        }
+
+        hits.increment();
+        return entry.guess();
+    }
+
+    /**
+     * Caches the best next guess of a candidate set.
+     *
+     * @param candidates the remaining candidates
+     * @param guess      the index of the best next guess
+     */
+    public void put(final CandidateSet candidates, final int guess) {
+        final Entry entry = new Entry(candidates.copyWords(), guess);
+
+        synchronized (entries) {
+            entries.put(candidates.hash64(), entry);
+        }
+    }
+
+    /**
+     * Looks up the best next guess of a candidate set, searching and caching
+     * it on a miss.
+     *
+     * @param candidates the remaining candidates
+     * @param search     the search to run on a miss
+     * @return the index of the best next guess
+     */
+    public int computeIfAbsent(final CandidateSet candidates, final ToIntFunction<CandidateSet> search) {
+        int guess = get(candidates);
+
+        // Search outside the lock, so other threads are not blocked meanwhile.
+        if (guess < 0) {
+            guess = search.applyAsInt(candidates);
+            put(candidates, guess);
+        }
+
+        return guess;
+    }
+
+    /**
+     * Retrieves the number of lookups that found their guess.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the number of lookups that did not find their guess.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the number of cached guesses.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Retrieves the maximum number of cached guesses, derived from the memory cap.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Retrieves the estimated memory used by the cached guesses.
+     *
+     * @return the estimated memory in bytes
+     */
+    public long getMemoryUsage() {
+        return size() * ENTRY_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionCache: " + size() + " entries, " + getHits() + " hits, "
+            + getMisses() + " misses";
+    }
+}
@@ -58,6 +58,11 @@ public class CodeBreaker extends Scene {
      */
     private final JButton proceedButton = new JButton("Proceed");
 
+    /**
+     * The "Undo" button used to take back the last response, if the {@link #solver} supports it.
+     */
+    private final JButton undoButton = new JButton("Undo");
+
     /**
      * The main panel for the {@link CodeBreaker} scene, containing the game
      * board and control panel.
@@ -110,6 +115,9 @@ public class CodeBreaker extends Scene {
         // Draw the "Proceed" button on the control panel
         drawProceedButton();
 
+        // Draw the "Undo" button on the control panel
+        drawUndoButton();
+
         // Draw the home button on the frame
         HomeButton.drawHomeButton(frame);
 
@@ -125,6 +133,9 @@ public class CodeBreaker extends Scene {
         // Register the handler for the "Proceed" button
         registerProceedHandler();
 
+        // Register the handler for the "Undo" button
+        registerUndoHandler();
+
         // Refresh the frame to apply changes
         refreshFrame();
     }
@@ -178,6 +189,19 @@ public class CodeBreaker extends Scene {
         controlPanel.add(proceedButton);
     }
 
+    /**
+     * Adds and aligns the "Undo" button to the control panel in the CodeBreaker game scene.
+     *
+     * <p>
+     * The button is disabled until there is a response the solver can take back, so it stays disabled for
+     * solvers that do not support undoing responses.
+     */
+    private void drawUndoButton() {
+        undoButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        undoButton.setEnabled(false);
+        controlPanel.add(undoButton);
+    }
+
     /**
      * Registers a handler for processing guesses and updating the game state in the CodeBreaker game.
      *
@@ -236,6 +260,12 @@ public class CodeBreaker extends Scene {
             final Tuple2<Status, Code> result =
                 makeSubsequentGuess(responseForPreviousGuess);
 
+            // If the response contradicted the previous ones and was taken back, let the player correct it
+            if (result == null) {
+                responses.remove(responses.size() - 1);
+                return;
+            }
+
             Log.info("Solver status: " + result.first());
 
             // If the solver status is "Continue", update the game board with the next guess
@@ -246,6 +276,7 @@ public class CodeBreaker extends Scene {
 
                 gameBoard.updateHints(attempt - 1, responseForPreviousGuess);
                 gameBoard.updateGuess(attempt, result.second().getColors());
+                undoButton.setEnabled(solver.getUndoableResponses() > 0);
                 return;
             }
 
@@ -254,20 +285,75 @@ public class CodeBreaker extends Scene {
         });
     }
 
+    /**
+     * Registers a handler for taking back the last response in the CodeBreaker game.
+     *
+     * <p>
+     * When the "Undo" button is clicked, the solver restores its state from before the last response, so the
+     * guess that response was for is the current guess again. The hints of that guess and the guess that
+     * followed are cleared from the game board, and the player can enter the key pegs again.
+     */
+    private void registerUndoHandler() {
+        undoButton.addActionListener(event -> {
+            Log.trace("Undo button pressed");
+
+            solver.undo(1);
+
+            // The last guess is no longer made, and the guess before it awaits a response again
+            final int row = guesses.size() - 1;
+            guesses.remove(row);
+            final Response undone = responses.remove(responses.size() - 1);
+
+            Log.info("Undid response " + undone + " to guess " + (row - 1));
+
+            gameBoard.updateGuess(row, List.of());
+            gameBoard.updateHints(row - 1, new Response(new Tuple2<>(0, 0)));
+            undoButton.setEnabled(solver.getUndoableResponses() > 0);
+        });
+    }
+
     /**
      * Makes a subsequent guess based on the provided response.
      *
+     * <p>
+     * If the response contradicts the previous ones and the solver can undo it, it is taken back and the
+     * player is asked to check the key pegs, instead of losing the game.
+     *
      * @param response The response to the previous guess.
-     * @return A tuple containing the status of the solver and the next guess.
+     * @return A tuple containing the status of the solver and the next guess, or null if the response was taken
+     * back.
      */
     private Tuple2<Status, Code> makeSubsequentGuess(final Response response) {
         // Attempt to make the next guess based on the response
         // If the hints are invalid, log an error and return a lose status
         try {
-            return solver.guess(response);
+            // Search within the budget, and report when the search was cut short
+            final Tuple2<Status, Code> result = solver.guess(response, Mastermind.GUESS_BUDGET);
+
+            if (solver.getCoverage() < 1.0) {
+                Log.info("Guess search covered " + Math.round(solver.getCoverage() * 100)
+                    + "% of the guess space within " + Mastermind.GUESS_BUDGET.toMillis() + " ms");
+            }
+
+            return result;
         } catch (final InvalidHintsException e) {
             Log.error("Invalid hints provided: " + e.getMessage());
-            return new Tuple2<>(Status.Lose, null);
+
+            if (solver.getUndoableResponses() == 0) {
+                return new Tuple2<>(Status.Lose, null);
+            }
+
+            // Take the response back, so the player can correct it or undo an earlier one
+            solver.undo(1);
+
+            JOptionPane.showMessageDialog(
+                frame,
+                "These key pegs contradict the previous ones. Please check them, or undo an earlier response.",
+                "Invalid Key Pegs",
+                JOptionPane.ERROR_MESSAGE
+            );
+
+            return null;
         }
     }
 }
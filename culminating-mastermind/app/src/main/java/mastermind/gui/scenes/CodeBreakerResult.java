@@ -10,6 +10,7 @@ package mastermind.gui.scenes;
 import mastermind.Mastermind;
 import mastermind.core.Code;
 import mastermind.core.Response;
+import mastermind.core.ResponseTable;
 import mastermind.core.solvers.Status;
 import mastermind.gui.panels.GameBoard;
 import mastermind.utils.Log;
@@ -130,10 +131,10 @@ public class CodeBreakerResult extends Scene {
 
         // Compare each guess's response with the expected response
         for (int i = 0; i < guesses.size(); ++i) {
-            final Response expectedResponse = new Response(secretCode, guesses.get(i));
+            final int expectedResponse = ResponseTable.get(guesses.get(i), secretCode);
 
             // If the response does not match the expected response, mark it as invalid
-            if (!expectedResponse.equals(responses.get(i))) {
+            if (expectedResponse != responses.get(i).getIndex()) {
                 invalidResponses.add(i);
             }
         }
@@ -9,7 +9,11 @@ package mastermind.gui.scenes;
 // Import necessary classes and packages
 import mastermind.core.solvers.DonaldKnuthAlgorithm;
 import mastermind.core.solvers.EasyAlgorithm;
+import mastermind.core.solvers.EntropyAlgorithm;
+import mastermind.core.solvers.ExpectedSizeAlgorithm;
 import mastermind.core.solvers.MediumAlgorithm;
+import mastermind.core.solvers.MostPartsAlgorithm;
+import mastermind.core.solvers.OptimalAlgorithm;
 import mastermind.gui.panels.Help;
 import mastermind.gui.panels.HomeButton;
 import mastermind.utils.Log;
@@ -24,6 +28,14 @@ import java.awt.*;
  * <br>
  * - Donald Knuth 5-Guess Algorithm
  * <br>
+ * - Maximum Entropy Algorithm
+ * <br>
+ * - Minimum Expected Size Algorithm
+ * <br>
+ * - Most Parts Algorithm
+ * <br>
+ * - Optimal Average Algorithm
+ * <br>
  * - Medium Algorithm
  * <br>
  * - Basic Algorithm
@@ -40,6 +52,26 @@ public class CodeBreakerSelector extends Scene {
     private final JRadioButton donaldKnuthButton = new JRadioButton(
         "Donald Knuth 5-Guess Algorithm - Hard", true);
 
+    /**
+     * The radio button representing the maximum entropy algorithm.
+     */
+    private final JRadioButton entropyButton = new JRadioButton("Maximum Entropy Algorithm - Hard");
+
+    /**
+     * The radio button representing the minimum expected size algorithm.
+     */
+    private final JRadioButton expectedSizeButton = new JRadioButton("Minimum Expected Size Algorithm - Hard");
+
+    /**
+     * The radio button representing the most parts algorithm.
+     */
+    private final JRadioButton mostPartsButton = new JRadioButton("Most Parts Algorithm - Hard");
+
+    /**
+     * The radio button representing the optimal average algorithm.
+     */
+    private final JRadioButton optimalButton = new JRadioButton("Optimal Average Algorithm - Hard");
+
     /**
      * The radio buttons representing the medium algorithm.
      */
@@ -126,7 +158,8 @@ public class CodeBreakerSelector extends Scene {
      *
      * <p>
      * This method creates a group of mutually exclusive radio buttons representing the various
-     * algorithm options: "Donald Knuth 5-Guess Algorithm", "Medium Algorithm", and "Basic Algorithm".
+     * algorithm options: "Donald Knuth 5-Guess Algorithm", "Maximum Entropy Algorithm", "Minimum Expected Size
+     * Algorithm", "Most Parts Algorithm", "Optimal Average Algorithm", "Medium Algorithm", and "Basic Algorithm".
      * Each button is added to a ButtonGroup to enforce exclusivity, ensuring only one option
      * can be selected at a time. The buttons are then added to the selector panel for display.
      *
@@ -138,6 +171,12 @@ public class CodeBreakerSelector extends Scene {
         final ButtonGroup selectorButtonGroup = new ButtonGroup();
         // Add the Donald Knuth button to the button group
         selectorButtonGroup.add(donaldKnuthButton);
+        // Add the partition-based algorithm buttons to the button group
+        selectorButtonGroup.add(entropyButton);
+        selectorButtonGroup.add(expectedSizeButton);
+        selectorButtonGroup.add(mostPartsButton);
+        // Add the optimal average algorithm button to the button group
+        selectorButtonGroup.add(optimalButton);
         // Add the medium algorithm button to the button group
         selectorButtonGroup.add(mediumAlgoButton);
         // Add the basic algorithm button to the button group
@@ -145,6 +184,12 @@ public class CodeBreakerSelector extends Scene {
 
         // Add the Donald Knuth button to the selector panel
         selectorPanel.add(donaldKnuthButton);
+        // Add the partition-based algorithm buttons to the selector panel
+        selectorPanel.add(entropyButton);
+        selectorPanel.add(expectedSizeButton);
+        selectorPanel.add(mostPartsButton);
+        // Add the optimal average algorithm button to the selector panel
+        selectorPanel.add(optimalButton);
         // Add the medium algorithm button to the selector panel
         selectorPanel.add(mediumAlgoButton);
         // Add the basic algorithm button to the selector panel
@@ -194,6 +239,30 @@ public class CodeBreakerSelector extends Scene {
 
                 // Initialize the CodeBreaker with the Donald Knuth algorithm
                 new CodeBreaker(frame, new DonaldKnuthAlgorithm());
+            } else if (entropyButton.isSelected()) {
+                // Log the selection of the maximum entropy algorithm
+                Log.info("Maximum Entropy Algorithm selected");
+
+                // Initialize the CodeBreaker with the maximum entropy algorithm
+                new CodeBreaker(frame, new EntropyAlgorithm());
+            } else if (expectedSizeButton.isSelected()) {
+                // Log the selection of the minimum expected size algorithm
+                Log.info("Minimum Expected Size Algorithm selected");
+
+                // Initialize the CodeBreaker with the minimum expected size algorithm
+                new CodeBreaker(frame, new ExpectedSizeAlgorithm());
+            } else if (mostPartsButton.isSelected()) {
+                // Log the selection of the most parts algorithm
+                Log.info("Most Parts Algorithm selected");
+
+                // Initialize the CodeBreaker with the most parts algorithm
+                new CodeBreaker(frame, new MostPartsAlgorithm());
+            } else if (optimalButton.isSelected()) {
+                // Log the selection of the optimal average algorithm
+                Log.info("Optimal Average Algorithm selected");
+
+                // Initialize the CodeBreaker with the optimal average algorithm
+                new CodeBreaker(frame, new OptimalAlgorithm());
             } else if (mediumAlgoButton.isSelected()) {
                 // Log the selection of the medium algorithm
                 Log.info("Medium Algorithm selected");
@@ -8,6 +8,7 @@ package mastermind.gui.scenes;
 
 import mastermind.Mastermind;
 import mastermind.core.Code;
+import mastermind.core.CodeFactory;
 import mastermind.core.Response;
 import mastermind.core.solvers.Status;
 import mastermind.gui.panels.*;
@@ -142,7 +143,7 @@ public class SecretCodePrompt extends Scene {
 
             // If the code has the correct length, create a new Code instance
             if (codeColors.size() == Mastermind.CODE_LENGTH) {
-                this.secretCode = new Code(codeColors);
+                this.secretCode = CodeFactory.fromColors(codeColors);
             }
 
             // Map the Code.Color values to AWT Color values
@@ -0,0 +1,95 @@
+package mastermind.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Draws integers from {@code [0, size)} uniformly at random without replacement, in constant expected time per
+ * draw.
+ * <p>
+ * This is a Fisher-Yates shuffle of the identity permutation that is performed lazily: only the positions that
+ * have been swapped are stored, in a sparse map, so drawing {@code k} integers takes {@code O(k)} time and
+ * memory, however large the range is.
+ */
+public class RandomSampler {
+    /**
+     * The number of integers to draw from.
+     */
+    private final int size;
+
+    /**
+     * The source of randomness of the shuffle.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The values of the positions of the permutation that differ from the identity, from position
+     * {@link #drawn} onwards.
+     */
+    private final Map<Integer, Integer> swapped = new HashMap<>();
+
+    /**
+     * The number of integers drawn so far, which are the first positions of the permutation.
+     */
+    private int drawn = 0;
+
+    /**
+     * Constructs a sampler of the integers in {@code [0, size)}.
+     *
+     * @param size   The number of integers to draw from.
+     * @param random The source of randomness, which may be seeded for reproducible draws.
+     * @throws IllegalArgumentException If the size is negative.
+     */
+    public RandomSampler(final int size, final SplittableRandom random) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        this.size = size;
+        this.random = random;
+    }
+
+    /**
+     * Whether there are integers left to draw.
+     *
+     * @return true if {@link #next()} would return an integer, and false otherwise.
+     */
+    public boolean hasNext() {
+        return drawn < size;
+    }
+
+    /**
+     * Retrieves the number of integers left to draw.
+     *
+     * @return The number of integers that have not been drawn yet.
+     */
+    public int remaining() {
+        return size - drawn;
+    }
+
+    /**
+     * Draws an integer that has not been drawn yet.
+     *
+     * @return A uniformly random integer of {@code [0, size)} that was not drawn before.
+     * @throws NoSuchElementException If every integer has been drawn.
+     */
+    public int next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Every integer has been drawn.");
+        }
+
+        // Swap a random position of the rest of the permutation into the next position.
+        final int position = drawn + random.nextInt(size - drawn);
+        final int value = swapped.getOrDefault(position, position);
+        final Integer displaced = swapped.remove(drawn);
+
+        if (position != drawn) {
+            swapped.put(position, displaced == null ? drawn : displaced);
+        }
+
+        ++drawn;
+        return value;
+    }
+}
@@ -0,0 +1,97 @@
+package mastermind;
+
+import mastermind.core.BatchScorer;
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.utils.Log;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchScorerTest {
+    // Test method to verify that both paths agree with the scoring kernel for every guess
+    @Test
+    void testMatchesScalar() {
+        final int[] candidates = allCodes();
+        final int[] vectorResponses = new int[candidates.length];
+        final int[] scalarResponses = new int[candidates.length];
+
+        for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+            BatchScorer.score(guess, candidates, candidates.length, vectorResponses);
+            BatchScorer.scoreScalar(guess, candidates, candidates.length, scalarResponses);
+
+            // Assert that both paths produce identical response indices
+            assertArrayEquals(scalarResponses, vectorResponses);
+            // Assert that the scalar path matches the kernel
+            assertEquals(Response.score(guess, candidates[guess]), scalarResponses[guess]);
+        }
+    }
+
+    // Test method to verify batches that do not fill a whole vector, in arbitrary order
+    @Test
+    void testPartialShuffledBatch() {
+        final Random random = new Random(0);
+        final int[] candidates = new int[37];
+        for (int i = 0; i < candidates.length; ++i) {
+            candidates[i] = random.nextInt(Code.TOTAL_CODES);
+        }
+
+        // Only score a prefix of the candidates, leaving the rest untouched
+        final int count = 29;
+        final int[] responses = new int[candidates.length];
+        BatchScorer.score(7, candidates, count, responses);
+
+        for (int i = 0; i < candidates.length; ++i) {
+            final int expected = i < count ? Response.score(7, candidates[i]) : 0;
+            assertEquals(expected, responses[i]);
+        }
+    }
+
+    // Benchmark comparing the vector path to the scalar path
+    @Test
+    void testBenchmark() {
+        final int[] candidates = allCodes();
+        final int[] responses = new int[candidates.length];
+        final int rounds = 5;
+
+        // Warm up both paths before timing them
+        long scalarNanos = timeAllGuesses(false, candidates, responses);
+        long vectorNanos = timeAllGuesses(true, candidates, responses);
+
+        for (int i = 0; i < rounds; ++i) {
+            scalarNanos = Math.min(scalarNanos, timeAllGuesses(false, candidates, responses));
+            vectorNanos = Math.min(vectorNanos, timeAllGuesses(true, candidates, responses));
+        }
+
+        Log.info("BatchScorer (vectorized: " + BatchScorer.isVectorized() + "): scalar "
+            + scalarNanos / 1_000 + " us, vector " + vectorNanos / 1_000 + " us, speedup "
+            + String.format("%.2f", (double) scalarNanos / vectorNanos) + "x");
+    }
+
+    // Times scoring every guess against every code, in nanoseconds
+    private static long timeAllGuesses(final boolean vector, final int[] candidates, final int[] responses) {
+        final long start = System.nanoTime();
+
+        for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+            if (vector) {
+                BatchScorer.score(guess, candidates, candidates.length, responses);
+            } else {
+                BatchScorer.scoreScalar(guess, candidates, candidates.length, responses);
+            }
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    // Returns the indices of all codes
+    private static int[] allCodes() {
+        final int[] codes = new int[Code.TOTAL_CODES];
+        for (int i = 0; i < codes.length; ++i) {
+            codes[i] = i;
+        }
+        return codes;
+    }
+}
@@ -18,6 +18,9 @@ import java.util.List;
 
 // Import static methods from JUnit for assertions and assumptions
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class CodeTest {
@@ -92,4 +95,66 @@ class CodeTest {
         // Assume that the occurrences of colors in the code match the expected occurrences
         assumeTrue(code.getOccurrences().equals(expectedOccurrences));
     }
-}
\ No newline at end of file
+
+    // Test method to verify the packed index of a code
+    @Test
+    void testIndex() {
+        // Create a code using the CodeFactory from a list of color indices
+        final Code code = CodeFactory.fromColorIndices(List.of(0, 0, 1, 1));
+
+        // The first position is the most significant base-TOTAL_COLORS digit
+        assertEquals(Mastermind.TOTAL_COLORS + 1, code.getIndex());
+        // Assert that the index round-trips through the factory
+        assertSame(code, CodeFactory.fromIndex(code.getIndex()));
+    }
+
+    // Test method to verify that the factory hands out canonical instances
+    @Test
+    void testCanonicalInstances() {
+        // Create the same code twice, from indices and from colors
+        final Code fromIndices = CodeFactory.fromColorIndices(List.of(5, 4, 3, 2));
+        final Code fromColors = CodeFactory.fromColors(List.of(Code.Color.Purple, Code.Color.Orange,
+                Code.Color.Yellow, Code.Color.Blue));
+
+        // Assert that both refer to the same instance
+        assertSame(fromIndices, fromColors);
+    }
+
+    // Test method to verify value equality of codes
+    @Test
+    void testEquals() {
+        // Create codes from lists of color indices
+        final Code code1 = CodeFactory.fromColorIndices(List.of(0, 1, 2, 3));
+        final Code code2 = CodeFactory.fromColorIndices(List.of(0, 1, 2, 3));
+        final Code code3 = CodeFactory.fromColorIndices(List.of(3, 2, 1, 0));
+
+        // Assert that equal code sequences are equal and share a hash code
+        assertEquals(code1, code2);
+        assertEquals(code1.hashCode(), code2.hashCode());
+        // Assert that different code sequences are not equal
+        assertNotEquals(code1, code3);
+    }
+
+    // Test method to verify the table of all codes
+    @Test
+    void testGetAll() {
+        // Get the list of all codes
+        final List<Code> codes = CodeFactory.getAll();
+
+        // Assert that there is one code per index, in ascending order
+        assertEquals(Code.TOTAL_CODES, codes.size());
+        for (int i = 0; i < codes.size(); ++i) {
+            assertEquals(i, codes.get(i).getIndex());
+        }
+    }
+
+    // Test method to verify that invalid codes are rejected
+    @Test
+    void testInvalidCode() {
+        // Assert that a code of the wrong length is rejected
+        assertThrows(IllegalArgumentException.class, () -> CodeFactory.fromColorIndices(List.of(0, 1, 2)));
+        // Assert that a color index out of range is rejected
+        assertThrows(IllegalArgumentException.class,
+                () -> CodeFactory.fromColorIndices(List.of(0, 1, 2, Mastermind.TOTAL_COLORS)));
+    }
+}
@@ -0,0 +1,58 @@
+package mastermind;
+
+import mastermind.core.Code;
+import mastermind.core.GameConfig;
+import mastermind.core.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameConfigTest {
+    @Test
+    void testDefault() {
+        // The default board is the one the precomputed tables are built for
+        final GameConfig config = GameConfig.DEFAULT;
+
+        assertEquals(Code.TOTAL_CODES, config.totalCodes());
+        assertEquals(GameConfig.Packing.INT, config.packing());
+
+        // Packing agrees with the code indices and scoring agrees with the responses
+        for (int index = 0; index < Code.TOTAL_CODES; index += 7) {
+            final int[] colors = config.unpack(index);
+            assertEquals(index, config.pack(colors));
+
+            final int[] other = config.unpack(Code.TOTAL_CODES - 1 - index);
+            final int response = Response.score(index, Code.TOTAL_CODES - 1 - index);
+            final int black = config.blackPegs(colors, other);
+            assertEquals(Response.blackPegsOf(response), black);
+            assertEquals(Response.whitePegsOf(response), config.commonColors(colors, other) - black);
+        }
+    }
+
+    @Test
+    void testPacking() {
+        // 16^7 codes still have int indices, 16^8 and up need longs
+        assertEquals(GameConfig.Packing.INT, new GameConfig(7, 16, 10).packing());
+        assertEquals(GameConfig.Packing.LONG, new GameConfig(8, 16, 10).packing());
+
+        final GameConfig largest = new GameConfig(GameConfig.MAX_CODE_LENGTH, GameConfig.MAX_COLORS, 20);
+        assertEquals(1L << 40, largest.totalCodes());
+
+        final int[] colors = {15, 0, 3, 15, 9, 9, 1, 0, 12, 7};
+        assertArrayEquals(colors, largest.unpack(largest.pack(colors)));
+        assertEquals(largest.totalCodes() - 1, largest.pack(new int[]{15, 15, 15, 15, 15, 15, 15, 15, 15, 15}));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(0, 6, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(GameConfig.MAX_CODE_LENGTH + 1, 6, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(4, GameConfig.MAX_COLORS + 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(4, 6, 0));
+
+        final GameConfig config = new GameConfig(5, 8, 12);
+        assertThrows(IllegalArgumentException.class, () -> config.pack(new int[]{0, 1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> config.pack(new int[]{0, 1, 2, 3, 8}));
+        assertThrows(IllegalArgumentException.class, () -> config.unpack(config.totalCodes()));
+    }
+}
@@ -0,0 +1,94 @@
+package mastermind;
+
+import mastermind.core.GameConfig;
+import mastermind.core.MappedResponseTable;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedResponseTableTest {
+    @TempDir
+    Path directory;
+
+    // Test method to verify the table against the scoring of the board
+    @Test
+    void testMatchesScoring() throws IOException {
+        final GameConfig config = new GameConfig(3, 5, 10);
+        final MappedResponseTable table = MappedResponseTable.open(config, directory);
+
+        for (int guess = 0; guess < config.totalCodes(); ++guess) {
+            for (int secret = 0; secret < config.totalCodes(); ++secret) {
+                final int[] a = config.unpack(guess);
+                final int[] b = config.unpack(secret);
+                final byte response = table.get(guess, secret);
+
+                assertEquals(config.blackPegs(a, b), table.blackPegsOf(response));
+                assertEquals(config.commonColors(a, b) - config.blackPegs(a, b), table.whitePegsOf(response));
+            }
+        }
+    }
+
+    // Test method to verify the table of the default board against the response table
+    @Test
+    void testMatchesResponseTable() throws IOException {
+        final MappedResponseTable table = MappedResponseTable.open(GameConfig.DEFAULT, directory);
+        final int totalCodes = (int) GameConfig.DEFAULT.totalCodes();
+
+        for (int guess = 0; guess < totalCodes; ++guess) {
+            for (int secret = 0; secret < totalCodes; ++secret) {
+                final byte expected = ResponseTable.get(guess, secret);
+                final byte response = table.get(guess, secret);
+
+                assertEquals(Response.blackPegsOf(expected), table.blackPegsOf(response));
+                assertEquals(Response.whitePegsOf(expected), table.whitePegsOf(response));
+            }
+        }
+
+        assertEquals((long) totalCodes * totalCodes, table.getMemorySize());
+    }
+
+    // Test method to verify that the file is generated once and shared
+    @Test
+    void testReusesFile() throws IOException {
+        final GameConfig config = new GameConfig(4, 4, 10);
+        final MappedResponseTable first = MappedResponseTable.open(config, directory);
+        final FileTime generated = Files.getLastModifiedTime(first.getFile());
+
+        final MappedResponseTable second = MappedResponseTable.open(config, directory);
+        assertEquals(first.getFile(), second.getFile());
+        assertEquals(generated, Files.getLastModifiedTime(second.getFile()));
+        assertEquals(first.get(17, 200), second.get(17, 200));
+
+        // Another board gets its own file.
+        assertNotEquals(first.getFile(), MappedResponseTable.open(new GameConfig(4, 3, 10), directory).getFile());
+    }
+
+    // Test method to verify that an invalid file is generated again
+    @Test
+    void testRegeneratesInvalidFile() throws IOException {
+        final GameConfig config = new GameConfig(2, 3, 10);
+        final Path file = MappedResponseTable.open(config, directory).getFile();
+
+        Files.write(file, new byte[]{1, 2, 3});
+        final MappedResponseTable table = MappedResponseTable.open(config, directory);
+
+        assertEquals(64 + 81, Files.size(file));
+        assertEquals(2, table.blackPegsOf(table.get(5, 5)));
+        assertEquals(0, table.blackPegsOf(table.get(0, 8)));
+    }
+
+    // Test method to verify that boards too large for a file are rejected
+    @Test
+    void testRejectsLargeBoards() {
+        assertThrows(IllegalArgumentException.class,
+            () -> MappedResponseTable.open(new GameConfig(10, 16, 20), directory));
+    }
+}
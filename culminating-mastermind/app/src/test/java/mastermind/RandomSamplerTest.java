@@ -0,0 +1,59 @@
+package mastermind;
+
+import mastermind.utils.RandomSampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomSamplerTest {
+    @Test
+    void testDrawsEveryIntegerOnce() {
+        final int size = 1000;
+        final RandomSampler sampler = new RandomSampler(size, new SplittableRandom(0));
+        final boolean[] seen = new boolean[size];
+
+        // Every integer of the range is drawn exactly once
+        for (int i = 0; i < size; ++i) {
+            assertEquals(size - i, sampler.remaining());
+
+            final int value = sampler.next();
+            assertTrue(value >= 0 && value < size);
+            assertFalse(seen[value], "Drawn twice: " + value);
+            seen[value] = true;
+        }
+
+        assertFalse(sampler.hasNext());
+        assertThrows(NoSuchElementException.class, sampler::next);
+    }
+
+    @Test
+    void testUniform() {
+        final int size = 8;
+        final int trials = 80000;
+        final int[] firstDraws = new int[size];
+        final SplittableRandom random = new SplittableRandom(1);
+
+        // The first draw is uniform: every integer comes first in about 1/8 of the trials
+        for (int trial = 0; trial < trials; ++trial) {
+            ++firstDraws[new RandomSampler(size, random).next()];
+        }
+
+        for (final int count : firstDraws) {
+            assertEquals(trials / size, count, trials / size / 10.0);
+        }
+    }
+
+    @Test
+    void testReproducible() {
+        final RandomSampler a = new RandomSampler(Integer.MAX_VALUE, new SplittableRandom(42));
+        final RandomSampler b = new RandomSampler(Integer.MAX_VALUE, new SplittableRandom(42));
+
+        // The same seed draws the same integers, even from a range too large to materialize
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(a.next(), b.next());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package mastermind;
+
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseTableTest {
+    // Test method to verify the table against the scoring kernel
+    @Test
+    void testMatchesScore() {
+        for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+            for (int secret = 0; secret < Code.TOTAL_CODES; ++secret) {
+                assertEquals(Response.score(guess, secret), ResponseTable.get(guess, secret));
+            }
+        }
+    }
+
+    // Test method to verify the reported build time and memory size
+    @Test
+    void testReportsBuildStatistics() {
+        // One byte per pair of codes
+        assertEquals((long) Code.TOTAL_CODES * Code.TOTAL_CODES, ResponseTable.getMemorySize());
+        assertTrue(ResponseTable.getBuildTime().toNanos() > 0);
+    }
+
+    // Test method to verify that concurrent readers of the built table observe the same contents
+    @Test
+    void testConcurrentReads() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // Every thread sums the whole table
+            final List<Callable<Long>> tasks = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                tasks.add(ResponseTableTest::sumTable);
+            }
+
+            // Assert that every thread observes the fully built table
+            final long expected = sumTable();
+            for (final Future<Long> sum : executor.invokeAll(tasks)) {
+                assertEquals(expected, sum.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Test method to verify that threads racing to build the table build it exactly once
+    @Test
+    void testConcurrentFirstBuild() throws Exception {
+        final int threads = 8;
+
+        // The table of this JVM is already built, so load the classes afresh, with a table not built yet
+        final URL classes = ResponseTable.class.getProtectionDomain().getCodeSource().getLocation();
+        try (final URLClassLoader loader = new URLClassLoader(new URL[]{classes},
+            ClassLoader.getPlatformClassLoader())) {
+            final Class<?> freshTable = Class.forName(ResponseTable.class.getName(), false, loader);
+            assertNotSame(ResponseTable.class, freshTable);
+
+            final Method getBuildTime = freshTable.getMethod("getBuildTime");
+            final Method get = freshTable.getMethod("get", int.class, int.class);
+
+            // Release every thread at once, so they all trigger the first build
+            final CyclicBarrier start = new CyclicBarrier(threads);
+            final List<Callable<Duration>> tasks = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                tasks.add(() -> {
+                    start.await();
+                    final Duration buildTime = (Duration) getBuildTime.invoke(null);
+
+                    // The table each thread reads is the complete table
+                    for (int guess = 0; guess < Code.TOTAL_CODES; guess += 7) {
+                        for (int secret = 0; secret < Code.TOTAL_CODES; ++secret) {
+                            assertEquals(ResponseTable.get(guess, secret), (byte) get.invoke(null, guess, secret));
+                        }
+                    }
+
+                    return buildTime;
+                });
+            }
+
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                // The build time is recorded once by the single build, so every thread sees the same instance
+                final List<Future<Duration>> buildTimes = executor.invokeAll(tasks);
+                for (final Future<Duration> buildTime : buildTimes) {
+                    assertSame(buildTimes.get(0).get(), buildTime.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    // Sums all response indices in the table
+    private static long sumTable() {
+        long sum = 0;
+
+        for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+            for (int secret = 0; secret < Code.TOTAL_CODES; ++secret) {
+                sum += ResponseTable.get(guess, secret);
+            }
+        }
+
+        return sum;
+    }
+}
@@ -13,10 +13,12 @@ import mastermind.core.Response;
 import mastermind.utils.Tuple2;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ResponseTest {
     // Test method to verify the response when the guess is completely correct
@@ -202,4 +204,90 @@ class ResponseTest {
         // Assert that the hash codes of response2 and response3 are not equal
         assertNotEquals(response2.hashCode(), response3.hashCode());
     }
-}
\ No newline at end of file
+
+    // Test method to verify the response index packing
+    @Test
+    void responseIndex() {
+        // Assert that the response index round-trips for every valid pair of counts
+        for (int black = 0; black <= Mastermind.CODE_LENGTH; ++black) {
+            for (int white = 0; black + white <= Mastermind.CODE_LENGTH; ++white) {
+                final int index = Response.indexOf(black, white);
+
+                assertEquals(black, Response.blackPegsOf(index));
+                assertEquals(white, Response.whitePegsOf(index));
+            }
+        }
+
+        // Assert that the last response index is the winning response
+        assertEquals(Response.TOTAL_RESPONSES - 1, Response.indexOf(Mastermind.CODE_LENGTH, 0));
+        // Assert that impossible counts are rejected
+        assertThrows(IllegalArgumentException.class, () -> Response.indexOf(Mastermind.CODE_LENGTH, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Response(new Tuple2<>(-1, 0)));
+    }
+
+    // Test method to verify the primitive scoring kernel against a straightforward count
+    @Test
+    void scoreAllPairs() {
+        for (final Code code : CodeFactory.getAll()) {
+            for (final Code guess : CodeFactory.getAll()) {
+                // Count black pegs and the color occurrences of the unmatched positions
+                int black = 0;
+                final int[] codeOccurrences = new int[Mastermind.TOTAL_COLORS];
+                final int[] guessOccurrences = new int[Mastermind.TOTAL_COLORS];
+
+                for (int i = 0; i < Mastermind.CODE_LENGTH; ++i) {
+                    if (code.getColor(i) == guess.getColor(i)) {
+                        ++black;
+                    } else {
+                        ++codeOccurrences[code.getColor(i).ordinal()];
+                        ++guessOccurrences[guess.getColor(i).ordinal()];
+                    }
+                }
+
+                // Count white pegs as the common colors of the unmatched positions
+                int white = 0;
+                for (int color = 0; color < Mastermind.TOTAL_COLORS; ++color) {
+                    white += Math.min(codeOccurrences[color], guessOccurrences[color]);
+                }
+
+                // Assert that the kernel and the Response object agree with the count
+                assertEquals(Response.indexOf(black, white), Response.score(code.getIndex(), guess.getIndex()));
+                assertEquals(new Response(new Tuple2<>(black, white)), new Response(code, guess));
+            }
+        }
+    }
+
+    // Test method to verify that the primitive scoring kernel never allocates
+    @Test
+    void scoreDoesNotAllocate() {
+        final com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().threadId();
+
+        // Warm up the kernel and the allocation counter itself
+        int checksum = scoreAllCodes();
+        threadBean.getThreadAllocatedBytes(threadId);
+
+        // Measure the bytes allocated while scoring every pair of codes
+        final long before = threadBean.getThreadAllocatedBytes(threadId);
+        checksum += scoreAllCodes();
+        final long after = threadBean.getThreadAllocatedBytes(threadId);
+
+        // Assert that no bytes were allocated, and that the work was not optimized away
+        assertEquals(0, after - before);
+        assertNotEquals(0, checksum);
+    }
+
+    // Scores every pair of codes, returning a checksum of the response indices
+    private static int scoreAllCodes() {
+        int checksum = 0;
+
+        for (int code = 0; code < Code.TOTAL_CODES; ++code) {
+            for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+                checksum += Response.score(code, guess);
+            }
+        }
+
+        return checksum;
+    }
+}
@@ -0,0 +1,107 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.solvers.BatchSolver;
+import mastermind.core.solvers.DonaldKnuthAlgorithm;
+import mastermind.core.solvers.GameResult;
+import mastermind.core.solvers.InvalidHintsException;
+import mastermind.core.solvers.MastermindAlgorithm;
+import mastermind.core.solvers.MediumAlgorithm;
+import mastermind.core.solvers.Status;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSolverTest {
+    @Test
+    void testExecutionModes() {
+        List<GameResult> expected = null;
+
+        // Every mode plays the same games, in the order of the secret codes
+        for (final BatchSolver.Execution execution : BatchSolver.Execution.values()) {
+            final List<GameResult> results = new BatchSolver(MediumAlgorithm::new, execution, 4)
+                .solve(CodeFactory.getAll().stream());
+
+            assertEquals(Code.TOTAL_CODES, results.size());
+            for (int i = 0; i < results.size(); ++i) {
+                final GameResult result = results.get(i);
+
+                assertSame(CodeFactory.fromIndex(i), result.secretCode());
+                assertTrue(result.isWin(), "Failed to solve secret code: " + result.secretCode());
+                assertFalse(result.isFailure());
+                assertTrue(result.nanos() > 0);
+
+                if (expected != null) {
+                    assertEquals(expected.get(i).guesses(), result.guesses());
+                }
+            }
+
+            expected = results;
+        }
+    }
+
+    @Test
+    void testKnuthTotal() {
+        final List<GameResult> results = new BatchSolver(DonaldKnuthAlgorithm::new)
+            .solve(CodeFactory.getAll().stream());
+
+        // The same total as the sequential loop of DonaldKnuthAlgorithmTest
+        assertEquals(5801, results.stream().mapToInt(GameResult::guesses).sum());
+    }
+
+    @Test
+    void testFailures() {
+        // A solver that rejects every response fails every game without stopping the batch
+        final List<GameResult> results = new BatchSolver(RejectingAlgorithm::new,
+            BatchSolver.Execution.VIRTUAL_THREADS, 1).solve(CodeFactory.getAll().stream().limit(10));
+
+        assertEquals(10, results.size());
+        for (final GameResult result : results) {
+            assertTrue(result.isFailure());
+            assertTrue(result.failure() instanceof InvalidHintsException);
+            assertNull(result.status());
+            assertEquals(1, result.guesses());
+        }
+
+        // A factory that throws fails the game before any guess
+        final GameResult result = new BatchSolver(() -> {
+            throw new IllegalStateException("No solver");
+        }).play(CodeFactory.fromIndex(0));
+
+        assertTrue(result.isFailure());
+        assertEquals(0, result.guesses());
+
+        // Errors are recorded too, so no game of the batch is left without a result
+        final List<GameResult> errors = new BatchSolver(() -> {
+            throw new StackOverflowError();
+        }, BatchSolver.Execution.PLATFORM_THREADS, 2).solve(CodeFactory.getAll().stream().limit(4));
+
+        assertEquals(4, errors.size());
+        for (final GameResult error : errors) {
+            assertTrue(error.failure() instanceof StackOverflowError);
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> new BatchSolver(MediumAlgorithm::new, BatchSolver.Execution.FORK_JOIN, 0));
+    }
+
+    /**
+     * A solver whose first guess is always the last code, and that rejects every response.
+     */
+    private static class RejectingAlgorithm extends MastermindAlgorithm {
+        @Override
+        public Code guess() {
+            hasExceededMaxGuesses(); // counts the guess
+            return CodeFactory.fromIndex(Code.TOTAL_CODES - 1);
+        }
+
+        @Override
+        public Tuple2<Status, Code> guess(final Response response) {
+            throw new InvalidHintsException("No valid permutations found.");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.CandidateSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateSetTest {
+    @Test
+    void testAll() {
+        final CandidateSet candidates = CandidateSet.all();
+
+        // Every code is a candidate, in ascending order of index
+        assertEquals(Code.TOTAL_CODES, candidates.size());
+        assertEquals(0, candidates.first());
+        assertEquals(-1, candidates.next(Code.TOTAL_CODES));
+
+        final List<Code> iterated = new ArrayList<>();
+        candidates.forEach(iterated::add);
+        assertEquals(CodeFactory.getAll(), iterated);
+    }
+
+    @Test
+    void testRetainConsistent() {
+        final CandidateSet candidates = CandidateSet.all();
+        final int guess = CodeFactory.fromColorIndices(List.of(0, 0, 1, 1)).getIndex();
+        final int secret = CodeFactory.fromColorIndices(List.of(1, 2, 3, 4)).getIndex();
+        final int response = ResponseTable.get(guess, secret);
+
+        candidates.retainConsistent(guess, response);
+
+        // The set contains exactly the codes producing the same response
+        int expectedSize = 0;
+        for (int code = 0; code < Code.TOTAL_CODES; ++code) {
+            final boolean consistent = ResponseTable.get(guess, code) == response;
+            assertEquals(consistent, candidates.contains(code));
+            expectedSize += consistent ? 1 : 0;
+        }
+
+        assertEquals(expectedSize, candidates.size());
+        assertEquals(expectedSize, candidates.toArray().length);
+        assertTrue(candidates.contains(secret));
+    }
+
+    @Test
+    void testSnapshotIsCopyOnWrite() {
+        final CandidateSet original = CandidateSet.all();
+        final CandidateSet snapshot = original.snapshot();
+
+        // Modifying the original does not affect the snapshot
+        original.remove(0);
+        assertFalse(original.contains(0));
+        assertTrue(snapshot.contains(0));
+
+        // Modifying the snapshot does not affect the original
+        snapshot.retainConsistent(0, ResponseTable.get(0, 0));
+        assertEquals(1, snapshot.size());
+        assertEquals(Code.TOTAL_CODES - 1, original.size());
+    }
+
+    @Test
+    void testAllIsSharedView() {
+        final CandidateSet first = CandidateSet.all();
+        final CandidateSet second = CandidateSet.all();
+
+        // Narrowing one view of the universe leaves the others, and the universe, whole
+        first.retainConsistent(0, ResponseTable.get(0, 0));
+        second.remove(Code.TOTAL_CODES - 1);
+        assertEquals(1, first.size());
+        assertEquals(Code.TOTAL_CODES - 1, second.size());
+        assertEquals(Code.TOTAL_CODES, CandidateSet.all().size());
+    }
+
+    @Test
+    void testMemoryFootprint() {
+        // The universe of codes is shared by the whole process, so it is not counted
+        final CandidateSet candidates = CandidateSet.all();
+        final long view = candidates.memoryFootprint();
+
+        // The first modification copies the bitset, which is then counted
+        candidates.retainConsistent(7, ResponseTable.get(7, 1000));
+        assertTrue(candidates.memoryFootprint() > view);
+        assertEquals(candidates.memoryFootprint(), CandidateSet.empty().memoryFootprint());
+        assertEquals(candidates.memoryFootprint(), candidates.snapshot().memoryFootprint());
+    }
+
+    @Test
+    void testEmpty() {
+        final CandidateSet candidates = CandidateSet.empty();
+
+        assertTrue(candidates.isEmpty());
+        assertEquals(-1, candidates.first());
+
+        candidates.add(Code.TOTAL_CODES - 1);
+        assertFalse(candidates.isEmpty());
+        assertEquals(Code.TOTAL_CODES - 1, candidates.first());
+    }
+}
@@ -0,0 +1,170 @@
+package mastermind.solvers;
+
+import mastermind.core.GameConfig;
+import mastermind.core.solvers.CodeSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeSetTest {
+    private static final GameConfig SMALL_BOARD = new GameConfig(4, 6, 10);
+
+    private static final GameConfig LARGE_BOARD = new GameConfig(10, 16, 20);
+
+    @Test
+    void testAgainstReference() {
+        final SplittableRandom random = new SplittableRandom(7);
+        final int total = (int) SMALL_BOARD.totalCodes();
+
+        for (int round = 0; round < 20; ++round) {
+            final CodeSet set = CodeSet.all(SMALL_BOARD);
+            final boolean[] reference = new boolean[total];
+            Arrays.fill(reference, true);
+
+            for (int step = 0; step < 4; ++step) {
+                final int modulus = 1 + random.nextInt(8);
+                final int remainder = random.nextInt(modulus);
+                final int low = random.nextInt(total);
+
+                set.retainIf(code -> code % modulus == remainder || code < low);
+                for (int code = 0; code < total; ++code) {
+                    reference[code] &= code % modulus == remainder || code < low;
+                }
+
+                long size = 0;
+                for (int code = 0; code < total; ++code) {
+                    assertEquals(reference[code], set.contains(code));
+                    if (reference[code]) {
+                        assertEquals(code, set.get(size++));
+                    }
+                }
+                assertEquals(size, set.size());
+                assertEquals(size, set.toArray().length);
+            }
+        }
+    }
+
+    @Test
+    void testMultiWordBitset() {
+        // 6 positions and 8 colors: 262,144 codes, a bitset of 4,096 words in 64 blocks
+        final GameConfig board = new GameConfig(6, 8, 10);
+        final int total = (int) board.totalCodes();
+        final CodeSet set = CodeSet.all(board);
+        final boolean[] reference = new boolean[total];
+        Arrays.fill(reference, true);
+
+        // Dense codes at both ends and around the word boundaries, leaving empty blocks in between
+        set.retainIf(code -> code % 3 == 0 && (code < 5000 || code > 200000) || code % 4096 == 4095);
+        for (int code = 0; code < total; ++code) {
+            reference[code] = code % 3 == 0 && (code < 5000 || code > 200000) || code % 4096 == 4095;
+        }
+        assertEquals(CodeSet.Representation.BITSET, set.getRepresentation());
+
+        for (int step = 0; step < 2; ++step) {
+            long size = 0;
+            for (int code = 0; code < total; ++code) {
+                assertEquals(reference[code], set.contains(code));
+                if (reference[code]) {
+                    assertEquals(code, set.get(size++));
+                }
+            }
+            assertEquals(size, set.size());
+
+            // Filtering again rebuilds the rank index
+            set.retainIf(code -> code % 2 == 1);
+            for (int code = 0; code < total; ++code) {
+                reference[code] &= code % 2 == 1;
+            }
+        }
+    }
+
+    @Test
+    void testRepresentations() {
+        final CodeSet all = CodeSet.all(SMALL_BOARD);
+        assertEquals(CodeSet.Representation.RUNS, all.getRepresentation());
+        assertEquals(1296, all.size());
+
+        final CodeSet even = CodeSet.all(SMALL_BOARD);
+        even.retainIf(code -> code % 2 == 0);
+        assertEquals(CodeSet.Representation.BITSET, even.getRepresentation());
+        assertEquals(648, even.size());
+
+        final CodeSet few = CodeSet.all(SMALL_BOARD);
+        few.retainIf(code -> code % 100 == 0);
+        assertEquals(CodeSet.Representation.SORTED, few.getRepresentation());
+        assertArrayEquals(new long[]{0, 100, 200, 300, 400, 500, 600, 700, 800, 900, 1000, 1100, 1200},
+            few.toArray());
+
+        final CodeSet range = CodeSet.all(SMALL_BOARD);
+        range.retainIf(code -> code >= 100 && code < 900);
+        assertEquals(CodeSet.Representation.RUNS, range.getRepresentation());
+        assertEquals(800, range.size());
+        assertEquals(100, range.get(0));
+        assertEquals(899, range.get(799));
+
+        final CodeSet none = CodeSet.all(SMALL_BOARD);
+        none.retainIf(code -> false);
+        assertTrue(none.isEmpty());
+        assertTrue(CodeSet.empty(SMALL_BOARD).isEmpty());
+    }
+
+    @Test
+    void testMemoryFootprint() {
+        final CodeSet set = CodeSet.all(SMALL_BOARD);
+        final long all = set.memoryFootprint();
+
+        set.retainIf(code -> code % 2 == 0);
+        final long even = set.memoryFootprint();
+        assertTrue(even > all);
+
+        set.retainIf(code -> code % 100 == 0);
+        assertTrue(set.memoryFootprint() < even);
+
+        // The rank index of a lookup is counted until the set is filtered again
+        final CodeSet runs = CodeSet.all(SMALL_BOARD);
+        runs.retainIf(code -> code % 10 < 5);
+        final long unindexed = runs.memoryFootprint();
+        runs.get(0);
+        assertTrue(runs.memoryFootprint() > unindexed);
+    }
+
+    @Test
+    void testSnapshot() {
+        final CodeSet set = CodeSet.all(SMALL_BOARD);
+        set.retainIf(code -> code % 2 == 0);
+        set.get(10); // builds the rank index, which is shared as well
+        final CodeSet snapshot = set.snapshot();
+
+        // Filtering either set leaves the other one unchanged
+        set.retainIf(code -> code % 100 == 0);
+        assertEquals(648, snapshot.size());
+        assertEquals(20, snapshot.get(10));
+        assertTrue(snapshot.contains(2));
+
+        snapshot.retainIf(code -> code < 10);
+        assertEquals(13, set.size());
+        assertEquals(5, snapshot.size());
+    }
+
+    @Test
+    void testLargeBoard() {
+        final CodeSet set = CodeSet.all(LARGE_BOARD);
+        assertEquals(CodeSet.Representation.RUNS, set.getRepresentation());
+        assertEquals(1L << 40, set.size());
+        assertTrue(set.memoryFootprint() < 1024);
+        assertTrue(set.contains((1L << 40) - 1));
+        assertFalse(set.contains(1L << 40));
+        assertEquals(12345678901L, set.get(12345678901L));
+    }
+
+    @Test
+    void testOutOfRange() {
+        final CodeSet set = CodeSet.all(SMALL_BOARD);
+        assertThrows(NoSuchElementException.class, () -> set.get(1296));
+        assertThrows(NoSuchElementException.class, () -> set.get(-1));
+    }
+}
@@ -0,0 +1,153 @@
+package mastermind.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.GameConfig;
+import mastermind.core.Response;
+import mastermind.core.solvers.CandidateSet;
+import mastermind.core.solvers.ConsistentCodeEnumerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentCodeEnumeratorTest {
+    @Test
+    void testMatchesCandidateSet() {
+        final SplittableRandom random = new SplittableRandom(0);
+
+        // Random histories of one to three guesses against a random secret code
+        for (int trial = 0; trial < 50; ++trial) {
+            final int secret = random.nextInt(Code.TOTAL_CODES);
+            final CandidateSet candidates = CandidateSet.all();
+            final ConsistentCodeEnumerator enumerator = new ConsistentCodeEnumerator();
+
+            for (int turn = 0, turns = 1 + random.nextInt(3); turn < turns; ++turn) {
+                final int guess = random.nextInt(Code.TOTAL_CODES);
+                final int response = Response.score(guess, secret);
+
+                candidates.retainConsistent(guess, response);
+                enumerator.addConstraint(colorsOf(guess), Response.blackPegsOf(response),
+                    Response.whitePegsOf(response));
+            }
+
+            // The same codes, in ascending order of index
+            for (final int expected : candidates.toArray()) {
+                assertTrue(enumerator.hasNext());
+                assertEquals(expected, indexOf(enumerator.next()));
+            }
+
+            assertFalse(enumerator.hasNext());
+            assertThrows(NoSuchElementException.class, enumerator::next);
+        }
+    }
+
+    @Test
+    void testConstraintAfterNext() {
+        final ConsistentCodeEnumerator enumerator = new ConsistentCodeEnumerator();
+
+        // Without constraints, every code is consistent
+        assertEquals(0, indexOf(enumerator.next()));
+        assertEquals(1, indexOf(enumerator.next()));
+
+        // Only codes after the last one returned are enumerated once a constraint is added
+        final int guess = 0;
+        final int secret = Code.TOTAL_CODES - 1;
+        final int response = Response.score(guess, secret);
+        enumerator.addConstraint(colorsOf(guess), Response.blackPegsOf(response), Response.whitePegsOf(response));
+
+        final CandidateSet candidates = CandidateSet.all();
+        candidates.retainConsistent(guess, response);
+        assertEquals(candidates.next(2), indexOf(enumerator.next()));
+    }
+
+    @Test
+    void testMarkAndReset() {
+        final int secret = 700;
+        final ConsistentCodeEnumerator enumerator = new ConsistentCodeEnumerator();
+        final int first = Response.score(0, secret);
+        enumerator.addConstraint(colorsOf(0), Response.blackPegsOf(first), Response.whitePegsOf(first));
+
+        final int guess = indexOf(enumerator.next());
+        final ConsistentCodeEnumerator.Mark mark = enumerator.mark();
+        final int expected = indexOf(enumerator.next());
+
+        // A wrong constraint is dropped, and the codes after the mark are enumerated again
+        enumerator.addConstraint(colorsOf(guess), 0, 0);
+        enumerator.reset(mark);
+        assertEquals(expected, indexOf(enumerator.next()));
+
+        enumerator.reset(mark);
+        final int second = Response.score(guess, secret);
+        enumerator.addConstraint(colorsOf(guess), Response.blackPegsOf(second), Response.whitePegsOf(second));
+
+        final CandidateSet candidates = CandidateSet.all();
+        candidates.retainConsistent(0, first);
+        candidates.retainConsistent(guess, second);
+        for (final int code : candidates.toArray()) {
+            if (code > guess) {
+                assertEquals(code, indexOf(enumerator.next()));
+            }
+        }
+        assertFalse(enumerator.hasNext());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new ConsistentCodeEnumerator().reset(enumerator.mark()));
+    }
+
+    @Test
+    void testLargeBoard() {
+        // 8 positions and 8 colors: 16,777,216 codes, which are never materialized
+        final GameConfig config = new GameConfig(8, 8, 30);
+        final int[] secret = {7, 3, 5, 5, 0, 6, 1, 7};
+        final ConsistentCodeEnumerator enumerator = new ConsistentCodeEnumerator(config);
+
+        // Guess the first consistent code until the secret code is found
+        for (int guesses = 1; ; ++guesses) {
+            assertTrue(guesses <= config.maxGuesses(), "Too many guesses");
+            assertTrue(enumerator.hasNext());
+
+            final int[] guess = enumerator.next();
+            final int black = config.blackPegs(guess, secret);
+            if (black == config.codeLength()) {
+                break;
+            }
+
+            enumerator.addConstraint(guess, black, config.commonColors(guess, secret) - black);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> enumerator.addConstraint(new int[3], 0, 0));
+    }
+
+    /**
+     * Unpacks a code index into colors.
+     *
+     * @param index the code index
+     * @return the colors of the code
+     */
+    private static int[] colorsOf(final int index) {
+        final int[] colors = new int[Mastermind.CODE_LENGTH];
+        for (int position = 0; position < colors.length; ++position) {
+            colors[position] = Code.colorIndexAt(index, position);
+        }
+
+        return colors;
+    }
+
+    /**
+     * Packs colors into a code index.
+     *
+     * @param colors the colors of the code
+     * @return the code index
+     */
+    private static int indexOf(final int[] colors) {
+        int index = 0;
+        for (final int color : colors) {
+            index = index * Mastermind.TOTAL_COLORS + color;
+        }
+
+        return index;
+    }
+}
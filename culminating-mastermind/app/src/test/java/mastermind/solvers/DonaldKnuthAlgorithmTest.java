@@ -6,16 +6,16 @@
 
 package mastermind.solvers;
 
-import mastermind.Mastermind;
 import mastermind.core.Code;
 import mastermind.core.CodeFactory;
 import mastermind.core.Response;
 import mastermind.core.solvers.DonaldKnuthAlgorithm;
+import mastermind.core.solvers.InvalidHintsException;
 import mastermind.core.solvers.Status;
-import mastermind.utils.MathUtil;
 import mastermind.utils.Tuple2;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,23 +38,69 @@ class DonaldKnuthAlgorithmTest {
 
     @Test
     void testAllGuesses() {
-        // Calculate the total number of possible codes based on the number of colors and code length
-        final int possibilities = (int) Math.pow(Mastermind.TOTAL_COLORS, Mastermind.CODE_LENGTH);
+        // Total number of guesses over all secret codes
+        int totalGuesses = 0;
 
-        // Iterate over all possible codes
-        for (int i = 0; i < possibilities; ++i) {
-            // Convert the current index to a list of color indices representing a code
-            final List<Integer> colorIndices = MathUtil.digitsFromBase(i, Mastermind.TOTAL_COLORS, Mastermind.CODE_LENGTH);
+        // Iterate over all possible codes, shared by every solver
+        for (final Code secretCode : CodeFactory.getAll()) {
+            // Test the solver's ability to guess the secret code
+            totalGuesses += testGuess(secretCode);
+        }
 
-            // Create a Code object from the list of color indices
-            final Code secretCode = CodeFactory.fromColorIndices(colorIndices);
+        // Knuth's strategy takes 5801 guesses in total, an average of about 4.476
+        assertEquals(5801, totalGuesses);
+    }
 
-            // Test the solver's ability to guess the secret code
-            testGuess(secretCode);
+    @Test
+    void testUndoInvalidHints() {
+        final Code secretCode = CodeFactory.fromIndex(777);
+        final DonaldKnuthAlgorithm solver = new DonaldKnuthAlgorithm();
+        final Code firstGuess = solver.guess();
+        final Tuple2<Status, Code> second = solver.guess(new Response(secretCode, firstGuess));
+
+        // Find key pegs for the second guess that no remaining permutation would give
+        boolean contradicted = false;
+        for (int index = 0; index < Response.TOTAL_RESPONSES && !contradicted; ++index) {
+            try {
+                solver.guess(Response.fromIndex(index));
+                solver.undo(1);
+            } catch (final InvalidHintsException e) {
+                contradicted = true;
+                solver.undo(1);
+            }
+        }
+        assertTrue(contradicted);
+
+        // The game goes on from the second guess, as if the wrong key pegs were never entered
+        assertEquals(1, solver.getUndoableResponses());
+        Tuple2<Status, Code> result = solver.guess(new Response(secretCode, second.second()));
+        while (result.first() == Status.Continue) {
+            result = solver.guess(new Response(secretCode, result.second()));
+        }
+
+        assertEquals(Status.Win, result.first());
+        assertEquals(secretCode, result.second());
+        assertEquals(testGuess(secretCode), solver.getAttempts());
+    }
+
+    @Test
+    void testBudgetedGuesses() {
+        // Without time to search, every guess is still a possible secret code, so the solver still wins
+        for (int i = 0; i < Code.TOTAL_CODES; i += 37) {
+            final Code secretCode = CodeFactory.fromIndex(i);
+            final DonaldKnuthAlgorithm solver = new DonaldKnuthAlgorithm(null, null, null);
+            Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+            while (result.first() == Status.Continue) {
+                result = solver.guess(new Response(secretCode, result.second()), Duration.ZERO);
+                assertTrue(solver.getCoverage() > 0.0 && solver.getCoverage() < 1.0);
+            }
+
+            assertEquals(Status.Win, result.first());
         }
     }
 
-    void testGuess(final Code secretCode) {
+    int testGuess(final Code secretCode) {
         // Create an instance of the DonaldKnuthAlgorithm solver
         final DonaldKnuthAlgorithm solver = new DonaldKnuthAlgorithm();
 
@@ -75,8 +121,9 @@ class DonaldKnuthAlgorithmTest {
             fail("Donald Knuth algorithm failed to solve secret code: " + secretCode);
         }
 
-        // Assert that the solver solved the code within the allowed number of attempts
-        // The algorithm should solve the code in at most 6 guesses, but due to the way attempts are counted, it may return 7
-        assertTrue(solver.getAttempts() <= 7);
+        // Assert that the solver solved the code within Knuth's bound of 5 guesses
+        assertTrue(solver.getAttempts() <= 5);
+
+        return solver.getAttempts();
     }
 }
@@ -0,0 +1,78 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.solvers.EasyAlgorithm;
+import mastermind.core.solvers.Status;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EasyAlgorithmTest {
+    @Test
+    void testNoRepeatedGuesses() {
+        final Code secretCode = CodeFactory.fromIndex(0);
+
+        // Random guesses rarely win, so a game plays until it is lost, without guessing a code twice
+        for (int game = 0; game < 100; ++game) {
+            final List<Code> guesses = play(new EasyAlgorithm(new SplittableRandom(game)), secretCode);
+            assertEquals(guesses.size(), new HashSet<>(guesses).size());
+        }
+    }
+
+    @Test
+    void testReproducible() {
+        final Code secretCode = CodeFactory.fromIndex(Code.TOTAL_CODES - 1);
+
+        // The same seed plays the same game
+        assertEquals(play(new EasyAlgorithm(new SplittableRandom(7)), secretCode),
+            play(new EasyAlgorithm(new SplittableRandom(7)), secretCode));
+    }
+
+    @Test
+    void testUndo() {
+        final EasyAlgorithm solver = new EasyAlgorithm(new SplittableRandom(3));
+        final Code first = solver.guess();
+        final Code second = solver.guess(new Response(CodeFactory.fromIndex(0), first)).second();
+        solver.guess(new Response(CodeFactory.fromIndex(1), second));
+        assertEquals(2, solver.getUndoableResponses());
+
+        // Taking back the last answer makes the second guess the pending one again
+        solver.undo(1);
+        assertEquals(1, solver.getUndoableResponses());
+        assertEquals(2, solver.getAttempts());
+
+        final Tuple2<Status, Code> result = solver.guess(new Response(second, second));
+        assertEquals(Status.Win, result.first());
+        assertEquals(second, result.second());
+    }
+
+    /**
+     * Plays a game until it is won or lost.
+     *
+     * @param solver     the solver
+     * @param secretCode the secret code
+     * @return every guess made, in order
+     */
+    private static List<Code> play(final EasyAlgorithm solver, final Code secretCode) {
+        final List<Code> guesses = new ArrayList<>();
+        Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+        guesses.add(result.second());
+
+        while (true) {
+            result = solver.guess(new Response(secretCode, result.second()));
+            if (result.first() != Status.Continue) {
+                return guesses;
+            }
+
+            guesses.add(result.second());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.GameConfig;
+import mastermind.core.Response;
+import mastermind.core.solvers.GeneticAlgorithm;
+import mastermind.core.solvers.Status;
+import mastermind.utils.Log;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneticAlgorithmTest {
+    @Test
+    void testRandomGames() {
+        final SplittableRandom random = new SplittableRandom(0);
+        final int games = 100;
+        int totalGuesses = 0;
+
+        for (int game = 0; game < games; ++game) {
+            final Code secretCode = CodeFactory.fromIndex(random.nextInt(Code.TOTAL_CODES));
+            final GeneticAlgorithm solver = new GeneticAlgorithm(GeneticAlgorithm.DEFAULT_POPULATION_SIZE,
+                GeneticAlgorithm.DEFAULT_MAX_GENERATIONS, ForkJoinPool.commonPool(), game);
+
+            assertEquals(Status.Win, play(solver, secretCode, new ArrayList<>()), "Failed to solve secret code: " + secretCode);
+            totalGuesses += solver.getAttempts();
+        }
+
+        // Berghman et al. report about 4.4 guesses on this board with larger populations
+        final double average = (double) totalGuesses / games;
+        Log.info("GeneticAlgorithm: average " + String.format("%.3f", average) + " guesses over " + games + " games");
+        assertTrue(average < 5.0);
+    }
+
+    @Test
+    void testReproducible() {
+        final Code secretCode = CodeFactory.fromIndex(1000);
+
+        // Fitness evaluated in parallel or sequentially gives the same game for the same seed
+        final GeneticAlgorithm parallel = new GeneticAlgorithm(40, 20, ForkJoinPool.commonPool(), 42);
+        final GeneticAlgorithm sequential = new GeneticAlgorithm(40, 20, null, 42);
+
+        final List<Code> parallelGuesses = new ArrayList<>();
+        final List<Code> sequentialGuesses = new ArrayList<>();
+
+        assertEquals(Status.Win, play(parallel, secretCode, parallelGuesses));
+        assertEquals(Status.Win, play(sequential, secretCode, sequentialGuesses));
+        assertEquals(parallelGuesses, sequentialGuesses);
+
+        // The same seed replays the same guesses
+        final List<Code> replayedGuesses = new ArrayList<>();
+        assertEquals(Status.Win, play(new GeneticAlgorithm(40, 20, null, 42), secretCode, replayedGuesses));
+        assertEquals(sequentialGuesses, replayedGuesses);
+    }
+
+    @Test
+    void testLargeBoard() {
+        // 6 positions and 9 colors: 531,441 codes, played on color arrays
+        final GameConfig config = new GameConfig(6, 9, 20);
+        final int[] secret = {8, 0, 4, 4, 2, 7};
+        final GeneticAlgorithm solver = new GeneticAlgorithm(config, GeneticAlgorithm.DEFAULT_POPULATION_SIZE,
+            GeneticAlgorithm.DEFAULT_MAX_GENERATIONS, ForkJoinPool.commonPool(), 3);
+
+        Tuple2<Status, int[]> result = new Tuple2<>(Status.Continue, solver.firstGuess());
+        while (result.first() == Status.Continue) {
+            final int black = config.blackPegs(result.second(), secret);
+            result = solver.nextGuess(black, config.commonColors(result.second(), secret) - black);
+        }
+
+        assertEquals(Status.Win, result.first());
+        assertArrayEquals(secret, result.second());
+        assertTrue(solver.getAttempts() <= config.maxGuesses());
+    }
+
+    @Test
+    void testUndoWrongResponse() {
+        final SplittableRandom random = new SplittableRandom(1);
+
+        // A wrong answer that is taken back no longer constrains the evolution, so the secret code is still found
+        for (int game = 0; game < 20; ++game) {
+            final Code secretCode = CodeFactory.fromIndex(random.nextInt(Code.TOTAL_CODES));
+            final Code decoy = CodeFactory.fromIndex(Code.TOTAL_CODES - 1 - secretCode.getIndex());
+            final GeneticAlgorithm solver = new GeneticAlgorithm(40, 20, null, game);
+
+            Tuple2<Status, Code> result = solver.guess(new Response(secretCode, solver.guess()));
+            if (result.first() != Status.Continue) {
+                continue;
+            }
+
+            solver.guess(new Response(decoy, result.second()));
+            assertEquals(2, solver.getUndoableResponses());
+            solver.undo(1);
+            assertEquals(2, solver.getAttempts());
+
+            while (result.first() == Status.Continue) {
+                result = solver.guess(new Response(secretCode, result.second()));
+            }
+
+            assertEquals(Status.Win, result.first(), "Failed to solve secret code: " + secretCode);
+        }
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new GeneticAlgorithm(1, 10, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GeneticAlgorithm(10, 0, null, 0));
+    }
+
+    /**
+     * Plays a game until it is won or lost.
+     *
+     * @param solver     the solver
+     * @param secretCode the secret code
+     * @param guesses    the list to append every guess to
+     * @return the final status of the game
+     */
+    private static Status play(final GeneticAlgorithm solver, final Code secretCode, final List<Code> guesses) {
+        Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+        guesses.add(result.second());
+
+        while (result.first() == Status.Continue) {
+            result = solver.guess(new Response(secretCode, result.second()));
+            if (result.first() == Status.Continue) {
+                guesses.add(result.second());
+            }
+        }
+
+        return result.first();
+    }
+}
@@ -0,0 +1,108 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.CandidateSet;
+import mastermind.core.solvers.GuessSearch;
+import mastermind.core.solvers.SearchResult;
+import mastermind.utils.Log;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GuessSearchTest {
+    @Test
+    void testParallelMatchesSequential() {
+        final GuessSearch sequential = new GuessSearch();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final GuessSearch parallel = new GuessSearch(pool);
+        final Random random = new Random(0);
+
+        try {
+            // Play games against random secret codes, comparing both searches at every move
+            for (int game = 0; game < 50; ++game) {
+                final int secret = random.nextInt(Code.TOTAL_CODES);
+                final CandidateSet candidates = CandidateSet.all();
+                int guess = sequential.findBestGuess(candidates);
+
+                while (guess != secret) {
+                    candidates.retainConsistent(guess, ResponseTable.get(guess, secret));
+
+                    guess = sequential.findBestGuess(candidates);
+                    assertEquals(guess, parallel.findBestGuess(candidates));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testFirstGuess() {
+        // Knuth's minimax guess for the full code space is 0011
+        final int expected = CodeFactory.fromColorIndices(List.of(0, 0, 1, 1)).getIndex();
+        assertEquals(expected, new GuessSearch().findBestGuess(CandidateSet.all()));
+    }
+
+    @Test
+    void testBudget() {
+        final GuessSearch search = new GuessSearch();
+        final int[] allGuesses = CandidateSet.all().toArray();
+        final CandidateSet candidates = CandidateSet.all();
+        candidates.retainConsistent(7, ResponseTable.get(7, 1000));
+
+        // Without a budget, every guess is scored
+        final SearchResult complete = search.search(candidates, allGuesses, null);
+        assertTrue(complete.isComplete());
+        assertEquals(1.0, complete.coverage());
+        assertEquals(search.findBestGuess(candidates), complete.guess());
+
+        // With no time at all, only the first candidate is scored
+        final SearchResult partial = search.search(candidates, allGuesses, Duration.ZERO);
+        assertEquals(1, partial.evaluated());
+        assertEquals(candidates.first(), partial.guess());
+        assertTrue(partial.coverage() < 1.0);
+    }
+
+    // Benchmark reporting the speedup of the search over the full code space
+    @Test
+    void benchmarkSpeedup() {
+        final CandidateSet candidates = CandidateSet.all();
+        final long sequentialNanos = timeSearch(new GuessSearch(), candidates);
+
+        // Report the speedup for pool sizes up to 32
+        for (int parallelism = 1; parallelism <= 32; parallelism *= 2) {
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+            try {
+                final long parallelNanos = timeSearch(new GuessSearch(pool), candidates);
+                Log.info("GuessSearch parallelism " + parallelism + ": " + parallelNanos / 1_000
+                    + " us, speedup " + String.format("%.2f", (double) sequentialNanos / parallelNanos)
+                    + "x over sequential " + sequentialNanos / 1_000 + " us ("
+                    + Runtime.getRuntime().availableProcessors() + " processors)");
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // Times the fastest of several searches, in nanoseconds
+    private static long timeSearch(final GuessSearch search, final CandidateSet candidates) {
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < 10; ++i) {
+            final long start = System.nanoTime();
+            search.findBestGuess(candidates);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        return best;
+    }
+}
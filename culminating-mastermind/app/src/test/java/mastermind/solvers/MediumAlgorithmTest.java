@@ -8,17 +8,125 @@ package mastermind.solvers;
 
 import mastermind.core.Code;
 import mastermind.core.CodeFactory;
+import mastermind.core.GameConfig;
 import mastermind.core.Response;
+import mastermind.core.solvers.InvalidHintsException;
 import mastermind.core.solvers.MediumAlgorithm;
 import mastermind.core.solvers.Status;
 import mastermind.utils.Tuple2;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class MediumAlgorithmTest {
+    @Test
+    void testAllCodes() {
+        // Every secret code is found within the maximum number of guesses
+        for (final Code secretCode : CodeFactory.getAll()) {
+            final MediumAlgorithm solver = new MediumAlgorithm();
+            Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+            while (result.first() == Status.Continue) {
+                result = solver.guess(new Response(secretCode, result.second()));
+            }
+
+            assertEquals(Status.Win, result.first(), "Failed to solve secret code: " + secretCode);
+            assertEquals(secretCode, result.second());
+        }
+    }
+
+    @Test
+    void testLargeBoard() {
+        // 8 positions and 10 colors: 100,000,000 codes, played on color arrays
+        final GameConfig config = new GameConfig(8, 10, 30);
+        final int[] secret = {9, 3, 3, 0, 7, 1, 8, 3};
+        final MediumAlgorithm solver = new MediumAlgorithm(config);
+
+        Tuple2<Status, int[]> result = new Tuple2<>(Status.Continue, solver.firstGuess());
+        while (result.first() == Status.Continue) {
+            final int black = config.blackPegs(result.second(), secret);
+            result = solver.nextGuess(black, config.commonColors(result.second(), secret) - black);
+        }
+
+        assertEquals(Status.Win, result.first());
+        assertArrayEquals(secret, result.second());
+
+        // Codes of other boards cannot be played as Code objects
+        assertThrows(IllegalStateException.class, () -> new MediumAlgorithm(config).guess());
+    }
+
+    @Test
+    void testMaxGuesses() {
+        // The solver loses once the guesses of the board are used up
+        final GameConfig config = new GameConfig(4, 6, 3);
+        final MediumAlgorithm solver = new MediumAlgorithm(config);
+        assertEquals(3, solver.getMaxGuesses());
+
+        final int[] secret = {5, 4, 3, 2};
+        Tuple2<Status, int[]> result = new Tuple2<>(Status.Continue, solver.firstGuess());
+        while (result.first() == Status.Continue) {
+            final int black = config.blackPegs(result.second(), secret);
+            result = solver.nextGuess(black, config.commonColors(result.second(), secret) - black);
+        }
+
+        assertEquals(Status.Lose, result.first());
+        assertEquals(3, solver.getAttempts());
+    }
+
+    @Test
+    void testUndoWrongResponse() {
+        for (int i = 0; i < Code.TOTAL_CODES; i += 37) {
+            final Code secretCode = CodeFactory.fromIndex(i);
+            final Code decoy = CodeFactory.fromIndex(Code.TOTAL_CODES - 1 - i);
+
+            // A wrong answer past the opening guesses that is taken back leaves the game unchanged
+            final List<Code> expected = play(new MediumAlgorithm(), secretCode, decoy, 0);
+            assertEquals(expected, play(new MediumAlgorithm(), secretCode, decoy, 5));
+        }
+    }
+
+    /**
+     * Plays a game until it is won, answering one guess as if the secret code were a decoy, then taking the
+     * answer back.
+     *
+     * @param solver     the solver
+     * @param secretCode the secret code
+     * @param decoy      the code the wrong answer is for
+     * @param wrongMove  the number of the guess answered wrongly, or 0 to answer every guess correctly
+     * @return every guess, in order
+     */
+    private static List<Code> play(final MediumAlgorithm solver,
+                                   final Code secretCode,
+                                   final Code decoy,
+                                   final int wrongMove) {
+        final List<Code> guesses = new ArrayList<>();
+        Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+        while (result.first() == Status.Continue) {
+            guesses.add(result.second());
+
+            if (guesses.size() == wrongMove) {
+                try {
+                    solver.guess(new Response(decoy, result.second()));
+                } catch (final InvalidHintsException e) {
+                    // the wrong answer contradicts the earlier ones, and is taken back all the same
+                }
+
+                assertEquals(wrongMove, solver.getUndoableResponses());
+                solver.undo(1);
+                assertEquals(wrongMove, solver.getAttempts());
+            }
+
+            result = solver.guess(new Response(secretCode, result.second()));
+        }
+
+        assertEquals(Status.Win, result.first(), "Failed to solve secret code: " + secretCode);
+        return guesses;
+    }
+
     // @Test
     // void testFirstThreeGuesses() {
     //     final MediumAlgorithm solver = new MediumAlgorithm();
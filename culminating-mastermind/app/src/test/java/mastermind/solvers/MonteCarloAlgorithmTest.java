@@ -0,0 +1,180 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.GameConfig;
+import mastermind.core.MappedResponseTable;
+import mastermind.core.Response;
+import mastermind.core.solvers.InvalidHintsException;
+import mastermind.core.solvers.MonteCarloAlgorithm;
+import mastermind.core.solvers.Status;
+import mastermind.utils.Log;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloAlgorithmTest {
+    @Test
+    void testRandomGames() {
+        final SplittableRandom random = new SplittableRandom(0);
+        final Duration budget = Duration.ofMillis(10);
+        final int games = 100;
+        int totalGuesses = 0;
+
+        // Play random secret codes with a small budget per guess
+        for (int game = 0; game < games; ++game) {
+            final Code secretCode = CodeFactory.fromIndex(random.nextInt(Code.TOTAL_CODES));
+            final MonteCarloAlgorithm solver = new MonteCarloAlgorithm(game);
+            Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+            while (result.first() == Status.Continue) {
+                result = solver.guess(new Response(secretCode, result.second()), budget);
+                assertTrue(solver.getCoverage() > 0.0);
+            }
+
+            assertEquals(Status.Win, result.first(), "Failed to solve secret code: " + secretCode);
+            totalGuesses += solver.getAttempts();
+        }
+
+        // Sampling loses little against the exact strategies, which average about 4.4 to 4.5 guesses
+        final double average = (double) totalGuesses / games;
+        Log.info("MonteCarloAlgorithm: average " + String.format("%.3f", average) + " guesses over " + games
+            + " games within " + budget.toMillis() + " ms per guess");
+        assertTrue(average < 5.0);
+    }
+
+    @Test
+    void testBudget() {
+        final Code secretCode = CodeFactory.fromIndex(1000);
+        final Duration budget = Duration.ofMillis(10);
+
+        // A clock that passes the deadline at every reading allows a single round of the smallest samples
+        final AtomicLong late = new AtomicLong();
+        final MonteCarloAlgorithm hurried = new MonteCarloAlgorithm(7, () -> late.addAndGet(budget.toNanos()));
+        hurried.guess(new Response(secretCode, hurried.guess()), budget);
+        final double hurriedCoverage = hurried.getCoverage();
+        assertTrue(hurriedCoverage > 0.0);
+        assertTrue(hurriedCoverage <= 32.0 / Code.TOTAL_CODES);
+
+        // A clock that never advances lets the samples grow to their limit
+        final MonteCarloAlgorithm patient = new MonteCarloAlgorithm(7, () -> 0L);
+        patient.guess(new Response(secretCode, patient.guess()), budget);
+        assertTrue(patient.getCoverage() > hurriedCoverage);
+    }
+
+    @Test
+    void testLargeBoard() {
+        // 7 positions and 12 colors: about 35.8 million codes, played on color arrays
+        final GameConfig config = new GameConfig(7, 12, 20);
+        final int[] secret = {11, 0, 6, 6, 2, 9, 4};
+        final MonteCarloAlgorithm solver = new MonteCarloAlgorithm(config, 5);
+
+        Tuple2<Status, int[]> result = new Tuple2<>(Status.Continue, solver.firstGuess());
+        while (result.first() == Status.Continue) {
+            final int black = config.blackPegs(result.second(), secret);
+            result = solver.nextGuess(black, config.commonColors(result.second(), secret) - black,
+                Duration.ofMillis(20));
+        }
+
+        assertEquals(Status.Win, result.first());
+        assertArrayEquals(secret, result.second());
+    }
+
+    @Test
+    void testResponseTable(@TempDir final Path directory) throws IOException {
+        // 4 positions and 5 colors: 625 codes, whose responses fit in a mapped table
+        final GameConfig config = new GameConfig(4, 5, 15);
+        final MappedResponseTable table = MappedResponseTable.open(config, directory);
+        final SplittableRandom random = new SplittableRandom(3);
+
+        // Reading the responses from the table plays the same games as computing them from the colors
+        for (int game = 0; game < 20; ++game) {
+            final int[] secret = config.unpack(random.nextInt((int) config.totalCodes()));
+            final List<int[]> computed = play(new MonteCarloAlgorithm(config, null, game, () -> 0L), secret);
+            final List<int[]> read = play(new MonteCarloAlgorithm(config, table, game, () -> 0L), secret);
+
+            assertEquals(computed.size(), read.size());
+            for (int i = 0; i < computed.size(); ++i) {
+                assertArrayEquals(computed.get(i), read.get(i));
+            }
+            assertArrayEquals(secret, read.get(read.size() - 1));
+        }
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new MonteCarloAlgorithm(new GameConfig(4, 6, 15), table, 0));
+    }
+
+    @Test
+    void testUndoWrongResponse() {
+        // 5 positions and 6 colors: 7,776 codes, so the consistent codes are soon scanned and kept
+        final GameConfig config = new GameConfig(5, 6, 15);
+        final SplittableRandom random = new SplittableRandom(2);
+
+        // A wrong answer that is taken back no longer constrains the samples, so the secret code is still found
+        for (int game = 0; game < 20; ++game) {
+            final int[] secret = config.unpack(random.nextInt((int) config.totalCodes()));
+            final int[] decoy = config.unpack(config.totalCodes() - 1 - config.pack(secret));
+            final MonteCarloAlgorithm solver = new MonteCarloAlgorithm(config, game, () -> 0L);
+            Tuple2<Status, int[]> result = new Tuple2<>(Status.Continue, solver.firstGuess());
+            for (int move = 0; move < 3 && result.first() == Status.Continue; ++move) {
+                final int black = config.blackPegs(result.second(), secret);
+                result = solver.nextGuess(black, config.commonColors(result.second(), secret) - black);
+            }
+
+            if (result.first() != Status.Continue) {
+                continue;
+            }
+
+            final int black = config.blackPegs(result.second(), decoy);
+            try {
+                solver.nextGuess(black, config.commonColors(result.second(), decoy) - black);
+            } catch (final InvalidHintsException e) {
+                // the wrong answer contradicts the earlier ones, and is taken back all the same
+            }
+
+            assertEquals(4, solver.getUndoableResponses());
+            solver.undo(1);
+            assertEquals(4, solver.getAttempts());
+
+            while (result.first() == Status.Continue) {
+                final int pegs = config.blackPegs(result.second(), secret);
+                result = solver.nextGuess(pegs, config.commonColors(result.second(), secret) - pegs);
+            }
+
+            assertEquals(Status.Win, result.first());
+            assertArrayEquals(secret, result.second());
+        }
+    }
+
+    /**
+     * Plays a game on colors until it is won.
+     *
+     * @param solver the solver
+     * @param secret the colors of the secret code
+     * @return every guess, in order
+     */
+    private static List<int[]> play(final MonteCarloAlgorithm solver, final int[] secret) {
+        final GameConfig config = solver.getConfig();
+        final List<int[]> guesses = new ArrayList<>();
+
+        Tuple2<Status, int[]> result = new Tuple2<>(Status.Continue, solver.firstGuess());
+        while (result.first() == Status.Continue) {
+            guesses.add(result.second());
+            final int black = config.blackPegs(result.second(), secret);
+            result = solver.nextGuess(black, config.commonColors(result.second(), secret) - black);
+        }
+
+        assertEquals(Status.Win, result.first());
+        return guesses;
+    }
+}
@@ -0,0 +1,118 @@
+package mastermind.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.DonaldKnuthAlgorithm;
+import mastermind.core.solvers.GuessSearch;
+import mastermind.core.solvers.OpeningBook;
+import mastermind.core.solvers.Status;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+    @Test
+    void testBookMatchesLiveSearch(@TempDir final File directory) throws IOException {
+        final File file = new File(directory, "book.bin");
+        OpeningBook.generate(new GuessSearch(), file);
+        final OpeningBook book = OpeningBook.load(file);
+
+        // Every game played from the book makes the same guesses as the live search
+        for (final Code secretCode : CodeFactory.getAll()) {
+            assertEquals(play(new DonaldKnuthAlgorithm(null, null), secretCode),
+                play(new DonaldKnuthAlgorithm(null, book), secretCode));
+        }
+    }
+
+    @Test
+    void testDefaultBookIsUpToDate(@TempDir final File directory) throws IOException {
+        final File file = new File(directory, "book.bin");
+        OpeningBook.generate(new GuessSearch(), file);
+
+        // The committed book must be regenerated with `./gradlew generateOpeningBook` when the strategy changes
+        assertArrayEquals(Files.readAllBytes(file.toPath()),
+            Files.readAllBytes(Mastermind.KNUTH_OPENING_BOOK.toPath()));
+        assertNotNull(OpeningBook.getDefault());
+    }
+
+    @Test
+    void testMismatchedBoardFallsBack(@TempDir final File directory) throws IOException {
+        final File file = new File(directory, "book.bin");
+        OpeningBook.generate(new GuessSearch(), file);
+
+        // Overwrite the code length in the header
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(8);
+            raf.writeInt(Mastermind.CODE_LENGTH + 1);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(file));
+        assertNull(OpeningBook.loadOrNull(file));
+        assertNull(OpeningBook.loadOrNull(new File(directory, "missing.bin")));
+    }
+
+    @Test
+    void testCorruptNodesAreRejected(@TempDir final File directory) throws IOException {
+        final File file = new File(directory, "book.bin");
+        final byte[] contents = Files.readAllBytes(Mastermind.KNUTH_OPENING_BOOK.toPath());
+        final int nodeCount = OpeningBook.getDefault().getNodeCount();
+
+        // The header takes 20 bytes, followed by the guess and the children of the root
+        final int rootGuess = 20;
+        final int rootFirstChild = rootGuess + Character.BYTES;
+
+        // A guess that is not a code
+        Files.write(file.toPath(), contents);
+        writeChar(file, rootGuess, Code.TOTAL_CODES);
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(file));
+        assertNull(OpeningBook.loadOrNull(file));
+
+        // A child past the last node
+        Files.write(file.toPath(), contents);
+        writeChar(file, rootFirstChild, nodeCount);
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(file));
+
+        // A child that loops back to the root
+        Files.write(file.toPath(), contents);
+        writeChar(file, rootFirstChild, OpeningBook.ROOT);
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(file));
+
+        // The untouched book loads
+        Files.write(file.toPath(), contents);
+        assertEquals(nodeCount, OpeningBook.load(file).getNodeCount());
+    }
+
+    // Overwrites an unsigned 16-bit value of a file
+    private static void writeChar(final File file, final long position, final int value) throws IOException {
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(position);
+            raf.writeChar(value);
+        }
+    }
+
+    // Plays a game to the end, returning the indices of the guesses made
+    private static List<Integer> play(final DonaldKnuthAlgorithm solver, final Code secretCode) {
+        final List<Integer> guesses = new ArrayList<>();
+        Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+        while (result.first() == Status.Continue) {
+            guesses.add(result.second().getIndex());
+            result = solver.guess(Response.fromIndex(ResponseTable.get(result.second(), secretCode)));
+        }
+
+        assertEquals(Status.Win, result.first());
+        return guesses;
+    }
+}
@@ -0,0 +1,168 @@
+package mastermind.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.CandidateSet;
+import mastermind.core.solvers.OpeningBook;
+import mastermind.core.solvers.OptimalAlgorithm;
+import mastermind.core.solvers.OptimalStrategySearch;
+import mastermind.core.solvers.Status;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimalStrategySearchTest {
+    @Test
+    void testMatchesExhaustiveSearch() {
+        final OptimalStrategySearch search = new OptimalStrategySearch();
+        final Map<CandidateSet, Integer> memo = new HashMap<>();
+        final Random random = new Random(0);
+
+        // Compare small sets left by two random guesses with a search without any pruning
+        int compared = 0;
+        while (compared < 20) {
+            final int secret = random.nextInt(Code.TOTAL_CODES);
+            final int[] history = {random.nextInt(Code.TOTAL_CODES), random.nextInt(Code.TOTAL_CODES)};
+            final CandidateSet candidates = CandidateSet.all();
+
+            for (final int guess : history) {
+                candidates.retainConsistent(guess, ResponseTable.get(guess, secret));
+            }
+
+            if (candidates.size() < 3 || candidates.size() > 12) {
+                continue;
+            }
+
+            assertEquals(exhaustiveCost(candidates, memo), search.solve(candidates, history));
+            ++compared;
+        }
+    }
+
+    @Test
+    void testDefaultStrategyIsUpToDate(@TempDir final File directory) throws IOException {
+        final File file = new File(directory, "strategy.bin");
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // The optimal strategy is Koyama and Lai's, 5625 guesses in total, an average of about 4.340
+            final OptimalStrategySearch search = new OptimalStrategySearch(pool);
+            assertEquals(5625, search.solve(CandidateSet.all(), new int[0]));
+            assertTrue(OptimalStrategySearch.lowerBound(Code.TOTAL_CODES) <= 5625);
+
+            // The solver plays the first guess of the strategy without searching it
+            assertEquals(search.findBestGuess(CandidateSet.all(), new int[0]),
+                new OptimalAlgorithm(null, null).guess().getIndex());
+
+            OpeningBook.generate(search::findBestGuess, file);
+        } finally {
+            pool.shutdown();
+        }
+
+        // The committed strategy must be regenerated with `./gradlew generateOptimalStrategy` when the search changes
+        assertArrayEquals(Files.readAllBytes(file.toPath()),
+            Files.readAllBytes(Mastermind.OPTIMAL_STRATEGY.toPath()));
+    }
+
+    @Test
+    void testAllGuesses() {
+        int totalGuesses = 0;
+
+        // Play every secret code from the default strategy
+        for (final Code secretCode : CodeFactory.getAll()) {
+            final OptimalAlgorithm solver = new OptimalAlgorithm();
+            Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+            while (result.first() == Status.Continue) {
+                result = solver.guess(new Response(secretCode, result.second()));
+            }
+
+            assertEquals(Status.Win, result.first(), "Failed to solve secret code: " + secretCode);
+            totalGuesses += solver.getAttempts();
+        }
+
+        assertEquals(5625, totalGuesses);
+    }
+
+    @Test
+    void testBudget() {
+        final Duration budget = Duration.ofMillis(50);
+
+        for (int i = 0; i < Code.TOTAL_CODES; i += 97) {
+            final Code secretCode = CodeFactory.fromIndex(i);
+
+            // Within the strategy, the budget does not change the game
+            final OptimalAlgorithm exact = new OptimalAlgorithm();
+            final OptimalAlgorithm bounded = new OptimalAlgorithm();
+            Tuple2<Status, Code> expected = new Tuple2<>(Status.Continue, exact.guess());
+            Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, bounded.guess());
+
+            while (expected.first() == Status.Continue) {
+                expected = exact.guess(new Response(secretCode, expected.second()));
+                result = bounded.guess(new Response(secretCode, result.second()), budget);
+                assertEquals(expected.second(), result.second());
+                assertEquals(1.0, bounded.getCoverage());
+            }
+
+            // Without a strategy, the guesses are searched within the budget instead of exactly
+            final OptimalAlgorithm unguided = new OptimalAlgorithm(null, null);
+            result = new Tuple2<>(Status.Continue, unguided.guess());
+
+            while (result.first() == Status.Continue) {
+                result = unguided.guess(new Response(secretCode, result.second()), budget);
+                assertTrue(unguided.getCoverage() > 0.0);
+            }
+
+            assertEquals(Status.Win, result.first(), "Failed to solve secret code: " + secretCode);
+        }
+    }
+
+    // Cost of the optimal strategy, trying every guess at every node
+    private static int exhaustiveCost(final CandidateSet candidates, final Map<CandidateSet, Integer> memo) {
+        if (candidates.size() == 1) {
+            return 1;
+        }
+
+        final Integer known = memo.get(candidates);
+        if (known != null) {
+            return known;
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+            int cost = candidates.size();
+            boolean progress = true;
+
+            for (int response = 0; response < Response.TOTAL_RESPONSES - 1 && progress; ++response) {
+                final CandidateSet partition = candidates.snapshot();
+                partition.retainConsistent(guess, response);
+
+                if (partition.size() == candidates.size()) {
+                    progress = false; // the guess leaves every candidate in the same partition
+                } else if (!partition.isEmpty()) {
+                    cost += exhaustiveCost(partition, memo);
+                }
+            }
+
+            if (progress) {
+                best = Math.min(best, cost);
+            }
+        }
+
+        memo.put(candidates, best);
+        return best;
+    }
+}
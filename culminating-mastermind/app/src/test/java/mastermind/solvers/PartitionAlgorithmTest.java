@@ -0,0 +1,148 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.solvers.EntropyAlgorithm;
+import mastermind.core.solvers.ExpectedSizeAlgorithm;
+import mastermind.core.solvers.InvalidHintsException;
+import mastermind.core.solvers.MostPartsAlgorithm;
+import mastermind.core.solvers.PartitionAlgorithm;
+import mastermind.core.solvers.Status;
+import mastermind.utils.Log;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionAlgorithmTest {
+    // Knuth's strategy takes 5801 guesses over all secret codes
+    private static final int KNUTH_TOTAL_GUESSES = 5801;
+
+    @Test
+    void testEntropyBeatsKnuth() {
+        // 5722 guesses in total, an average of about 4.415
+        final int totalGuesses = testAllGuesses(EntropyAlgorithm::new);
+        assertTrue(totalGuesses < KNUTH_TOTAL_GUESSES);
+        assertEquals(5722, totalGuesses);
+    }
+
+    @Test
+    void testExpectedSizeBeatsKnuth() {
+        // 5696 guesses in total, an average of about 4.395
+        final int totalGuesses = testAllGuesses(ExpectedSizeAlgorithm::new);
+        assertTrue(totalGuesses < KNUTH_TOTAL_GUESSES);
+        assertEquals(5696, totalGuesses);
+    }
+
+    @Test
+    void testMostPartsBeatsKnuth() {
+        // 5668 guesses in total, an average of about 4.373
+        final int totalGuesses = testAllGuesses(MostPartsAlgorithm::new);
+        assertTrue(totalGuesses < KNUTH_TOTAL_GUESSES);
+        assertEquals(5668, totalGuesses);
+    }
+
+    @Test
+    void testUndoWrongResponses() {
+        for (int i = 0; i < Code.TOTAL_CODES; i += 97) {
+            final Code secretCode = CodeFactory.fromIndex(i);
+            final Code decoy = CodeFactory.fromIndex(Code.TOTAL_CODES - 1 - i);
+            final MostPartsAlgorithm solver = new MostPartsAlgorithm();
+
+            // Answer the first guess correctly, then up to two guesses as if the secret code were the decoy, until
+            // the answers contradict each other
+            final List<Code> guesses = new ArrayList<>(List.of(solver.guess()));
+            final Tuple2<Status, Code> second = solver.guess(new Response(secretCode, guesses.get(0)));
+            Tuple2<Status, Code> result = second;
+            int wrongAnswers = 0;
+            for (int move = 0; move < 2 && result.first() == Status.Continue; ++move) {
+                ++wrongAnswers;
+                try {
+                    result = solver.guess(new Response(decoy, result.second()));
+                } catch (final InvalidHintsException e) {
+                    break;
+                }
+            }
+
+            if (result.first() != Status.Continue) {
+                continue; // the game ended before the wrong answers could be taken back
+            }
+
+            // Take back the wrong answers, and the solver plays as if they were never given
+            assertEquals(1 + wrongAnswers, solver.getUndoableResponses());
+            solver.undo(wrongAnswers);
+            assertEquals(1, solver.getUndoableResponses());
+            assertEquals(2, solver.getAttempts());
+
+            final MostPartsAlgorithm reference = new MostPartsAlgorithm();
+            final List<Code> expected = play(reference, secretCode, null, new ArrayList<>());
+            guesses.add(second.second());
+            assertEquals(expected, play(solver, secretCode, second, guesses));
+            assertEquals(reference.getAttempts(), solver.getAttempts());
+        }
+    }
+
+    @Test
+    void testUndoOutOfRange() {
+        final MostPartsAlgorithm solver = new MostPartsAlgorithm();
+        final Code guess = solver.guess();
+        assertEquals(0, solver.getUndoableResponses());
+        assertThrows(IllegalArgumentException.class, () -> solver.undo(1));
+
+        solver.guess(new Response(CodeFactory.fromIndex(100), guess));
+        assertThrows(IllegalArgumentException.class, () -> solver.undo(0));
+        assertThrows(IllegalArgumentException.class, () -> solver.undo(2));
+    }
+
+    // Answers the guesses of a solver until the game ends, from its first guess if result is null
+    private static List<Code> play(final PartitionAlgorithm solver,
+                                   final Code secretCode,
+                                   Tuple2<Status, Code> result,
+                                   final List<Code> guesses) {
+        if (result == null) {
+            result = new Tuple2<>(Status.Continue, solver.guess());
+            guesses.add(result.second());
+        }
+
+        while (result.first() == Status.Continue) {
+            result = solver.guess(new Response(secretCode, result.second()));
+            if (result.first() == Status.Continue) {
+                guesses.add(result.second());
+            }
+        }
+
+        assertEquals(Status.Win, result.first());
+        return guesses;
+    }
+
+    // Plays every secret code, returning the total number of guesses
+    private static int testAllGuesses(final Supplier<PartitionAlgorithm> factory) {
+        int totalGuesses = 0;
+        int worstCase = 0;
+
+        for (final Code secretCode : CodeFactory.getAll()) {
+            final PartitionAlgorithm solver = factory.get();
+            Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+            // Answer every guess until the solver either solves the code or fails
+            while (result.first() == Status.Continue) {
+                result = solver.guess(new Response(secretCode, result.second()));
+            }
+
+            assertEquals(Status.Win, result.first(), "Failed to solve secret code: " + secretCode);
+
+            totalGuesses += solver.getAttempts();
+            worstCase = Math.max(worstCase, solver.getAttempts());
+        }
+
+        Log.info(factory.get().getRule() + ": " + totalGuesses + " guesses, average "
+            + String.format("%.3f", (double) totalGuesses / Code.TOTAL_CODES) + ", worst case " + worstCase);
+
+        return totalGuesses;
+    }
+}
@@ -0,0 +1,87 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.CandidateSet;
+import mastermind.core.solvers.GuessSearch;
+import mastermind.core.solvers.PartitionEngine;
+import mastermind.core.solvers.PartitionHistograms;
+import mastermind.core.solvers.ScoringRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartitionEngineTest {
+    @Test
+    void testParallelMatchesSequential() {
+        final PartitionEngine sequential = new PartitionEngine();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final PartitionEngine parallel = new PartitionEngine(pool);
+        final Random random = new Random(0);
+
+        try {
+            // Narrow down the candidates with random guesses, comparing every rule at every step
+            for (int game = 0; game < 10; ++game) {
+                final int secret = random.nextInt(Code.TOTAL_CODES);
+                final CandidateSet candidates = CandidateSet.all();
+
+                for (int move = 0; move < 3 && candidates.size() > 1; ++move) {
+                    final int guess = random.nextInt(Code.TOTAL_CODES);
+                    candidates.retainConsistent(guess, ResponseTable.get(guess, secret));
+
+                    for (final ScoringRule rule : ScoringRule.values()) {
+                        assertEquals(sequential.findBestGuess(candidates, rule),
+                            parallel.findBestGuess(candidates, rule));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testWorstCaseMatchesGuessSearch() {
+        // The worst case rule is Knuth's minimax, with the same tie-breaking
+        final CandidateSet candidates = CandidateSet.all();
+        assertEquals(new GuessSearch().findBestGuess(candidates),
+            new PartitionEngine().findBestGuess(candidates, ScoringRule.WORST_CASE));
+
+        candidates.retainConsistent(7, ResponseTable.get(7, 1000));
+        assertEquals(new GuessSearch().findBestGuess(candidates),
+            new PartitionEngine().findBestGuess(candidates, ScoringRule.WORST_CASE));
+    }
+
+    @Test
+    void testHistogramsMatchRecounting() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final PartitionEngine engine = new PartitionEngine(pool);
+        final int[] allGuesses = CandidateSet.all().toArray();
+        final Random random = new Random(1);
+
+        try {
+            // The same histograms are reused across games, which must recount them
+            final PartitionHistograms histograms = new PartitionHistograms();
+
+            for (int game = 0; game < 5; ++game) {
+                final int secret = random.nextInt(Code.TOTAL_CODES);
+                final CandidateSet candidates = CandidateSet.all();
+
+                for (int move = 0; move < 4 && candidates.size() > 1; ++move) {
+                    for (final ScoringRule rule : ScoringRule.values()) {
+                        assertEquals(engine.findBestGuess(candidates, rule),
+                            engine.search(histograms, candidates, allGuesses, null, rule).guess());
+                    }
+
+                    final int guess = random.nextInt(Code.TOTAL_CODES);
+                    candidates.retainConsistent(guess, ResponseTable.get(guess, secret));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
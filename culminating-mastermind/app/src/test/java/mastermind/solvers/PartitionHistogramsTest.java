@@ -0,0 +1,93 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.CandidateSet;
+import mastermind.core.solvers.PartitionHistograms;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionHistogramsTest {
+    @Test
+    void testMatchesRecounting() {
+        final PartitionHistograms histograms = new PartitionHistograms();
+        final CandidateSet candidates = CandidateSet.all();
+        final Random random = new Random(2);
+
+        histograms.advance(candidates);
+        assertFalse(histograms.isIncremental());
+        assertHistograms(histograms, candidates);
+
+        // Removing a few candidates at a time subtracts them
+        for (int step = 0; step < 5; ++step) {
+            for (int i = 0; i < 10; ++i) {
+                candidates.remove(random.nextInt(Code.TOTAL_CODES));
+            }
+
+            histograms.advance(candidates);
+            assertTrue(histograms.isIncremental());
+            assertHistograms(histograms, candidates);
+        }
+
+        // Removing most candidates recounts the survivors
+        candidates.retainConsistent(0, ResponseTable.get(0, 500));
+        histograms.advance(candidates);
+        assertFalse(histograms.isIncremental());
+        assertHistograms(histograms, candidates);
+
+        // Candidates that come back, as in a new game, recount every histogram
+        final CandidateSet all = CandidateSet.all();
+        histograms.advance(all);
+        assertFalse(histograms.isIncremental());
+        assertHistograms(histograms, all);
+    }
+
+    @Test
+    void testAllocatedOnFirstMove() {
+        final PartitionHistograms histograms = new PartitionHistograms();
+        assertEquals(0, histograms.getMemorySize());
+
+        // The histograms of every code, and the move each was counted for
+        histograms.advance(CandidateSet.all());
+        assertEquals((long) Integer.BYTES * Code.TOTAL_CODES * (Response.TOTAL_RESPONSES + 1),
+            histograms.getMemorySize());
+    }
+
+    @Test
+    void testSkippedGuessesAreRecounted() {
+        final PartitionHistograms histograms = new PartitionHistograms();
+        final CandidateSet candidates = CandidateSet.all();
+        final int[] histogram = new int[Response.TOTAL_RESPONSES];
+
+        histograms.advance(candidates);
+        histograms.histogram(42, histogram);
+
+        // Guess 42 is not requested at this move, so its histogram is stale at the next one
+        candidates.remove(1);
+        histograms.advance(candidates);
+        histograms.histogram(43, histogram);
+
+        candidates.remove(2);
+        histograms.advance(candidates);
+        assertTrue(histograms.isIncremental());
+        assertHistograms(histograms, candidates);
+    }
+
+    private static void assertHistograms(final PartitionHistograms histograms, final CandidateSet candidates) {
+        final int[] actual = new int[Response.TOTAL_RESPONSES];
+
+        for (int guess = 0; guess < Code.TOTAL_CODES; guess += 7) {
+            final int[] expected = new int[Response.TOTAL_RESPONSES];
+            for (final int code : candidates.toArray()) {
+                ++expected[ResponseTable.get(guess, code)];
+            }
+
+            histograms.histogram(guess, actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+}
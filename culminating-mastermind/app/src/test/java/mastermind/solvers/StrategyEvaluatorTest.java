@@ -0,0 +1,51 @@
+package mastermind.solvers;
+
+import mastermind.Mastermind;
+import mastermind.core.Code;
+import mastermind.core.solvers.BatchSolver;
+import mastermind.core.solvers.DonaldKnuthAlgorithm;
+import mastermind.core.solvers.MediumAlgorithm;
+import mastermind.core.solvers.StrategyEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrategyEvaluatorTest {
+    @Test
+    void testReport() {
+        final StrategyEvaluator evaluator = new StrategyEvaluator(BatchSolver.Execution.FORK_JOIN, 2);
+        final StrategyEvaluator.Report report = evaluator.evaluate("DonaldKnuth", DonaldKnuthAlgorithm::new);
+
+        // Knuth's strategy wins every game within 5 guesses, 5801 guesses in total
+        assertEquals(Code.TOTAL_CODES, report.games());
+        assertEquals(Code.TOTAL_CODES, report.wins());
+        assertEquals(0, report.failures());
+        assertEquals(Code.TOTAL_CODES, Arrays.stream(report.distribution()).sum());
+        assertEquals(5801.0 / Code.TOTAL_CODES, report.average(), 1e-9);
+        assertEquals(5, report.worstCase());
+        assertEquals(Mastermind.MAX_GUESSES, report.distribution().length);
+        assertTrue(report.nanosPerGuess() > 0);
+        assertTrue(report.bytesPerGame() > 0 || report.bytesPerGame() == -1);
+    }
+
+    @Test
+    void testFormats() {
+        final StrategyEvaluator evaluator = new StrategyEvaluator(BatchSolver.Execution.VIRTUAL_THREADS, 1);
+        final List<StrategyEvaluator.Report> reports = List.of(evaluator.evaluate("Medium", MediumAlgorithm::new));
+
+        // One header row and one row per report, with a column per number of guesses
+        final String[] rows = StrategyEvaluator.toCsv(reports).split("\n");
+        assertEquals(2, rows.length);
+        assertTrue(rows[0].startsWith("name,games,wins,failures,average,worstCase"));
+        assertTrue(rows[1].startsWith("Medium," + Code.TOTAL_CODES + "," + Code.TOTAL_CODES + ",0,"));
+        assertEquals(rows[0].split(",").length, rows[1].split(",").length);
+
+        final String json = StrategyEvaluator.toJson(reports);
+        assertTrue(json.startsWith("[\n  {\"name\": \"Medium\", \"games\": " + Code.TOTAL_CODES));
+        assertTrue(json.contains("\"distribution\": ["));
+        assertTrue(json.endsWith("}\n]\n"));
+    }
+}
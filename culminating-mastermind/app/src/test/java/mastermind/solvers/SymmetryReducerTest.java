@@ -0,0 +1,105 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.CandidateSet;
+import mastermind.core.solvers.GuessSearch;
+import mastermind.core.solvers.SymmetryReducer;
+import mastermind.utils.Log;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymmetryReducerTest {
+    @Test
+    void testInitialClasses() {
+        // Before any guess, a code is only characterized by its pattern of repeated colors
+        final int[] expected = {
+            index(0, 0, 0, 0),
+            index(0, 0, 0, 1),
+            index(0, 0, 1, 1),
+            index(0, 0, 1, 2),
+            index(0, 1, 2, 3),
+        };
+
+        assertArrayEquals(expected, SymmetryReducer.reduce(new int[0]));
+    }
+
+    @Test
+    void testSecondMoveReduction() {
+        // After 0011, the second move is more than 10 times cheaper
+        final int[] representatives = SymmetryReducer.reduce(new int[]{index(0, 0, 1, 1)});
+        Log.info("SymmetryReducer: " + representatives.length + " of " + Code.TOTAL_CODES
+            + " guesses after 0011");
+
+        assertTrue(representatives.length * 10 < Code.TOTAL_CODES);
+        assertTrue(Arrays.binarySearch(representatives, index(0, 0, 0, 1)) >= 0);
+
+        // 0010 is the same guess as 0001 with the last two positions swapped, which 0011 cannot tell apart
+        assertTrue(Arrays.binarySearch(representatives, index(0, 0, 1, 0)) < 0);
+    }
+
+    @Test
+    void testReducedSearchMatchesFullSearch() {
+        final GuessSearch search = new GuessSearch();
+
+        // Play every game, comparing the reduced and the full search at every move
+        for (int secret = 0; secret < Code.TOTAL_CODES; secret += 7) {
+            final CandidateSet candidates = CandidateSet.all();
+            int[] history = new int[0];
+            int guess = search.findBestGuess(candidates, SymmetryReducer.reduce(history));
+
+            while (guess != secret) {
+                history = Arrays.copyOf(history, history.length + 1);
+                history[history.length - 1] = guess;
+                candidates.retainConsistent(guess, ResponseTable.get(guess, secret));
+
+                guess = search.findBestGuess(candidates, SymmetryReducer.reduce(history));
+                assertEquals(search.findBestGuess(candidates), guess);
+            }
+        }
+    }
+
+    @Test
+    void testSymmetricGuessesPartitionAlike() {
+        // Every code is in the class of a representative with the same partition sizes
+        final int[] history = {index(0, 0, 1, 1), index(0, 1, 2, 3)};
+        final int[] representatives = SymmetryReducer.reduce(history);
+        final CandidateSet candidates = CandidateSet.all();
+        candidates.retainConsistent(history[0], ResponseTable.get(history[0], index(1, 2, 3, 4)));
+        candidates.retainConsistent(history[1], ResponseTable.get(history[1], index(1, 2, 3, 4)));
+
+        final List<int[]> partitions = Arrays.stream(representatives)
+            .mapToObj(guess -> partition(guess, candidates))
+            .toList();
+
+        for (int guess = 0; guess < Code.TOTAL_CODES; ++guess) {
+            final int[] sizes = partition(guess, candidates);
+            assertTrue(partitions.stream().anyMatch(representative -> Arrays.equals(representative, sizes)));
+        }
+    }
+
+    // Sorted partition sizes of the candidates by the response to a guess
+    private static int[] partition(final int guess, final CandidateSet candidates) {
+        final int[] histogram = new int[Response.TOTAL_RESPONSES];
+
+        for (final int candidate : candidates.toArray()) {
+            ++histogram[ResponseTable.get(guess, candidate)];
+        }
+
+        Arrays.sort(histogram);
+        return histogram;
+    }
+
+    // Index of the code with the given color indices
+    private static int index(final int... colors) {
+        return CodeFactory.fromColorIndices(Arrays.stream(colors).boxed().toList()).getIndex();
+    }
+}
@@ -0,0 +1,105 @@
+package mastermind.solvers;
+
+import mastermind.core.Code;
+import mastermind.core.CodeFactory;
+import mastermind.core.Response;
+import mastermind.core.ResponseTable;
+import mastermind.core.solvers.CandidateSet;
+import mastermind.core.solvers.DonaldKnuthAlgorithm;
+import mastermind.core.solvers.Status;
+import mastermind.core.solvers.TranspositionCache;
+import mastermind.utils.Tuple2;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionCacheTest {
+    @Test
+    void testHitAndMiss() {
+        final TranspositionCache cache = new TranspositionCache();
+        final CandidateSet candidates = CandidateSet.all();
+
+        // The first lookup misses, and the second one hits
+        assertEquals(-1, cache.get(candidates));
+        cache.put(candidates, 7);
+        assertEquals(7, cache.get(candidates.snapshot()));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testComputeIfAbsent() {
+        final TranspositionCache cache = new TranspositionCache();
+        final CandidateSet candidates = CandidateSet.all();
+        final int[] searches = {0};
+
+        // The search only runs on the first lookup
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(42, cache.computeIfAbsent(candidates, set -> ++searches[0] + 41));
+        }
+
+        assertEquals(1, searches[0]);
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        // A cache with room for exactly two entries
+        final TranspositionCache cache = new TranspositionCache(2 * TranspositionCache.ENTRY_SIZE);
+        assertEquals(2, cache.getMaxEntries());
+
+        final CandidateSet first = singleton(0);
+        final CandidateSet second = singleton(1);
+        final CandidateSet third = singleton(2);
+
+        cache.put(first, 0);
+        cache.put(second, 1);
+        cache.get(first); // first is now more recently used than second
+        cache.put(third, 2);
+
+        assertEquals(2, cache.size());
+        assertEquals(2 * TranspositionCache.ENTRY_SIZE, cache.getMemoryUsage());
+        assertEquals(0, cache.get(first));
+        assertEquals(-1, cache.get(second));
+        assertEquals(2, cache.get(third));
+    }
+
+    @Test
+    void testMemoryCapTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionCache(1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new TranspositionCache(TranspositionCache.ENTRY_SIZE - 1));
+        assertEquals(1, new TranspositionCache(TranspositionCache.ENTRY_SIZE).getMaxEntries());
+    }
+
+    @Test
+    void testRepeatedSolvingHitsCache() {
+        final TranspositionCache cache = new TranspositionCache();
+
+        // Solve every secret code twice without an opening book
+        for (int round = 0; round < 2; ++round) {
+            for (final Code secretCode : CodeFactory.getAll()) {
+                final DonaldKnuthAlgorithm solver = new DonaldKnuthAlgorithm(null, null, cache);
+                Tuple2<Status, Code> result = new Tuple2<>(Status.Continue, solver.guess());
+
+                while (result.first() == Status.Continue) {
+                    result = solver.guess(Response.fromIndex(ResponseTable.get(result.second(), secretCode)));
+                }
+
+                assertEquals(Status.Win, result.first());
+            }
+        }
+
+        // Only the distinct candidate sets of the decision tree are searched
+        assertEquals(cache.size(), cache.getMisses());
+        assertTrue(cache.getHits() > 5 * cache.getMisses());
+    }
+
+    // Creates a set containing a single code
+    private static CandidateSet singleton(final int code) {
+        final CandidateSet candidates = CandidateSet.empty();
+        candidates.add(code);
+        return candidates;
+    }
+}